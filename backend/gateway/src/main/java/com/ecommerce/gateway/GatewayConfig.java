@@ -1,5 +1,6 @@
 package com.ecommerce.gateway;
 
+import com.ecommerce.gateway.bff.ProductPageController;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
@@ -30,6 +31,11 @@ public class GatewayConfig {
                 .route("marketing-service", r -> r
                         .path("/api/v1/newsletter/**", "/api/v1/main-images/**")
                         .uri("lb://MARKETING-SERVICE"))
+                // the product page aggregation is served by ProductPageController, forwarded so global filters apply
+                .route("bff", r -> r
+                        .path("/api/v1/bff/**")
+                        .filters(f -> f.rewritePath("/api/v1/bff/(?<segment>.*)", ProductPageController.FORWARD_PATH + "/${segment}"))
+                        .uri("forward:/"))
                 .route("eureka-service", r -> r
                         .path("/eureka/main")
                         .uri(eurekaUrl.replace("/eureka/", "")))
@@ -0,0 +1,54 @@
+package com.ecommerce.gateway.bff;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Target of the "bff" gateway route, which forwards {@code /api/v1/bff/**} here after the global filters (rate limit,
+ * response cache, coalescing, concurrency limit) ran. Requests that reach this path without going through the route
+ * are rejected, so the aggregation cannot be used to sidestep those limits.
+ */
+@RestController
+@RequestMapping(ProductPageController.FORWARD_PATH)
+@RequiredArgsConstructor
+public class ProductPageController {
+
+    public static final String FORWARD_PATH = "/internal/bff";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ProductPageService productPageService;
+
+    @GetMapping("/product-page/{productItemId}")
+    public Mono<ResponseEntity<ProductPageResponse>> getProductPage(@PathVariable Integer productItemId,
+                                                                    @RequestParam(required = false) String colour,
+                                                                    @RequestParam(required = false) Integer productId,
+                                                                    ServerWebExchange exchange) {
+        if (exchange.getAttribute(GATEWAY_ROUTE_ATTR) == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        return productPageService.getProductPage(productItemId, colour, productId, bearerToken(exchange.getRequest()))
+                .map(ResponseEntity::ok);
+    }
+
+    private static String bearerToken(ServerHttpRequest request) {
+        HttpCookie cookie = request.getCookies().getFirst("access_token");
+        if (cookie != null) {
+            return cookie.getValue();
+        }
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length())
+                : null;
+    }
+}
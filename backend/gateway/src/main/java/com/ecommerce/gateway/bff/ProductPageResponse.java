@@ -0,0 +1,21 @@
+package com.ecommerce.gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPageResponse {
+    private Integer productItemId;
+    private JsonNode item;
+    private JsonNode ratingSummary;
+    private JsonNode cart;
+    private Map<Integer, Integer> stock;
+    private boolean partial;
+    private Map<String, String> failures;
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Composes the product detail page from the product and user services in one round trip. Branches run concurrently,
+ * each with its own timeout; a failed optional branch leaves its part empty and is listed in {@code failures}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductPageService {
+
+    static final String ITEM = "item";
+    static final String RATING_SUMMARY = "ratingSummary";
+    static final String CART = "cart";
+
+    @Value("${gateway.bff.product-service-url:http://PRODUCT-SERVICE/api/v1}")
+    private String productServiceUrl;
+
+    @Value("${gateway.bff.user-service-url:http://USER-SERVICE/api/v1}")
+    private String userServiceUrl;
+
+    @Value("${gateway.bff.item-timeout:1s}")
+    private Duration itemTimeout;
+
+    @Value("${gateway.bff.rating-summary-timeout:500ms}")
+    private Duration ratingSummaryTimeout;
+
+    @Value("${gateway.bff.cart-timeout:500ms}")
+    private Duration cartTimeout;
+
+    private final WebClient.Builder loadBalancedWebClientBuilder;
+
+    private WebClient webClient;
+
+    @PostConstruct
+    void init() {
+        webClient = loadBalancedWebClientBuilder.clone().build();
+    }
+
+    public Mono<ProductPageResponse> getProductPage(Integer productItemId, String colour, Integer productId, String bearerToken) {
+        Map<String, String> failures = new ConcurrentHashMap<>();
+
+        Mono<JsonNode> item = webClient.get()
+                .uri(productServiceUrl + "/productItems/{productItemId}", builder -> builder
+                        .queryParamIfPresent("colour", Optional.ofNullable(colour))
+                        .build(productItemId))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(itemTimeout)
+                .onErrorMap(WebClientResponseException.NotFound.class,
+                        ex -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product item " + productItemId + " not found"))
+                .cache();
+
+        // without a product id from the page the summary has to wait for the item
+        Mono<Integer> resolvedProductId = productId != null
+                ? Mono.just(productId)
+                : item.map(node -> node.path("productId").asInt());
+
+        Mono<JsonNode> ratingSummary = resolvedProductId.flatMap(id -> webClient.get()
+                .uri(userServiceUrl + "/review/product-summary?productIds={productId}", id)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(ratingSummaryTimeout)
+                .flatMap(summaries -> Mono.justOrEmpty(summaries.isArray() && !summaries.isEmpty() ? summaries.get(0) : null)));
+
+        Mono<JsonNode> cart = bearerToken == null ? Mono.empty() : webClient.get()
+                .uri(userServiceUrl + "/cart/users/cart")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerToken)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(cartTimeout);
+
+        return Mono.zip(
+                        branch(ITEM, item, failures),
+                        branch(RATING_SUMMARY, ratingSummary, failures),
+                        branch(CART, cart, failures))
+                .map(parts -> ProductPageResponse.builder()
+                        .productItemId(productItemId)
+                        .item(parts.getT1().orElse(null))
+                        .ratingSummary(parts.getT2().orElse(null))
+                        .cart(parts.getT3().orElse(null))
+                        .stock(parts.getT1().map(ProductPageService::stock).orElse(Map.of()))
+                        .partial(!failures.isEmpty())
+                        .failures(failures)
+                        .build());
+    }
+
+    private Mono<Optional<JsonNode>> branch(String name, Mono<JsonNode> call, Map<String, String> failures) {
+        return call.map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(ex -> {
+                    if (ex instanceof ResponseStatusException) {
+                        return Mono.error(ex);
+                    }
+                    String reason = ex instanceof TimeoutException ? "timeout" : ex.getMessage();
+                    log.warn("Product page branch {} failed: {}", name, reason);
+                    failures.put(name, reason);
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private static Map<Integer, Integer> stock(JsonNode item) {
+        Map<Integer, Integer> stock = new LinkedHashMap<>();
+        item.path("productItemOneByColour").forEach(variant ->
+                stock.put(variant.path("id").asInt(), variant.path("qtyInStock").asInt()));
+        return stock;
+    }
+}
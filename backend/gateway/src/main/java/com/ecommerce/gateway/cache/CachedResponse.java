@@ -0,0 +1,38 @@
+package com.ecommerce.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+record CachedResponse(String rule,
+                      HttpStatusCode status,
+                      HttpHeaders headers,
+                      ByteBuffer body,
+                      Instant storedAt,
+                      Instant freshUntil,
+                      Instant staleUntil) {
+
+    static CachedResponse of(ResponseCacheProperties.Rule rule, HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        ByteBuffer direct = ByteBuffer.allocateDirect(body.length);
+        direct.put(body).flip();
+
+        Instant now = Instant.now();
+        Instant freshUntil = now.plus(rule.getTtl());
+        return new CachedResponse(rule.getName(), status, HttpHeaders.readOnlyHttpHeaders(headers), direct.asReadOnlyBuffer(),
+                now, freshUntil, freshUntil.plus(rule.getStaleWhileRevalidate()));
+    }
+
+    boolean isFresh(Instant now) {
+        return now.isBefore(freshUntil);
+    }
+
+    int size() {
+        return body.capacity();
+    }
+
+    ByteBuffer content() {
+        return body.duplicate();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.gateway.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogChangeListener {
+
+    private final ResponseCacheStore responseCacheStore;
+    private final ObjectMapper objectMapper;
+
+    // every gateway instance keeps its own cache, so each one needs its own consumer group
+    @KafkaListener(
+            topics = "${gateway.response-cache.purge-topic:product.changed}",
+            groupId = "gateway-response-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onCatalogChanged(String payload) {
+        try {
+            Set<String> entityTypes = new HashSet<>();
+            objectMapper.readTree(payload).path("entities").forEach(entity -> entityTypes.add(entity.asText()));
+            responseCacheStore.purge(entityTypes);
+        } catch (JsonProcessingException ex) {
+            log.warn("Unreadable catalog change event, purging the whole response cache: {}", ex.getMessage());
+            responseCacheStore.purgeAll();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.ecommerce.gateway.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.*;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Serves anonymous GETs of configured routes from {@link ResponseCacheStore}. Fresh entries are answered without
+ * reaching the downstream service; entries inside their stale-while-revalidate window are answered immediately while
+ * a single background request refreshes them. Only JSON is stored, and only requests that accept JSON use the cache,
+ * so a client negotiating another representation never shares entries with browsers.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = -50;
+    static final String CACHE_HEADER = "X-Cache";
+
+    private static final String ACCESS_TOKEN_COOKIE = "access_token";
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY, "X-Content-Version");
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCacheStore responseCacheStore;
+    private final WebClient.Builder loadBalancedWebClientBuilder;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Map<PathPattern, ResponseCacheProperties.Rule> rules = new LinkedHashMap<>();
+    private WebClient webClient;
+
+    @PostConstruct
+    void init() {
+        for (ResponseCacheProperties.Rule rule : properties.getRules()) {
+            rule.getPaths().forEach(path -> rules.put(PathPatternParser.defaultInstance.parse(path), rule));
+        }
+        webClient = loadBalancedWebClientBuilder.clone()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) properties.getMaxEntrySize().toBytes()))
+                .build();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        ResponseCacheProperties.Rule rule = properties.isEnabled() && isAnonymousGet(request) && acceptsJson(request)
+                ? match(request) : null;
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        CachedResponse cached = responseCacheStore.get(key);
+        Instant now = Instant.now();
+        if (cached != null && cached.isFresh(now)) {
+            return write(exchange, cached, "HIT", now);
+        }
+        if (cached != null && revalidate(exchange, key, rule)) {
+            return write(exchange, cached, "STALE", now);
+        }
+
+        count("MISS");
+        exchange.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+        ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), key, rule);
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    public static String cacheKey(ServerHttpRequest request) {
+        String path = request.getURI().getRawPath();
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        StringBuilder key = new StringBuilder(path);
+        char separator = '?';
+        for (Map.Entry<String, List<String>> param : new TreeMap<>(request.getQueryParams()).entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator)
+                        .append(URLEncoder.encode(param.getKey(), UTF_8))
+                        .append('=')
+                        .append(value != null ? URLEncoder.encode(value, UTF_8) : "");
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private boolean isAnonymousGet(ServerHttpRequest request) {
+        return HttpMethod.GET.equals(request.getMethod())
+                && !request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+                && request.getCookies().getFirst(ACCESS_TOKEN_COOKIE) == null;
+    }
+
+    private static boolean acceptsJson(ServerHttpRequest request) {
+        List<MediaType> accept = request.getHeaders().getAccept();
+        return accept.isEmpty() || accept.stream().anyMatch(type -> type.includes(MediaType.APPLICATION_JSON));
+    }
+
+    private ResponseCacheProperties.Rule match(ServerHttpRequest request) {
+        for (Map.Entry<PathPattern, ResponseCacheProperties.Rule> rule : rules.entrySet()) {
+            if (rule.getKey().matches(request.getPath().pathWithinApplication())) {
+                return rule.getValue();
+            }
+        }
+        return null;
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String result, Instant now) {
+        count(result);
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(CACHE_HEADER, result);
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(Duration.between(cached.storedAt(), now).toSeconds()));
+
+        String etag = cached.headers().getETag();
+        if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        response.getHeaders().setContentLength(cached.size());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.content())));
+    }
+
+    /**
+     * Starts a background refresh of a stale entry. Only load-balanced routes can be re-requested outside the
+     * gateway chain; for others the stale entry is treated as a miss.
+     */
+    private boolean revalidate(ServerWebExchange exchange, String key, ResponseCacheProperties.Rule rule) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null || !"lb".equals(route.getUri().getScheme())) {
+            return false;
+        }
+        if (!revalidating.add(key)) {
+            return true;
+        }
+
+        URI requestUri = exchange.getRequest().getURI();
+        URI uri = UriComponentsBuilder.fromUri(route.getUri())
+                .scheme("http")
+                .replacePath(requestUri.getRawPath())
+                .replaceQuery(requestUri.getRawQuery())
+                .build(true)
+                .toUri();
+
+        webClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toEntity(byte[].class)
+                .timeout(properties.getRevalidateTimeout())
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(
+                        entity -> {
+                            if (isStorable(entity.getStatusCode(), entity.getHeaders())) {
+                                byte[] body = entity.getBody() != null ? entity.getBody() : new byte[0];
+                                responseCacheStore.put(key, CachedResponse.of(rule, entity.getStatusCode(), storedHeaders(entity.getHeaders()), body));
+                            }
+                        },
+                        ex -> log.debug("Revalidation of {} failed, serving stale until it expires: {}", key, ex.getMessage())
+                );
+        return true;
+    }
+
+    private static boolean isStorable(HttpStatusCode status, HttpHeaders headers) {
+        String cacheControl = Objects.toString(headers.getCacheControl(), "");
+        MediaType contentType = headers.getContentType();
+        return status.value() == HttpStatus.OK.value()
+                && contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                && !headers.getVary().contains("*")
+                && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                && !cacheControl.contains("no-store")
+                && !cacheControl.contains("private");
+    }
+
+    private static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        STORED_HEADERS.forEach(name -> {
+            List<String> values = headers.get(name);
+            if (values != null) {
+                stored.put(name, values);
+            }
+        });
+        return stored;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("gateway.response.cache.requests", "result", result.toLowerCase()).increment();
+    }
+
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final ResponseCacheProperties.Rule rule;
+
+        CapturingResponse(ServerHttpResponse delegate, String key, ResponseCacheProperties.Rule rule) {
+            super(delegate);
+            this.key = key;
+            this.rule = rule;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || !isStorable(status, getHeaders())) {
+                return super.writeWith(body);
+            }
+
+            long maxEntrySize = properties.getMaxEntrySize().toBytes();
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            AtomicBoolean oversized = new AtomicBoolean();
+            Flux<DataBuffer> copying = Flux.from(body)
+                    .map(buffer -> {
+                        if (!oversized.get() && captured.size() + buffer.readableByteCount() <= maxEntrySize) {
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            int position = buffer.readPosition();
+                            buffer.read(bytes);
+                            buffer.readPosition(position);
+                            captured.writeBytes(bytes);
+                        } else if (oversized.compareAndSet(false, true)) {
+                            captured.reset();
+                        }
+                        return (DataBuffer) buffer;
+                    })
+                    .doOnComplete(() -> {
+                        if (!oversized.get()) {
+                            responseCacheStore.put(key, CachedResponse.of(rule, status, storedHeaders(getHeaders()), captured.toByteArray()));
+                        }
+                    });
+            return super.writeWith(copying);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.gateway.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound for all cached bodies together; they live in direct buffers outside the heap.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    private DataSize maxEntrySize = DataSize.ofKilobytes(512);
+
+    private Duration revalidateTimeout = Duration.ofSeconds(5);
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        private Duration ttl = Duration.ofSeconds(30);
+        private Duration staleWhileRevalidate = Duration.ZERO;
+
+        /**
+         * Catalog entity types whose change events evict this rule's entries.
+         */
+        private Set<String> purgeOn = new HashSet<>();
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded store for cached gateway responses. Bodies are kept in direct buffers so a full cache does not add to
+ * heap pressure; Caffeine weighs entries by body size and evicts once {@code max-size} is reached.
+ */
+@Component
+@Slf4j
+public class ResponseCacheStore {
+
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final ResponseCacheProperties properties;
+    private final Cache<String, CachedResponse> entries;
+
+    public ResponseCacheStore(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.size() + ENTRY_OVERHEAD)
+                .expireAfter(Expiry.writing((String key, CachedResponse response) ->
+                        Duration.between(Instant.now(), response.staleUntil())))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "gateway.response.cache");
+        Gauge.builder("gateway.response.cache.bytes", entries, cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Off-heap bytes held by cached gateway responses")
+                .register(meterRegistry);
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    public void purge(Collection<String> entityTypes) {
+        Set<String> rules = properties.getRules().stream()
+                .filter(rule -> !Collections.disjoint(rule.getPurgeOn(), entityTypes))
+                .map(ResponseCacheProperties.Rule::getName)
+                .collect(Collectors.toSet());
+        if (rules.isEmpty()) {
+            return;
+        }
+
+        entries.asMap().values().removeIf(response -> rules.contains(response.rule()));
+        log.debug("Purged cached responses of {} after change of {}", rules, entityTypes);
+    }
+
+    public void purgeAll() {
+        entries.invalidateAll();
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.gateway.coalescing;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RequestCoalescingProperties.class)
+public class RequestCoalescingConfig {
+}
@@ -0,0 +1,215 @@
+package com.ecommerce.gateway.coalescing;
+
+import com.ecommerce.gateway.cache.ResponseCacheFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-flight for idempotent GETs: while one request for a key is on its way upstream, identical requests wait for
+ * it and are answered with a copy of its response. Followers fall back to their own upstream call when the leading
+ * response cannot be shared (not a 200, too large, streamed or failed). Conditional and range requests are never
+ * coalesced, since their response depends on validators the flight key does not carry.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ResponseCacheFilter.ORDER + 10;
+    static final String COALESCED_HEADER = "X-Coalesced";
+
+    private static final String ACCESS_TOKEN_COOKIE = "access_token";
+    private static final List<String> SKIPPED_HEADERS = List.of(
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION);
+    private static final List<String> UNCOALESCED_REQUEST_HEADERS = List.of(
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.IF_MATCH,
+            HttpHeaders.IF_UNMODIFIED_SINCE, HttpHeaders.IF_RANGE, HttpHeaders.RANGE);
+
+    private final RequestCoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private List<PathPattern> paths;
+    private DistributionSummary fanIn;
+
+    @PostConstruct
+    void init() {
+        paths = properties.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        fanIn = DistributionSummary.builder("gateway.coalescing.fan.in")
+                .description("Requests answered by one upstream call")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || !HttpMethod.GET.equals(request.getMethod()) || !isAllowed(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = flightKey(request);
+        Flight flight = new Flight();
+        Flight leading = inFlight.putIfAbsent(key, flight);
+        if (leading != null && leading.join()) {
+            return follow(exchange, chain, leading);
+        }
+        if (leading != null) {
+            return chain.filter(exchange);
+        }
+        return lead(exchange, chain, key, flight);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, Flight flight) {
+        meterRegistry.counter("gateway.coalescing.requests", "role", "leader").increment();
+        ServerHttpResponse sharing = new SharingResponse(exchange.getResponse(), flight);
+        return chain.filter(exchange.mutate().response(sharing).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, flight);
+                    fanIn.record(flight.close());
+                    flight.response.tryEmitError(new NotShareableException());
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Flight leading) {
+        meterRegistry.counter("gateway.coalescing.requests", "role", "follower").increment();
+        return leading.response.asMono()
+                .timeout(properties.getFollowerTimeout())
+                .flatMap(shared -> write(exchange, shared))
+                .onErrorResume(ex -> {
+                    meterRegistry.counter("gateway.coalescing.requests", "role", "fallback").increment();
+                    return chain.filter(exchange);
+                });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status());
+        shared.headers().forEach((name, values) -> {
+            if (SKIPPED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(ByteBuffer.wrap(shared.body()))));
+    }
+
+    private boolean isAllowed(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        if (UNCOALESCED_REQUEST_HEADERS.stream().anyMatch(headers::containsKey)) {
+            return false;
+        }
+        return paths.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    // requests only share a response when they carry the same credentials
+    private static String flightKey(ServerHttpRequest request) {
+        HttpCookie accessToken = request.getCookies().getFirst(ACCESS_TOKEN_COOKIE);
+        return ResponseCacheFilter.cacheKey(request)
+                + '|' + String.valueOf(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+                + '|' + (accessToken != null ? accessToken.getValue() : "")
+                + '|' + String.valueOf(request.getHeaders().getFirst(HttpHeaders.ACCEPT))
+                + '|' + String.valueOf(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    private static final class NotShareableException extends RuntimeException {
+        NotShareableException() {
+            super("Leading response cannot be shared", null, false, false);
+        }
+    }
+
+    private static final class Flight {
+
+        private final Sinks.One<SharedResponse> response = Sinks.one();
+        private final AtomicInteger requests = new AtomicInteger(1);
+
+        // fails once the leader finished, so late arrivals never wait on a completed flight
+        boolean join() {
+            return requests.getAndUpdate(count -> count > 0 ? count + 1 : count) > 0;
+        }
+
+        int close() {
+            return requests.getAndSet(0);
+        }
+    }
+
+    private final class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final Flight flight;
+
+        SharingResponse(ServerHttpResponse delegate, Flight flight) {
+            super(delegate);
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long maxResponseSize = properties.getMaxResponseSize().toBytes();
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            AtomicBoolean oversized = new AtomicBoolean();
+            Flux<DataBuffer> copying = Flux.from(body)
+                    .map(buffer -> {
+                        if (!oversized.get() && captured.size() + buffer.readableByteCount() <= maxResponseSize) {
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            int position = buffer.readPosition();
+                            buffer.read(bytes);
+                            buffer.readPosition(position);
+                            captured.writeBytes(bytes);
+                        } else if (oversized.compareAndSet(false, true)) {
+                            captured.reset();
+                            flight.response.tryEmitError(new NotShareableException());
+                        }
+                        return (DataBuffer) buffer;
+                    })
+                    .doOnComplete(() -> {
+                        HttpStatusCode status = getStatusCode();
+                        // errors, redirects and partial content are answered per request, followers go upstream themselves
+                        if (!oversized.get() && HttpStatus.OK.equals(status)) {
+                            flight.response.tryEmitValue(new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(getHeaders()), captured.toByteArray()));
+                        } else {
+                            flight.response.tryEmitError(new NotShareableException());
+                        }
+                    });
+            return super.writeWith(copying);
+        }
+    }
+}
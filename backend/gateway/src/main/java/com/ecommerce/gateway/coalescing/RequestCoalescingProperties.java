@@ -0,0 +1,30 @@
+package com.ecommerce.gateway.coalescing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.request-coalescing")
+public class RequestCoalescingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Path patterns whose identical concurrent GETs may share one upstream call.
+     */
+    private List<String> paths = new ArrayList<>();
+
+    private DataSize maxResponseSize = DataSize.ofMegabytes(1);
+
+    /**
+     * How long a follower waits for the leading request before calling upstream itself.
+     */
+    private Duration followerTimeout = Duration.ofSeconds(10);
+}
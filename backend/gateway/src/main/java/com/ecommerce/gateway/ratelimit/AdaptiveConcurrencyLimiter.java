@@ -0,0 +1,111 @@
+package com.ecommerce.gateway.ratelimit;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit for one downstream endpoint. Latencies are judged per sampling window: the window median is
+ * compared against a baseline that is itself an exponentially weighted average of past window medians, so the
+ * baseline follows a downstream that becomes slower but stays healthy. The limit grows by one per uncongested call
+ * while it is being used and shrinks multiplicatively at most once per window when the window median climbs above the
+ * baseline or calls fail, so excess requests are shed at the gateway before the downstream pools saturate.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private static final int MAX_WINDOW_SAMPLES = 256;
+
+    private final RateLimitProperties.Concurrency config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double baselineNanos = Double.NaN;
+
+    private long windowStart;
+    private final long[] windowLatencies = new long[MAX_WINDOW_SAMPLES];
+    private int windowSamples;
+    private int windowFailures;
+    private boolean windowCongested;
+
+    AdaptiveConcurrencyLimiter(RateLimitProperties.Concurrency config, long now) {
+        this.config = config;
+        this.limit = config.getInitialLimit();
+        this.windowStart = now;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    synchronized void release(long latencyNanos, boolean failed, long now) {
+        int current = inFlight.getAndDecrement();
+
+        if (failed) {
+            windowFailures++;
+        } else if (windowSamples < MAX_WINDOW_SAMPLES) {
+            windowLatencies[windowSamples++] = latencyNanos;
+        }
+
+        if (failed && !windowCongested) {
+            decrease();
+        } else if (!failed && !windowCongested && current * 2 >= limit) {
+            // only grow while the limit is actually being used
+            limit = Math.min(config.getMaxLimit(), limit + 1);
+        }
+
+        if (now - windowStart >= config.getWindow().toNanos()
+                && windowSamples + windowFailures >= config.getWindowMinSamples()) {
+            closeWindow(now);
+        }
+    }
+
+    private void closeWindow(long now) {
+        if (windowSamples > 0) {
+            long[] sorted = Arrays.copyOf(windowLatencies, windowSamples);
+            Arrays.sort(sorted);
+            double median = sorted[windowSamples / 2];
+
+            if (Double.isNaN(baselineNanos)) {
+                baselineNanos = median;
+            } else {
+                if (median > baselineNanos * config.getLatencyTolerance() && !windowCongested) {
+                    decrease();
+                }
+                baselineNanos += config.getBaselineSmoothing() * (median - baselineNanos);
+            }
+        }
+
+        windowStart = now;
+        windowSamples = 0;
+        windowFailures = 0;
+        windowCongested = false;
+    }
+
+    private void decrease() {
+        limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+        windowCongested = true;
+    }
+
+    void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    synchronized double getBaselineNanos() {
+        return baselineNanos;
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.coalescing.RequestCoalescingFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Sheds requests with 503 once an endpoint has as many calls in flight as its adaptive limit allows. Endpoints are the
+ * route id plus method and the leading path segments with variable segments collapsed, so endpoints with different
+ * latency profiles behind one route are limited separately. Limiters live in a bounded cache that drops idle endpoints,
+ * so arbitrary client paths cannot grow it or the meter registry without limit. Runs after the response cache and
+ * request coalescing, so only requests that actually reach a downstream service are counted.
+ */
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = RequestCoalescingFilter.ORDER + 10;
+    // only short alphabetic segments and api versions are kept as written; ids, hashes, slugs with digits collapse
+    private static final Pattern LITERAL_SEGMENT = Pattern.compile("[A-Za-z][A-Za-z_-]{0,31}|v\\d{1,3}");
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, EndpointLimiter> limiters;
+
+    public ConcurrencyLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.limiters = Caffeine.newBuilder()
+                .maximumSize(properties.getConcurrency().getMaxEndpoints())
+                .expireAfterAccess(properties.getConcurrency().getEndpointIdleTimeout())
+                // evict on the calling thread so meters are gone as soon as their limiter is
+                .executor(Runnable::run)
+                .<String, EndpointLimiter>removalListener((key, endpoint, cause) -> {
+                    if (endpoint != null) {
+                        endpoint.meters().forEach(meterRegistry::remove);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || !properties.getConcurrency().isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        String endpoint = endpoint(exchange, properties.getConcurrency().getEndpointDepth());
+        EndpointLimiter endpointLimiter = limiters.get(route.getId() + ' ' + endpoint,
+                key -> createLimiter(route.getId(), endpoint));
+        AdaptiveConcurrencyLimiter limiter = endpointLimiter.limiter();
+        if (!limiter.tryAcquire()) {
+            endpointLimiter.shed().increment();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response.setComplete();
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    long now = System.nanoTime();
+                    if (signal == SignalType.CANCEL) {
+                        limiter.cancel();
+                        return;
+                    }
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    boolean failed = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                    limiter.release(now - start, failed, now);
+                });
+    }
+
+    // GET /api/v1/productItems/7/colour/red -> "GET /api/v1/productItems/{var}" with the default depth of 4
+    static String endpoint(ServerWebExchange exchange, int depth) {
+        StringBuilder endpoint = new StringBuilder(String.valueOf(exchange.getRequest().getMethod())).append(' ');
+        int segments = 0;
+        for (String segment : exchange.getRequest().getPath().pathWithinApplication().value().split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segments++ == depth) {
+                break;
+            }
+            endpoint.append('/').append(LITERAL_SEGMENT.matcher(segment).matches() ? segment : "{var}");
+        }
+        return endpoint.toString();
+    }
+
+    long trackedEndpoints() {
+        limiters.cleanUp();
+        return limiters.estimatedSize();
+    }
+
+    private EndpointLimiter createLimiter(String routeId, String endpoint) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.getConcurrency(), System.nanoTime());
+        Gauge limit = Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("route", routeId)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge inFlight = Gauge.builder("gateway.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("route", routeId)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Counter shed = meterRegistry.counter("gateway.concurrency.shed", "route", routeId, "endpoint", endpoint);
+        return new EndpointLimiter(limiter, shed, List.of(limit, inFlight, shed));
+    }
+
+    private record EndpointLimiter(AdaptiveConcurrencyLimiter limiter, Counter shed, List<Meter> meters) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketStore tokenBucketStore(RateLimitProperties properties) {
+        return new ShardedTokenBucketStore(properties, Ticker.systemTicker());
+    }
+}
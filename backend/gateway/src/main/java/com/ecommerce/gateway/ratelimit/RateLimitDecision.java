@@ -0,0 +1,6 @@
+package com.ecommerce.gateway.ratelimit;
+
+import java.time.Duration;
+
+public record RateLimitDecision(boolean allowed, long remaining, Duration retryAfter) {
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.cache.ResponseCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Token-bucket limit per client and route. Authenticated clients are limited by user, anonymous ones by remote
+ * address; runs before the response cache so cached answers count against the budget as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ResponseCacheFilter.ORDER - 50;
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final String DEFAULT_ROUTE = "default";
+
+    private final RateLimitProperties properties;
+    private final TokenBucketStore tokenBucketStore;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : DEFAULT_ROUTE;
+
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .map(name -> "user:" + name)
+                .defaultIfEmpty("ip:" + remoteAddress(exchange))
+                .flatMap(client -> {
+                    RateLimitDecision decision = tokenBucketStore.tryConsume(routeId + '|' + client, properties.limitFor(routeId), 1);
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.getHeaders().set(REMAINING_HEADER, String.valueOf(decision.remaining()));
+                    if (decision.allowed()) {
+                        return chain.filter(exchange);
+                    }
+
+                    meterRegistry.counter("gateway.rate.limit.rejected", "route", routeId).increment();
+                    long retryAfterSeconds = Math.max(1, (long) Math.ceil(decision.retryAfter().toMillis() / 1000d));
+                    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                    return response.setComplete();
+                });
+    }
+
+    private static String remoteAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return address != null ? address.getHostString() : "unknown";
+    }
+}
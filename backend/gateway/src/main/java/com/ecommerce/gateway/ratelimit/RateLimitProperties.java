@@ -0,0 +1,94 @@
+package com.ecommerce.gateway.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private int shards = 16;
+
+    /**
+     * Buckets of clients that stay idle this long are dropped and start full again.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private long maxClientsPerShard = 50_000;
+
+    private BucketSpec defaultLimit = new BucketSpec();
+
+    /**
+     * Per-client limits by gateway route id; routes without an entry use {@link #defaultLimit}.
+     */
+    private Map<String, BucketSpec> routes = new HashMap<>();
+
+    private Concurrency concurrency = new Concurrency();
+
+    public BucketSpec limitFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultLimit);
+    }
+
+    @Getter
+    @Setter
+    public static class BucketSpec {
+        private long capacity = 100;
+        private double refillPerSecond = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        private boolean enabled = true;
+        private int initialLimit = 50;
+        private int minLimit = 5;
+        private int maxLimit = 500;
+
+        /**
+         * A window whose median latency exceeds the baseline times this factor counts as downstream congestion.
+         */
+        private double latencyTolerance = 2.0;
+
+        private double backoffRatio = 0.9;
+
+        /**
+         * Latencies are judged per window and the limit is decreased at most once per window.
+         */
+        private Duration window = Duration.ofSeconds(1);
+
+        /**
+         * A window stays open past {@link #window} until it holds this many calls, so quiet endpoints are not judged on
+         * one or two samples.
+         */
+        private int windowMinSamples = 10;
+
+        /**
+         * Weight of each window median in the baseline; lower values make the baseline follow latency shifts slower.
+         */
+        private double baselineSmoothing = 0.1;
+
+        /**
+         * Path segments, after variable segments are collapsed, that tell endpoints of one route apart; each endpoint gets its own
+         * limiter so a slow endpoint does not shed a fast one sharing the same route.
+         */
+        private int endpointDepth = 4;
+
+        /**
+         * Upper bound on endpoints tracked at once; the least valuable limiters and their meters are dropped beyond it.
+         */
+        private long maxEndpoints = 256;
+
+        /**
+         * Limiters of endpoints that see no traffic this long are dropped together with their meters.
+         */
+        private Duration endpointIdleTimeout = Duration.ofMinutes(10);
+    }
+}
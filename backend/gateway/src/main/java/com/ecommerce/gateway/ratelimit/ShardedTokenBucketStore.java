@@ -0,0 +1,35 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * In-memory buckets split over independent shards by key hash, so concurrent clients rarely contend on the same
+ * structure and each shard evicts idle clients on its own.
+ */
+public class ShardedTokenBucketStore implements TokenBucketStore {
+
+    private final Cache<String, TokenBucket>[] shards;
+    private final Ticker ticker;
+
+    @SuppressWarnings("unchecked")
+    public ShardedTokenBucketStore(RateLimitProperties properties, Ticker ticker) {
+        this.ticker = ticker;
+        this.shards = new Cache[Math.max(1, properties.getShards())];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxClientsPerShard())
+                    .expireAfterAccess(properties.getIdleTimeout())
+                    .ticker(ticker)
+                    .build();
+        }
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitProperties.BucketSpec spec, long permits) {
+        long now = ticker.read();
+        Cache<String, TokenBucket> shard = shards[Math.floorMod(key.hashCode(), shards.length)];
+        return shard.get(key, k -> new TokenBucket(spec, now)).tryConsume(permits, now);
+    }
+}
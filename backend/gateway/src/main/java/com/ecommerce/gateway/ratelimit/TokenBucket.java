@@ -0,0 +1,30 @@
+package com.ecommerce.gateway.ratelimit;
+
+import java.time.Duration;
+
+class TokenBucket {
+
+    private final long capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(RateLimitProperties.BucketSpec spec, long now) {
+        this.capacity = spec.getCapacity();
+        this.refillPerNano = spec.getRefillPerSecond() / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    synchronized RateLimitDecision tryConsume(long permits, long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+        refilledAt = now;
+
+        if (tokens >= permits) {
+            tokens -= permits;
+            return new RateLimitDecision(true, (long) tokens, Duration.ZERO);
+        }
+        long waitNanos = refillPerNano > 0 ? (long) Math.ceil((permits - tokens) / refillPerNano) : Long.MAX_VALUE;
+        return new RateLimitDecision(false, 0, Duration.ofNanos(waitNanos));
+    }
+}
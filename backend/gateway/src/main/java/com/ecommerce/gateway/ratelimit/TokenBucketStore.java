@@ -0,0 +1,10 @@
+package com.ecommerce.gateway.ratelimit;
+
+/**
+ * Keeps the token buckets of all rate-limited clients. The local implementation is {@link ShardedTokenBucketStore};
+ * a shared store lets several gateway instances enforce one budget.
+ */
+public interface TokenBucketStore {
+
+    RateLimitDecision tryConsume(String key, RateLimitProperties.BucketSpec spec, long permits);
+}
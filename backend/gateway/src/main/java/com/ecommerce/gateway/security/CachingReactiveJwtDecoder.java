@@ -0,0 +1,113 @@
+package com.ecommerce.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+@Slf4j
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder, ApplicationListener<ApplicationReadyEvent> {
+
+    private final JWKSource<SecurityContext> jwkSource;
+    private final ReactiveJwtDecoder delegate;
+    private final Cache<String, Jwt> validatedTokens;
+
+    public CachingReactiveJwtDecoder(String jwkSetUri, Duration jwkCacheTtl, Duration jwkRefreshAhead,
+                                     long validatedTokenCacheSize, Duration validatedTokenCacheTtl) {
+        this.jwkSource = JWKSourceBuilder.create(toUrl(jwkSetUri))
+                .cache(jwkCacheTtl.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(jwkRefreshAhead.toMillis(), true)
+                .retrying(true)
+                .build();
+
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        this.delegate = new NimbusReactiveJwtDecoder(jwt -> Mono.fromCallable(() -> jwtProcessor.process(jwt, null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(BadJOSEException.class, ex -> new BadJwtException(ex.getMessage(), ex)));
+
+        this.validatedTokens = Caffeine.newBuilder()
+                .maximumSize(validatedTokenCacheSize)
+                .expireAfter(Expiry.creating((String tokenHash, Jwt jwt) -> untilExpiry(jwt, validatedTokenCacheTtl)))
+                .build();
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        String tokenHash = hash(token);
+
+        Jwt cached = validatedTokens.getIfPresent(tokenHash);
+        if (cached != null && cached.getExpiresAt() != null && Instant.now().isBefore(cached.getExpiresAt())) {
+            return Mono.just(cached);
+        }
+
+        return delegate.decode(token)
+                .doOnNext(jwt -> validatedTokens.put(tokenHash, jwt));
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        try {
+            int keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null).size();
+            log.info("Pre-warmed JWK cache with {} keys", keys);
+        } catch (KeySourceException ex) {
+            log.warn("Could not pre-warm JWK cache, keys will be fetched on first request: {}", ex.getMessage());
+        }
+    }
+
+    // keep a verified token until it expires, but never longer than the configured TTL
+    private static Duration untilExpiry(Jwt jwt, Duration maxTtl) {
+        if (jwt.getExpiresAt() == null) {
+            return maxTtl;
+        }
+        Duration remaining = Duration.between(Instant.now(), jwt.getExpiresAt());
+        return remaining.isNegative() ? Duration.ZERO : (remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static URL toUrl(String jwkSetUri) {
+        try {
+            return URI.create(jwkSetUri).toURL();
+        } catch (MalformedURLException ex) {
+            throw new IllegalArgumentException("Invalid JWK set URI: " + jwkSetUri, ex);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.gateway.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the compact {@code X-User-Identity} header forwarded to downstream services:
+ * {@code base64url(claims) "." base64url(HMAC-SHA256(claims))}. The claims carry the subject, the internal user id
+ * when the token maps one, email, roles, expiry and a hash of the bearer token the identity belongs to.
+ */
+public class IdentityHeaderSigner {
+
+    public static final String HEADER = "X-User-Identity";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public IdentityHeaderSigner(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    public String sign(JwtAuthenticationToken authentication) {
+        Jwt jwt = authentication.getToken();
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .toList();
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", jwt.getSubject());
+        claims.put("uid", jwt.getClaimAsString("user_id"));
+        claims.put("email", jwt.getClaimAsString("email"));
+        claims.put("roles", roles);
+        claims.put("iat", Instant.now().getEpochSecond());
+        claims.put("exp", jwt.getExpiresAt() != null ? jwt.getExpiresAt().getEpochSecond() : 0);
+        claims.put("th", BASE64.encodeToString(sha256(jwt.getTokenValue())));
+
+        try {
+            String payload = BASE64.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return payload + '.' + BASE64.encodeToString(hmac(payload));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize identity claims", ex);
+        }
+    }
+
+    private byte[] hmac(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -1,18 +1,38 @@
 package com.ecommerce.gateway.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 
+import java.time.Duration;
+
 @Configuration
 public class JwtConfig {
 
+    @Value("${security.jwt.jwk-set-uri}")
+    private String jwkSetUri;
+
+    @Value("${security.jwt.jwk-cache-ttl:15m}")
+    private Duration jwkCacheTtl;
+
+    @Value("${security.jwt.jwk-refresh-ahead:1m}")
+    private Duration jwkRefreshAhead;
+
+    @Value("${security.jwt.validated-token-cache-size:10000}")
+    private long validatedTokenCacheSize;
+
+    @Value("${security.jwt.validated-token-cache-ttl:5m}")
+    private Duration validatedTokenCacheTtl;
+
     @Bean
     public ReactiveJwtDecoder reactiveJwtDecoder() {
-        return NimbusReactiveJwtDecoder
-//                .withJwkSetUri("http://keycloak:8080/realms/ecom-app/protocol/openid-connect/certs") dla vpsa
-                .withJwkSetUri("http://localhost:8443/realms/ecom-app/protocol/openid-connect/certs") //dla local
-                .build();
+        return new CachingReactiveJwtDecoder(
+                jwkSetUri,
+                jwkCacheTtl,
+                jwkRefreshAhead,
+                validatedTokenCacheSize,
+                validatedTokenCacheTtl
+        );
     }
 }
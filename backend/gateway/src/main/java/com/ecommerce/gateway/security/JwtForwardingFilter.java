@@ -1,29 +1,47 @@
 package com.ecommerce.gateway.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Optional;
 
 @Configuration
 public class JwtForwardingFilter {
+
+    // marks service-to-service calls, which downstream services may answer in Smile instead of JSON
+    static final String INTERNAL_CALL_HEADER = "X-Internal-Call";
+
+    @Value("${security.identity-header.secret:}")
+    private String identityHeaderSecret;
+
     @Bean
     public GlobalFilter authorizationHeaderFilter() {
-        return (exchange, chain) -> {
-            var request = exchange.getRequest();
-            var cookies = request.getCookies();
-            var accessTokenCookie = cookies.getFirst("access_token");
-
-            if (accessTokenCookie != null) {
-                String token = accessTokenCookie.getValue();
-                ServerHttpRequest modifiedRequest = request.mutate()
-                        .header("Authorization", "Bearer " + token)
-                        .build();
-
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
-            }
-
-            return chain.filter(exchange);
-        };
+        IdentityHeaderSigner signer = identityHeaderSecret.isBlank() ? null : new IdentityHeaderSigner(identityHeaderSecret);
+
+        return (exchange, chain) -> exchange.getPrincipal()
+                .filter(principal -> signer != null && principal instanceof JwtAuthenticationToken)
+                .map(principal -> Optional.of(signer.sign((JwtAuthenticationToken) principal)))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(identity -> {
+                    var request = exchange.getRequest();
+                    var accessTokenCookie = request.getCookies().getFirst("access_token");
+
+                    // never pass on identity or internal-call headers the client sent itself
+                    ServerHttpRequest.Builder modifiedRequest = request.mutate()
+                            .headers(headers -> {
+                                headers.remove(IdentityHeaderSigner.HEADER);
+                                headers.remove(INTERNAL_CALL_HEADER);
+                            });
+                    if (accessTokenCookie != null) {
+                        modifiedRequest.header("Authorization", "Bearer " + accessTokenCookie.getValue());
+                    }
+                    identity.ifPresent(value -> modifiedRequest.header(IdentityHeaderSigner.HEADER, value));
+
+                    return chain.filter(exchange.mutate().request(modifiedRequest.build()).build());
+                });
     }
 }
@@ -0,0 +1,42 @@
+package com.ecommerce.gateway.bff;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class ProductPageControllerTest {
+
+    private final ProductPageService productPageService = mock(ProductPageService.class);
+
+    @Test
+    void ProductPageController_GetProductPage_DirectCallIsRejected() {
+        WebTestClient client = WebTestClient.bindToController(new ProductPageController(productPageService)).build();
+
+        client.get().uri("/internal/bff/product-page/7")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verifyNoInteractions(productPageService);
+    }
+
+    @Test
+    void ProductPageController_GetProductPage_ServesForwardedRouteRequest() {
+        Route route = Route.async().id("bff").uri("forward:/").predicate(exchange -> true).build();
+        when(productPageService.getProductPage(eq(7), isNull(), eq(3), any()))
+                .thenReturn(Mono.just(new ProductPageResponse()));
+        WebTestClient client = WebTestClient.bindToController(new ProductPageController(productPageService))
+                .webFilter((exchange, chain) -> {
+                    exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+                    return chain.filter(exchange);
+                })
+                .build();
+
+        client.get().uri("/internal/bff/product-page/7?productId=3")
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
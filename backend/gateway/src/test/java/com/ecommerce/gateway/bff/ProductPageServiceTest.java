@@ -0,0 +1,91 @@
+package com.ecommerce.gateway.bff;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductPageServiceTest {
+
+    private static final String ITEM_JSON = "{\"productId\":3,\"productItemId\":7,\"productItemOneByColour\":"
+            + "[{\"id\":7,\"qtyInStock\":4},{\"id\":8,\"qtyInStock\":0}]}";
+
+    private ProductPageService service(Function<ClientRequest, Mono<ClientResponse>> upstream) {
+        ProductPageService service = new ProductPageService(WebClient.builder().exchangeFunction(upstream::apply));
+        ReflectionTestUtils.setField(service, "productServiceUrl", "http://PRODUCT-SERVICE/api/v1");
+        ReflectionTestUtils.setField(service, "userServiceUrl", "http://USER-SERVICE/api/v1");
+        ReflectionTestUtils.setField(service, "itemTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(service, "ratingSummaryTimeout", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(service, "cartTimeout", Duration.ofSeconds(1));
+        service.init();
+        return service;
+    }
+
+    private static Mono<ClientResponse> json(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private static Mono<ClientResponse> route(ClientRequest request) {
+        String path = request.url().getPath();
+        if (path.equals("/api/v1/productItems/7")) {
+            return json(HttpStatus.OK, ITEM_JSON);
+        }
+        if (path.equals("/api/v1/review/product-summary")) {
+            return json(HttpStatus.OK, "[{\"productId\":3,\"averageRating\":4.5}]");
+        }
+        if (path.equals("/api/v1/cart/users/cart")) {
+            assertEquals("Bearer token", request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+            return json(HttpStatus.OK, "{\"items\":[]}");
+        }
+        return json(HttpStatus.NOT_FOUND, "{}");
+    }
+
+    @Test
+    void ProductPageService_GetProductPage_ComposesAllBranches() {
+        ProductPageResponse page = service(ProductPageServiceTest::route).getProductPage(7, null, null, "token").block();
+
+        assertNotNull(page);
+        assertFalse(page.isPartial());
+        assertEquals(3, page.getItem().path("productId").asInt());
+        assertEquals(4.5, page.getRatingSummary().path("averageRating").asDouble());
+        assertNotNull(page.getCart());
+        assertEquals(Map.of(7, 4, 8, 0), page.getStock());
+    }
+
+    @Test
+    void ProductPageService_GetProductPage_ReturnsPartialResultOnSlowBranch() {
+        ProductPageResponse page = service(request -> request.url().getPath().endsWith("/product-summary")
+                ? Mono.never()
+                : route(request)).getProductPage(7, null, 3, null).block();
+
+        assertNotNull(page);
+        assertTrue(page.isPartial());
+        assertNull(page.getRatingSummary());
+        assertNull(page.getCart());
+        assertEquals("timeout", page.getFailures().get(ProductPageService.RATING_SUMMARY));
+        assertNotNull(page.getItem());
+    }
+
+    @Test
+    void ProductPageService_GetProductPage_MissingItemIsNotFound() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service(ProductPageServiceTest::route).getProductPage(99, null, null, null).block());
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+}
@@ -0,0 +1,158 @@
+package com.ecommerce.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheFilterTest {
+
+    private ResponseCacheStore responseCacheStore;
+    private ResponseCacheFilter filter;
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties.Rule rule = new ResponseCacheProperties.Rule();
+        rule.setName("products");
+        rule.setPaths(List.of("/api/v1/products/**"));
+        rule.setTtl(Duration.ofMinutes(1));
+        rule.setPurgeOn(Set.of("PRODUCT"));
+
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setRules(List.of(rule));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        responseCacheStore = new ResponseCacheStore(properties, meterRegistry);
+        filter = new ResponseCacheFilter(properties, responseCacheStore, WebClient.builder(), meterRegistry);
+        filter.init();
+    }
+
+    private final GatewayFilterChain downstream = exchange -> {
+        downstreamCalls.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    };
+
+    private MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    @Test
+    void ResponseCacheFilter_Filter_ServesRepeatedRequestFromCache() {
+        MockServerWebExchange first = get("/api/v1/products/1?b=2&a=1");
+        filter.filter(first, downstream).block();
+
+        MockServerWebExchange second = get("/api/v1/products/1/?a=1&b=2");
+        filter.filter(second, downstream).block();
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+        assertEquals("{\"id\":1}", second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void ResponseCacheFilter_Filter_BypassesAuthenticatedRequests() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+        filter.filter(exchange, downstream).block();
+        filter.filter(get("/api/v1/products/1"), downstream).block();
+
+        assertEquals(2, downstreamCalls.get());
+        assertNull(exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    void ResponseCacheFilter_Filter_IgnoresRoutesWithoutRule() {
+        filter.filter(get("/api/v1/shop-order/1"), downstream).block();
+        filter.filter(get("/api/v1/shop-order/1"), downstream).block();
+
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void ResponseCacheFilter_Filter_ReturnsNotModifiedForMatchingEtag() {
+        GatewayFilterChain withEtag = exchange -> {
+            exchange.getResponse().getHeaders().setETag("\"v1\"");
+            return downstream.filter(exchange);
+        };
+        filter.filter(get("/api/v1/products/1"), withEtag).block();
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/1")
+                .ifNoneMatch("\"v1\""));
+        filter.filter(conditional, withEtag).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void ResponseCacheFilter_Filter_DoesNotStoreNonJsonResponses() {
+        GatewayFilterChain smile = exchange -> {
+            downstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.parseMediaType("application/x-jackson-smile"));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(new byte[]{':', ')', '\n'})));
+        };
+        filter.filter(get("/api/v1/products/1"), smile).block();
+
+        MockServerWebExchange browser = get("/api/v1/products/1");
+        filter.filter(browser, downstream).block();
+
+        assertEquals(2, downstreamCalls.get());
+        assertEquals("{\"id\":1}", browser.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void ResponseCacheFilter_Filter_BypassesRequestsThatDoNotAcceptJson() {
+        filter.filter(get("/api/v1/products/1"), downstream).block();
+
+        MockServerWebExchange smile = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/1")
+                .header(HttpHeaders.ACCEPT, "application/x-jackson-smile"));
+        filter.filter(smile, downstream).block();
+
+        MockServerWebExchange browser = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/1")
+                .header(HttpHeaders.ACCEPT, "application/json, text/plain, */*"));
+        filter.filter(browser, downstream).block();
+
+        assertEquals(2, downstreamCalls.get());
+        assertNull(smile.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", browser.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    void ResponseCacheStore_Purge_EvictsEntriesOfMatchingRules() {
+        filter.filter(get("/api/v1/products/1"), downstream).block();
+
+        responseCacheStore.purge(Set.of("CATEGORY"));
+        filter.filter(get("/api/v1/products/1"), downstream).block();
+        assertEquals(1, downstreamCalls.get());
+
+        responseCacheStore.purge(Set.of("PRODUCT"));
+        filter.filter(get("/api/v1/products/1"), downstream).block();
+        assertEquals(2, downstreamCalls.get());
+    }
+}
@@ -0,0 +1,164 @@
+package com.ecommerce.gateway.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescingProperties properties = new RequestCoalescingProperties();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> upstreamReady = Sinks.empty();
+    private HttpStatus upstreamStatus = HttpStatus.OK;
+    private RequestCoalescingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties.setPaths(List.of("/api/v1/productItems/**"));
+        filter = new RequestCoalescingFilter(properties, meterRegistry);
+        filter.init();
+    }
+
+    private final GatewayFilterChain upstream = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return upstreamReady.asMono().then(Mono.defer(() -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(upstreamStatus);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            byte[] body = "{\"stock\":3}".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }));
+    };
+
+    private MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    @Test
+    void RequestCoalescingFilter_Filter_SharesOneUpstreamCall() {
+        MockServerWebExchange leader = get("/api/v1/productItems/7");
+        MockServerWebExchange follower = get("/api/v1/productItems/7");
+
+        Mono<Void> leading = filter.filter(leader, upstream).cache();
+        leading.subscribe();
+        Mono<Void> following = filter.filter(follower, upstream).cache();
+        following.subscribe();
+
+        upstreamReady.tryEmitEmpty();
+        leading.block();
+        following.block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("{\"stock\":3}", follower.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, follower.getResponse().getStatusCode());
+        assertEquals("true", follower.getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER));
+        assertEquals(2.0, meterRegistry.summary("gateway.coalescing.fan.in").totalAmount());
+    }
+
+    @Test
+    void RequestCoalescingFilter_Filter_DoesNotShareAcrossCredentials() {
+        MockServerWebExchange anonymous = get("/api/v1/productItems/7");
+        MockServerWebExchange authenticated = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/productItems/7")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+
+        Mono<Void> first = filter.filter(anonymous, upstream).cache();
+        first.subscribe();
+        Mono<Void> second = filter.filter(authenticated, upstream).cache();
+        second.subscribe();
+
+        upstreamReady.tryEmitEmpty();
+        first.block();
+        second.block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void RequestCoalescingFilter_Filter_FollowerFallsBackWhenResponseTooLarge() {
+        properties.setMaxResponseSize(DataSize.ofBytes(4));
+        MockServerWebExchange leader = get("/api/v1/productItems/7");
+        MockServerWebExchange follower = get("/api/v1/productItems/7");
+
+        Mono<Void> leading = filter.filter(leader, upstream).cache();
+        leading.subscribe();
+        Mono<Void> following = filter.filter(follower, upstream).cache();
+        following.subscribe();
+
+        upstreamReady.tryEmitEmpty();
+        leading.block();
+        following.block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("{\"stock\":3}", follower.getResponse().getBodyAsString().block());
+        assertNull(follower.getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER));
+    }
+
+    @Test
+    void RequestCoalescingFilter_Filter_DoesNotShareNonOkResponses() {
+        upstreamStatus = HttpStatus.SERVICE_UNAVAILABLE;
+        MockServerWebExchange leader = get("/api/v1/productItems/7");
+        MockServerWebExchange follower = get("/api/v1/productItems/7");
+
+        Mono<Void> leading = filter.filter(leader, upstream).cache();
+        leading.subscribe();
+        Mono<Void> following = filter.filter(follower, upstream).cache();
+        following.subscribe();
+
+        upstreamReady.tryEmitEmpty();
+        leading.block();
+        following.block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertNull(follower.getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER));
+    }
+
+    @Test
+    void RequestCoalescingFilter_Filter_BypassesConditionalAndRangeRequests() {
+        MockServerWebExchange plain = get("/api/v1/productItems/7");
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/productItems/7")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3-abc\""));
+        MockServerWebExchange range = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/productItems/7")
+                .header(HttpHeaders.RANGE, "bytes=0-3"));
+
+        Mono<Void> leading = filter.filter(plain, upstream).cache();
+        leading.subscribe();
+        Mono<Void> second = filter.filter(conditional, upstream).cache();
+        second.subscribe();
+        Mono<Void> third = filter.filter(range, upstream).cache();
+        third.subscribe();
+
+        upstreamReady.tryEmitEmpty();
+        leading.block();
+        second.block();
+        third.block();
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(1.0, meterRegistry.summary("gateway.coalescing.fan.in").totalAmount());
+    }
+
+    @Test
+    void RequestCoalescingFilter_Filter_IgnoresPathsOutsideAllowList() {
+        upstreamReady.tryEmitEmpty();
+        filter.filter(get("/api/v1/shop-order/1"), upstream).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(0, meterRegistry.summary("gateway.coalescing.fan.in").count());
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        RateLimitProperties.Concurrency config = new RateLimitProperties.Concurrency();
+        config.setInitialLimit(initialLimit);
+        config.setMinLimit(1);
+        config.setWindowMinSamples(3);
+        return new AdaptiveConcurrencyLimiter(config, 0);
+    }
+
+    @Test
+    void AdaptiveConcurrencyLimiter_TryAcquire_ShedsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void AdaptiveConcurrencyLimiter_Release_GrowsWhileLatencyIsStable() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(10_000_000, false, 1);
+
+        assertEquals(3, limiter.getLimit());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void AdaptiveConcurrencyLimiter_Release_BacksOffOnceWhenWindowMedianExceedsBaseline() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        release(limiter, 10_000_000, false, 100_000_000);
+        release(limiter, 10_000_000, false, 200_000_000);
+        release(limiter, 10_000_000, false, 1_100_000_000);
+        assertEquals(20, limiter.getLimit());
+        assertEquals(10_000_000, limiter.getBaselineNanos());
+
+        release(limiter, 50_000_000, false, 1_200_000_000);
+        release(limiter, 50_000_000, false, 1_300_000_000);
+        release(limiter, 50_000_000, false, 2_200_000_000L);
+
+        assertEquals(18, limiter.getLimit());
+        assertEquals(14_000_000, limiter.getBaselineNanos(), 1);
+    }
+
+    @Test
+    void AdaptiveConcurrencyLimiter_Release_FailuresDecreaseAtMostOncePerWindow() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        release(limiter, 10_000_000, true, 100_000_000);
+        release(limiter, 10_000_000, true, 200_000_000);
+        release(limiter, 10_000_000, true, 1_100_000_000);
+        assertEquals(18, limiter.getLimit());
+
+        release(limiter, 10_000_000, true, 1_200_000_000);
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    void AdaptiveConcurrencyLimiter_Release_BaselineFollowsSlowerHealthyDownstream() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        long now = 0;
+
+        for (int window = 0; window < 40; window++) {
+            long latency = window == 0 ? 10_000_000 : 15_000_000;
+            for (int call = 0; call < 3; call++) {
+                now += 400_000_000;
+                release(limiter, latency, false, now);
+            }
+        }
+
+        assertEquals(20, limiter.getLimit());
+        assertEquals(15_000_000, limiter.getBaselineNanos(), 200_000);
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, long latencyNanos, boolean failed, long now) {
+        limiter.tryAcquire();
+        limiter.release(latencyNanos, failed, now);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class ConcurrencyLimitFilterTest {
+
+    private static String endpoint(MockServerHttpRequest.BaseBuilder<?> request) {
+        return ConcurrencyLimitFilter.endpoint(MockServerWebExchange.from(request.build()), 4);
+    }
+
+    @Test
+    void ConcurrencyLimitFilter_Endpoint_CollapsesVariableSegmentsAndTruncatesPath() {
+        assertEquals("GET /api/v1/productItems/{var}", endpoint(MockServerHttpRequest.get("/api/v1/productItems/7/colour/red")));
+        assertEquals("GET /api/v1/productItems/{var}", endpoint(MockServerHttpRequest.get("/api/v1/productItems/8?colour=blue")));
+        assertEquals("GET /api/v1/review/{var}", endpoint(MockServerHttpRequest.get("/api/v1/review/66c1f0a2b3d4e5f607182930")));
+        assertEquals("GET /api/v1/productItems/{var}", endpoint(MockServerHttpRequest.get("/api/v1/productItems/jacket-navy-2")));
+    }
+
+    @Test
+    void ConcurrencyLimitFilter_Endpoint_SeparatesEndpointsOfOneRoute() {
+        String search = endpoint(MockServerHttpRequest.get("/api/v1/products/search"));
+        String details = endpoint(MockServerHttpRequest.get("/api/v1/products/12"));
+        String create = endpoint(MockServerHttpRequest.post("/api/v1/products/12"));
+
+        assertNotEquals(search, details);
+        assertNotEquals(details, create);
+    }
+
+    @Test
+    void ConcurrencyLimitFilter_Filter_BoundsTrackedEndpointsAndTheirMeters() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getConcurrency().setMaxEndpoints(8);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+        Route route = Route.async().id("product").uri("http://localhost").predicate(exchange -> true).build();
+
+        for (int i = 0; i < 200; i++) {
+            String slug = UUID.randomUUID().toString().replaceAll("[^a-f]", "");
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/productItems/" + slug));
+            exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+            filter.filter(exchange, ignored -> Mono.empty()).block();
+        }
+
+        assertTrue(filter.trackedEndpoints() <= 8);
+        assertEquals(filter.trackedEndpoints(), meterRegistry.find("gateway.concurrency.limit").gauges().size());
+        assertEquals(filter.trackedEndpoints(), meterRegistry.find("gateway.concurrency.shed").counters().size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedTokenBucketStoreTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final ShardedTokenBucketStore store = new ShardedTokenBucketStore(properties, nanos::get);
+
+    private RateLimitProperties.BucketSpec spec(long capacity, double refillPerSecond) {
+        RateLimitProperties.BucketSpec spec = new RateLimitProperties.BucketSpec();
+        spec.setCapacity(capacity);
+        spec.setRefillPerSecond(refillPerSecond);
+        return spec;
+    }
+
+    @Test
+    void ShardedTokenBucketStore_TryConsume_RejectsOnceBucketIsEmpty() {
+        RateLimitProperties.BucketSpec spec = spec(2, 1);
+
+        assertTrue(store.tryConsume("product-service|ip:1", spec, 1).allowed());
+        assertTrue(store.tryConsume("product-service|ip:1", spec, 1).allowed());
+
+        RateLimitDecision rejected = store.tryConsume("product-service|ip:1", spec, 1);
+        assertFalse(rejected.allowed());
+        assertEquals(1, rejected.retryAfter().toSeconds());
+    }
+
+    @Test
+    void ShardedTokenBucketStore_TryConsume_RefillsOverTime() {
+        RateLimitProperties.BucketSpec spec = spec(1, 2);
+        store.tryConsume("product-service|ip:1", spec, 1);
+
+        nanos.addAndGet(Duration.ofMillis(600).toNanos());
+
+        assertTrue(store.tryConsume("product-service|ip:1", spec, 1).allowed());
+    }
+
+    @Test
+    void ShardedTokenBucketStore_TryConsume_KeepsClientsIndependent() {
+        RateLimitProperties.BucketSpec spec = spec(1, 1);
+
+        assertTrue(store.tryConsume("product-service|ip:1", spec, 1).allowed());
+        assertTrue(store.tryConsume("product-service|ip:2", spec, 1).allowed());
+        assertTrue(store.tryConsume("user-service|ip:1", spec, 1).allowed());
+        assertFalse(store.tryConsume("product-service|ip:1", spec, 1).allowed());
+    }
+}
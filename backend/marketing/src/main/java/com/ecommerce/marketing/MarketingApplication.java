@@ -1,19 +1,48 @@
 package com.ecommerce.marketing;
 
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
 
 @SpringBootApplication
 @EnableFeignClients
 @EnableJpaAuditing
 @EnableRabbit
+@EnableScheduling
 public class MarketingApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(MarketingApplication.class, args);
 	}
 
+	@Bean
+	public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder,
+									 @Value("${keycloak.admin.http.connect-timeout:2s}") Duration connectTimeout,
+									 @Value("${keycloak.admin.http.read-timeout:5s}") Duration readTimeout) {
+		return restTemplateBuilder
+				.connectTimeout(connectTimeout)
+				.readTimeout(readTimeout)
+				.build();
+	}
+
+	// picked up by @Scheduled by name, so scheduled jobs do not share the mail retry scheduler
+	@Bean
+	public ThreadPoolTaskScheduler taskScheduler() {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(2);
+		scheduler.setThreadNamePrefix("marketing-scheduled-");
+		scheduler.initialize();
+		return scheduler;
+	}
+
 }
@@ -0,0 +1,73 @@
+package com.ecommerce.marketing.campaign;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "campaign")
+public class Campaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false)
+    private String headline;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false, updatable = false)
+    private String createdBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // subscribers who join after the campaign was started are not part of it
+    @Column(nullable = false, updatable = false)
+    private Integer maxSubscriberId;
+
+    // keyset cursor, only advanced once the broker confirmed every batch up to this subscriber
+    @Column(nullable = false)
+    private Integer lastSubscriberId;
+
+    private long totalRecipients;
+
+    private long publishedRecipients;
+
+    private long sentCount;
+
+    private long failedCount;
+
+    private LocalDateTime publishedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String failureReason;
+
+    public enum Status {
+        RUNNING,
+        PUBLISHED,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.marketing.campaign;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a published batch as taken by a consumer, so redelivered or re-published batches are not mailed twice.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "campaign_batch",
+        uniqueConstraints = @UniqueConstraint(name = "uk_campaign_batch_first_subscriber",
+                columnNames = {"campaign_id", "first_subscriber_id"}))
+public class CampaignBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(name = "first_subscriber_id", nullable = false)
+    private Integer firstSubscriberId;
+
+    @Column(name = "recipients", nullable = false)
+    private int recipients;
+
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+}
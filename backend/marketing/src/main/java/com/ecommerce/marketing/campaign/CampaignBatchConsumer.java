@@ -0,0 +1,98 @@
+package com.ecommerce.marketing.campaign;
+
+import com.ecommerce.marketing.email.DeliveryListener;
+import com.ecommerce.marketing.email.EmailTemplateRenderer;
+import com.ecommerce.marketing.email.MailDispatcher;
+import com.ecommerce.marketing.email.OutgoingEmail;
+import com.ecommerce.marketing.exceptions.NotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignBatchConsumer {
+
+    @Value("${campaign.enqueue-timeout:2m}")
+    private Duration enqueueTimeout;
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignBatchRepository campaignBatchRepository;
+    private final CampaignProgressTracker campaignProgressTracker;
+    private final EmailTemplateRenderer emailTemplateRenderer;
+    private final MailDispatcher mailDispatcher;
+
+    private final Cache<Long, PreparedCampaign> preparedCampaigns = Caffeine.newBuilder()
+            .maximumSize(16)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    @RabbitListener(queues = "${campaign.queue:newsletter.campaign.batches}", concurrency = "${campaign.consumers:4-8}")
+    public void onBatch(CampaignBatchMessage batch) {
+        Optional<Campaign.Status> status = campaignRepository.findStatusById(batch.getCampaignId());
+        if (status.isEmpty() || status.get() == Campaign.Status.CANCELLED) {
+            log.info("Skipping batch {} of campaign {}, campaign is missing or cancelled",
+                    batch.getFirstSubscriberId(), batch.getCampaignId());
+            return;
+        }
+
+        if (campaignBatchRepository.claim(batch.getCampaignId(), batch.getFirstSubscriberId(), batch.getRecipients().size()) == 0) {
+            log.debug("Batch {} of campaign {} was already handled", batch.getFirstSubscriberId(), batch.getCampaignId());
+            return;
+        }
+
+        PreparedCampaign campaign = preparedCampaigns.get(batch.getCampaignId(), this::prepare);
+
+        // the dispatcher queue is bounded, so a slow SMTP provider holds the listener here instead of piling up batches
+        for (CampaignRecipient recipient : batch.getRecipients()) {
+            try {
+                mailDispatcher.enqueue(OutgoingEmail.builder()
+                        .to(recipient.getEmail())
+                        .subject(campaign.subject())
+                        .htmlBody(campaign.body().apply(userName(recipient.getEmail())))
+                        .listener(listener(batch.getCampaignId(), recipient))
+                        .build(), enqueueTimeout);
+            } catch (RuntimeException ex) {
+                campaignProgressTracker.failed(batch.getCampaignId(), recipient, ex.getMessage());
+            }
+        }
+    }
+
+    private PreparedCampaign prepare(Long campaignId) {
+        Campaign campaign = campaignRepository.findById(campaignId)
+                .orElseThrow(() -> new NotFoundException("Campaign", Optional.of(campaignId.toString())));
+        return new PreparedCampaign(campaign.getSubject(),
+                emailTemplateRenderer.prepareCampaign(campaign.getHeadline(), campaign.getContent()));
+    }
+
+    private DeliveryListener listener(Long campaignId, CampaignRecipient recipient) {
+        return new DeliveryListener() {
+            @Override
+            public void delivered(OutgoingEmail email) {
+                campaignProgressTracker.delivered(campaignId);
+            }
+
+            @Override
+            public void failed(OutgoingEmail email, String reason) {
+                campaignProgressTracker.failed(campaignId, recipient, reason);
+            }
+        };
+    }
+
+    private String userName(String email) {
+        int at = email.indexOf("@");
+        return at > 0 ? email.substring(0, at) : email;
+    }
+
+    private record PreparedCampaign(String subject, Function<String, String> body) {
+    }
+}
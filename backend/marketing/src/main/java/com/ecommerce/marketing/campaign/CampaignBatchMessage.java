@@ -0,0 +1,16 @@
+package com.ecommerce.marketing.campaign;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CampaignBatchMessage {
+    private Long campaignId;
+    private Integer firstSubscriberId;
+    private List<CampaignRecipient> recipients;
+}
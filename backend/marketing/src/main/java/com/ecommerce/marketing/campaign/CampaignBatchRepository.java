@@ -0,0 +1,23 @@
+package com.ecommerce.marketing.campaign;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CampaignBatchRepository extends JpaRepository<CampaignBatch, Long> {
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO campaign_batch (campaign_id, first_subscriber_id, recipients, claimed_at)
+            VALUES (:campaignId, :firstSubscriberId, :recipients, now())
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int claim(@Param("campaignId") Long campaignId,
+              @Param("firstSubscriberId") Integer firstSubscriberId,
+              @Param("recipients") int recipients);
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.marketing.campaign;
+
+import org.springframework.amqp.core.*;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class CampaignConfig {
+
+    @Value("${campaign.exchange:newsletter.campaign}")
+    private String exchange;
+
+    @Value("${campaign.queue:newsletter.campaign.batches}")
+    private String queue;
+
+    @Value("${campaign.max-parallel-campaigns:2}")
+    private int maxParallelCampaigns;
+
+    @Bean
+    public DirectExchange campaignExchange() {
+        return ExchangeBuilder.directExchange(exchange).durable(true).build();
+    }
+
+    @Bean
+    public Queue campaignBatchQueue() {
+        return QueueBuilder.durable(queue)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(queue + ".dlq")
+                .build();
+    }
+
+    @Bean
+    public Queue campaignBatchDeadLetterQueue() {
+        return QueueBuilder.durable(queue + ".dlq").build();
+    }
+
+    @Bean
+    public Binding campaignBatchBinding(DirectExchange campaignExchange, Queue campaignBatchQueue) {
+        return BindingBuilder.bind(campaignBatchQueue).to(campaignExchange).with(queue);
+    }
+
+    @Bean
+    public MessageConverter campaignMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor campaignPublisherExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxParallelCampaigns);
+        executor.setMaxPoolSize(maxParallelCampaigns);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("campaign-publisher-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.marketing.campaign;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("campaigns")
+public class CampaignController {
+
+    private final CampaignService campaignService;
+
+    @PostMapping
+    public ResponseEntity<CampaignResponse> createCampaign(@RequestBody CampaignRequest campaignRequest,
+                                                           @AuthenticationPrincipal Jwt jwt) {
+        CampaignResponse campaign = campaignService.createCampaign(campaignRequest, jwt.getSubject());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaign);
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<CampaignResponse>> getCampaigns(
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        return ResponseEntity.status(HttpStatus.OK).body(campaignService.getCampaigns(page, size));
+    }
+
+    @GetMapping("/{campaignId}")
+    public ResponseEntity<CampaignResponse> getCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.status(HttpStatus.OK).body(campaignService.getCampaign(campaignId));
+    }
+
+    @GetMapping("/{campaignId}/failures")
+    public ResponseEntity<Page<CampaignFailureResponse>> getCampaignFailures(
+            @PathVariable Long campaignId,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        return ResponseEntity.status(HttpStatus.OK).body(campaignService.getCampaignFailures(campaignId, page, size));
+    }
+
+    @PostMapping("/{campaignId}/resume")
+    public ResponseEntity<CampaignResponse> resumeCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaignService.resumeCampaign(campaignId));
+    }
+
+    @PostMapping("/{campaignId}/cancel")
+    public ResponseEntity<CampaignResponse> cancelCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.status(HttpStatus.OK).body(campaignService.cancelCampaign(campaignId));
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.marketing.campaign;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "campaign_failure", indexes = @Index(name = "idx_campaign_failure_campaign", columnList = "campaign_id"))
+public class CampaignFailure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(nullable = false)
+    private Integer subscriberId;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(length = 1000)
+    private String reason;
+
+    @Column(nullable = false)
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.marketing.campaign;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CampaignFailureRepository extends JpaRepository<CampaignFailure, Long> {
+
+    Page<CampaignFailure> findAllByCampaignIdOrderByIdAsc(Long campaignId, Pageable pageable);
+}
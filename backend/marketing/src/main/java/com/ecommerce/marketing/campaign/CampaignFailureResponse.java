@@ -0,0 +1,17 @@
+package com.ecommerce.marketing.campaign;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CampaignFailureResponse {
+    private Integer subscriberId;
+    private String email;
+    private String reason;
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,81 @@
+package com.ecommerce.marketing.campaign;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects delivery outcomes reported by the mail dispatcher and writes them to the campaign in periodic batches
+ * instead of one update per email.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignProgressTracker {
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignFailureRepository campaignFailureRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Progress> progress = new ConcurrentHashMap<>();
+    private final Queue<CampaignFailure> failures = new ConcurrentLinkedQueue<>();
+
+    public void delivered(Long campaignId) {
+        progress.computeIfAbsent(campaignId, id -> new Progress()).sent.increment();
+        meterRegistry.counter("campaign.recipients", "result", "sent").increment();
+    }
+
+    public void failed(Long campaignId, CampaignRecipient recipient, String reason) {
+        progress.computeIfAbsent(campaignId, id -> new Progress()).failed.increment();
+        failures.add(CampaignFailure.builder()
+                .campaignId(campaignId)
+                .subscriberId(recipient.getSubscriberId())
+                .email(recipient.getEmail())
+                .reason(reason != null && reason.length() > 1000 ? reason.substring(0, 1000) : reason)
+                .failedAt(LocalDateTime.now())
+                .build());
+        meterRegistry.counter("campaign.recipients", "result", "failed").increment();
+    }
+
+    @Scheduled(fixedDelayString = "${campaign.progress-flush-interval-ms:5000}")
+    public void flush() {
+        List<CampaignFailure> failureBatch = new ArrayList<>();
+        for (CampaignFailure failure = failures.poll(); failure != null; failure = failures.poll()) {
+            failureBatch.add(failure);
+        }
+        if (!failureBatch.isEmpty()) {
+            campaignFailureRepository.saveAll(failureBatch);
+        }
+
+        for (Map.Entry<Long, Progress> entry : progress.entrySet()) {
+            long sent = entry.getValue().sent.sumThenReset();
+            long failed = entry.getValue().failed.sumThenReset();
+            if (sent > 0 || failed > 0) {
+                campaignRepository.addDeliveryResults(entry.getKey(), sent, failed);
+            }
+        }
+
+        // also covers campaigns whose last emails went out before the publisher marked them published
+        int completed = campaignRepository.completeDelivered(
+                Campaign.Status.PUBLISHED, Campaign.Status.COMPLETED, LocalDateTime.now());
+        if (completed > 0) {
+            log.info("{} newsletter campaign(s) completed", completed);
+        }
+    }
+
+    private static class Progress {
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecommerce.marketing.campaign;
+
+import com.ecommerce.marketing.exceptions.APIException;
+import com.ecommerce.marketing.newsletter.NewsletterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Streams the subscribers of a campaign in keyset pages and publishes them as batches with publisher confirms.
+ * The cursor is only moved past a page once every batch of it was confirmed, so a restart re-publishes at most one page.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignPublisher {
+
+    @Value("${campaign.exchange:newsletter.campaign}")
+    private String exchange;
+
+    @Value("${campaign.queue:newsletter.campaign.batches}")
+    private String routingKey;
+
+    @Value("${campaign.page-size:2000}")
+    private int pageSize;
+
+    @Value("${campaign.batch-size:100}")
+    private int batchSize;
+
+    @Value("${campaign.confirm-timeout:10s}")
+    private Duration confirmTimeout;
+
+    @Value("${campaign.publish-attempts:3}")
+    private int publishAttempts;
+
+    private final NewsletterRepository newsletterRepository;
+    private final CampaignRepository campaignRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    public void publish(Campaign campaign) {
+        try {
+            int afterId = campaign.getLastSubscriberId();
+            List<CampaignRecipient> page;
+            do {
+                if (campaignRepository.findStatusById(campaign.getId()).orElse(null) != Campaign.Status.RUNNING) {
+                    log.info("Stopped publishing campaign {}, it is no longer running", campaign.getId());
+                    return;
+                }
+
+                page = newsletterRepository.findCampaignRecipients(
+                        afterId, campaign.getMaxSubscriberId(), PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                publishPage(campaign.getId(), page);
+
+                afterId = page.get(page.size() - 1).getSubscriberId();
+                campaignRepository.advanceCursor(campaign.getId(), afterId, page.size());
+            } while (page.size() >= pageSize);
+
+            campaignRepository.markPublished(
+                    campaign.getId(), Campaign.Status.RUNNING, Campaign.Status.PUBLISHED, LocalDateTime.now());
+            log.info("Published campaign {} up to subscriber {}", campaign.getId(), afterId);
+        } catch (Exception ex) {
+            log.error("Publishing campaign {} failed", campaign.getId(), ex);
+            campaignRepository.transition(campaign.getId(), List.of(Campaign.Status.RUNNING),
+                    Campaign.Status.FAILED, truncate(ex.getMessage()));
+        }
+    }
+
+    private void publishPage(Long campaignId, List<CampaignRecipient> page) {
+        List<CampaignBatchMessage> pending = new ArrayList<>();
+        for (int from = 0; from < page.size(); from += batchSize) {
+            List<CampaignRecipient> recipients = page.subList(from, Math.min(from + batchSize, page.size()));
+            pending.add(CampaignBatchMessage.builder()
+                    .campaignId(campaignId)
+                    .firstSubscriberId(recipients.get(0).getSubscriberId())
+                    .recipients(new ArrayList<>(recipients))
+                    .build());
+        }
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            // send the whole page before waiting, so confirms are collected in one round trip instead of per batch
+            Map<CorrelationData, CampaignBatchMessage> inFlight = new LinkedHashMap<>();
+            for (CampaignBatchMessage batch : pending) {
+                CorrelationData correlation = new CorrelationData(campaignId + "-" + batch.getFirstSubscriberId());
+                rabbitTemplate.convertAndSend(exchange, routingKey, batch, correlation);
+                inFlight.put(correlation, batch);
+            }
+
+            pending = inFlight.entrySet().stream()
+                    .filter(entry -> !isConfirmed(entry.getKey()))
+                    .map(Map.Entry::getValue)
+                    .toList();
+
+            if (!pending.isEmpty()) {
+                if (attempt >= publishAttempts) {
+                    throw new APIException("Broker did not confirm " + pending.size() + " batches of campaign " + campaignId);
+                }
+                log.warn("Re-publishing {} unconfirmed batches of campaign {} (attempt {})", pending.size(), campaignId, attempt + 1);
+            }
+        }
+    }
+
+    private boolean isConfirmed(CorrelationData correlation) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture().get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Broker nacked campaign batch {}: {}", correlation.getId(), confirm.getReason());
+                return false;
+            }
+            return correlation.getReturned() == null;
+        } catch (ExecutionException | TimeoutException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Interrupted while waiting for publisher confirms");
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.marketing.campaign;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CampaignRecipient {
+    private Integer subscriberId;
+    private String email;
+}
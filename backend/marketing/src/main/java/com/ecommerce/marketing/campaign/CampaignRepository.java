@@ -0,0 +1,81 @@
+package com.ecommerce.marketing.campaign;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CampaignRepository extends JpaRepository<Campaign, Long> {
+
+    Page<Campaign> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    List<Campaign> findAllByStatus(Campaign.Status status);
+
+    @Query("select c.status from Campaign c where c.id = :id")
+    Optional<Campaign.Status> findStatusById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Campaign c
+            set c.lastSubscriberId = :lastSubscriberId, c.publishedRecipients = c.publishedRecipients + :published
+            where c.id = :id and c.lastSubscriberId < :lastSubscriberId
+            """)
+    int advanceCursor(@Param("id") Long id,
+                      @Param("lastSubscriberId") Integer lastSubscriberId,
+                      @Param("published") long published);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Campaign c
+            set c.sentCount = c.sentCount + :sent, c.failedCount = c.failedCount + :failed
+            where c.id = :id
+            """)
+    int addDeliveryResults(@Param("id") Long id, @Param("sent") long sent, @Param("failed") long failed);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Campaign c
+            set c.status = :to, c.failureReason = :failureReason
+            where c.id = :id and c.status in :from
+            """)
+    int transition(@Param("id") Long id,
+                   @Param("from") Collection<Campaign.Status> from,
+                   @Param("to") Campaign.Status to,
+                   @Param("failureReason") String failureReason);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Campaign c
+            set c.status = :published, c.publishedAt = :at
+            where c.id = :id and c.status = :running
+            """)
+    int markPublished(@Param("id") Long id,
+                      @Param("running") Campaign.Status running,
+                      @Param("published") Campaign.Status published,
+                      @Param("at") LocalDateTime at);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Campaign c
+            set c.status = :completed, c.finishedAt = :at
+            where c.status = :published and c.sentCount + c.failedCount >= c.publishedRecipients
+            """)
+    int completeDelivered(@Param("published") Campaign.Status published,
+                          @Param("completed") Campaign.Status completed,
+                          @Param("at") LocalDateTime at);
+}
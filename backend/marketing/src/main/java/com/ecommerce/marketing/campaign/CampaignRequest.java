@@ -0,0 +1,15 @@
+package com.ecommerce.marketing.campaign;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CampaignRequest {
+    private String name;
+    private String subject;
+    private String headline;
+    private String content;
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.marketing.campaign;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CampaignResponse {
+    private Long id;
+    private String name;
+    private String subject;
+    private Campaign.Status status;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+    private LocalDateTime finishedAt;
+    private Integer lastSubscriberId;
+    private long totalRecipients;
+    private long publishedRecipients;
+    private long sentCount;
+    private long failedCount;
+    private long pendingCount;
+    private String failureReason;
+}
@@ -0,0 +1,173 @@
+package com.ecommerce.marketing.campaign;
+
+import com.ecommerce.marketing.email.EmailTemplateRenderer;
+import com.ecommerce.marketing.exceptions.APIException;
+import com.ecommerce.marketing.exceptions.NotFoundException;
+import com.ecommerce.marketing.newsletter.NewsletterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignService {
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignFailureRepository campaignFailureRepository;
+    private final NewsletterRepository newsletterRepository;
+    private final CampaignPublisher campaignPublisher;
+    private final EmailTemplateRenderer emailTemplateRenderer;
+    private final TaskExecutor campaignPublisherExecutor;
+
+    private final Set<Long> publishing = ConcurrentHashMap.newKeySet();
+
+    public CampaignResponse createCampaign(CampaignRequest request, String createdBy) {
+        if (isBlank(request.getName()) || isBlank(request.getSubject())
+                || isBlank(request.getHeadline()) || isBlank(request.getContent())) {
+            throw new APIException("Campaign name, subject, headline and content are required");
+        }
+        try {
+            emailTemplateRenderer.prepareCampaign(request.getHeadline(), request.getContent());
+        } catch (IllegalStateException ex) {
+            throw new APIException("Campaign content can not be rendered: " + ex.getMessage());
+        }
+
+        Integer maxSubscriberId = newsletterRepository.findMaxId();
+        if (maxSubscriberId == null) {
+            throw new APIException("There are no newsletter subscribers");
+        }
+
+        Campaign campaign = campaignRepository.save(Campaign.builder()
+                .name(request.getName())
+                .subject(request.getSubject())
+                .headline(request.getHeadline())
+                .content(request.getContent())
+                .status(Campaign.Status.RUNNING)
+                .createdBy(createdBy)
+                .createdAt(LocalDateTime.now())
+                .maxSubscriberId(maxSubscriberId)
+                .lastSubscriberId(0)
+                .totalRecipients(newsletterRepository.countByIdLessThanEqual(maxSubscriberId))
+                .build());
+
+        startPublishing(campaign);
+        return mapToResponse(campaign);
+    }
+
+    public CampaignResponse resumeCampaign(Long id) {
+        Campaign campaign = findCampaign(id);
+        if (campaignRepository.transition(id, List.of(Campaign.Status.FAILED), Campaign.Status.RUNNING, null) == 0) {
+            throw new APIException("Only failed campaigns can be resumed");
+        }
+        campaign.setStatus(Campaign.Status.RUNNING);
+        campaign.setFailureReason(null);
+
+        startPublishing(campaign);
+        return mapToResponse(campaign);
+    }
+
+    public CampaignResponse cancelCampaign(Long id) {
+        findCampaign(id);
+        int cancelled = campaignRepository.transition(id,
+                List.of(Campaign.Status.RUNNING, Campaign.Status.PUBLISHED, Campaign.Status.FAILED),
+                Campaign.Status.CANCELLED, null);
+        if (cancelled == 0) {
+            throw new APIException("Campaign is already finished");
+        }
+        return mapToResponse(findCampaign(id));
+    }
+
+    public CampaignResponse getCampaign(Long id) {
+        return mapToResponse(findCampaign(id));
+    }
+
+    public Page<CampaignResponse> getCampaigns(int page, int size) {
+        return campaignRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(page, size))
+                .map(this::mapToResponse);
+    }
+
+    public Page<CampaignFailureResponse> getCampaignFailures(Long id, int page, int size) {
+        findCampaign(id);
+        return campaignFailureRepository.findAllByCampaignIdOrderByIdAsc(id, PageRequest.of(page, size))
+                .map(failure -> CampaignFailureResponse.builder()
+                        .subscriberId(failure.getSubscriberId())
+                        .email(failure.getEmail())
+                        .reason(failure.getReason())
+                        .failedAt(failure.getFailedAt())
+                        .build());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedCampaigns() {
+        for (Campaign campaign : campaignRepository.findAllByStatus(Campaign.Status.RUNNING)) {
+            log.info("Resuming campaign {} after subscriber {}", campaign.getId(), campaign.getLastSubscriberId());
+            try {
+                startPublishing(campaign);
+            } catch (APIException ex) {
+                log.warn("Could not resume campaign {}: {}", campaign.getId(), ex.getMessage());
+            }
+        }
+    }
+
+    private void startPublishing(Campaign campaign) {
+        if (!publishing.add(campaign.getId())) {
+            return;
+        }
+        try {
+            campaignPublisherExecutor.execute(() -> {
+                try {
+                    campaignPublisher.publish(campaign);
+                } finally {
+                    publishing.remove(campaign.getId());
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            publishing.remove(campaign.getId());
+            campaignRepository.transition(campaign.getId(), List.of(Campaign.Status.RUNNING),
+                    Campaign.Status.FAILED, "Too many campaigns are being published");
+            throw new APIException("Too many campaigns are being published, resume the campaign later");
+        }
+    }
+
+    private Campaign findCampaign(Long id) {
+        return campaignRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Campaign", Optional.of(id.toString())));
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private CampaignResponse mapToResponse(Campaign campaign) {
+        return CampaignResponse.builder()
+                .id(campaign.getId())
+                .name(campaign.getName())
+                .subject(campaign.getSubject())
+                .status(campaign.getStatus())
+                .createdBy(campaign.getCreatedBy())
+                .createdAt(campaign.getCreatedAt())
+                .publishedAt(campaign.getPublishedAt())
+                .finishedAt(campaign.getFinishedAt())
+                .lastSubscriberId(campaign.getLastSubscriberId())
+                .totalRecipients(campaign.getTotalRecipients())
+                .publishedRecipients(campaign.getPublishedRecipients())
+                .sentCount(campaign.getSentCount())
+                .failedCount(campaign.getFailedCount())
+                .pendingCount(Math.max(0, campaign.getPublishedRecipients() - campaign.getSentCount() - campaign.getFailedCount()))
+                .failureReason(campaign.getFailureReason())
+                .build();
+    }
+}
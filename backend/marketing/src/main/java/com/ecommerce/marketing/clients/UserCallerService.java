@@ -1,8 +1,10 @@
 package com.ecommerce.marketing.clients;
 
+import com.ecommerce.marketing.clients.dto.DiscountCodeBatchRequest;
 import com.ecommerce.marketing.clients.dto.DiscountCodeRequest;
 import com.ecommerce.marketing.clients.dto.DiscountCodeResponse;
 import com.ecommerce.marketing.exceptions.ServiceNotFoundException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
@@ -10,6 +12,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class UserCallerService {
@@ -19,6 +23,7 @@ public class UserCallerService {
     @Retry(name = "retryBreaker", fallbackMethod = "userServiceFallback")
     @CircuitBreaker(name = "userService", fallbackMethod = "userServiceFallback")
     @RateLimiter(name = "userService", fallbackMethod = "userServiceFallback")
+    @Bulkhead(name = "userService", fallbackMethod = "userServiceFallback")
     public DiscountCodeResponse createDiscountCode(DiscountCodeRequest discountCodeRequest) {
         return userClient.createDiscountCode(discountCodeRequest);
     }
@@ -28,4 +33,16 @@ public class UserCallerService {
         throw new ServiceNotFoundException("user", "createDiscountCode", ex.getMessage());
     }
 
+    @Retry(name = "retryBreaker", fallbackMethod = "createDiscountCodesFallback")
+    @CircuitBreaker(name = "userService", fallbackMethod = "createDiscountCodesFallback")
+    @Bulkhead(name = "userService", fallbackMethod = "createDiscountCodesFallback")
+    public List<DiscountCodeResponse> createDiscountCodes(DiscountCodeBatchRequest discountCodeBatchRequest, String accessToken) {
+        return userClient.createDiscountCodes(discountCodeBatchRequest, "Bearer " + accessToken);
+    }
+
+    public List<DiscountCodeResponse> createDiscountCodesFallback(DiscountCodeBatchRequest discountCodeBatchRequest, String accessToken, Throwable ex){
+
+        throw new ServiceNotFoundException("user", "createDiscountCodes", ex.getMessage());
+    }
+
 }
@@ -0,0 +1,74 @@
+package com.ecommerce.marketing.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Lets internal callers request {@code application/x-jackson-smile} instead of JSON. Controllers only negotiate Smile
+ * for requests carrying {@link #INTERNAL_CALL_HEADER}, which Feign clients set and the gateway strips, so public
+ * endpoints keep answering JSON whatever the client asks for.
+ */
+@Configuration
+public class SmileCodecConfig implements WebMvcConfigurer {
+
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+    public static final String INTERNAL_CALL_HEADER = "X-Internal-Call";
+
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    public SmileCodecConfig(ObjectMapper objectMapper) {
+        this.smileConverter = new InternalSmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+
+    static MappingJackson2SmileHttpMessageConverter smileConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(smileConverter);
+    }
+
+    static boolean isInternalCall() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getRequest().getHeader(INTERNAL_CALL_HEADER) != null;
+    }
+
+    private static final class InternalSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+        InternalSmileHttpMessageConverter(ObjectMapper smileMapper) {
+            super(smileMapper);
+        }
+
+        @Override
+        public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+            return isInternalCall() && super.canRead(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+            return isInternalCall() && super.canRead(type, contextClass, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+            return isInternalCall() && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+            return isInternalCall() && super.canWrite(type, clazz, mediaType);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.ecommerce.marketing.config;
 
 import com.ecommerce.marketing.email.EmailService;
-import com.ecommerce.marketing.email.EmailTemplateName;
 import com.ecommerce.marketing.newsletter.NewsletterEmailPayload;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -22,7 +21,6 @@ public class NewsletterConsumer {
             try {
                 emailService.sendEmail(
                         payload.getEmail(),
-                        EmailTemplateName.NEWSLETTER,
                         payload.getDiscountCode(),
                         "Welcome to SportShop Newsletter - Your Discount Code"
                 );
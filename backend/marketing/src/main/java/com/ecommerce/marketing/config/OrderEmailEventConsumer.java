@@ -2,7 +2,6 @@ package com.ecommerce.marketing.config;
 
 import com.ecommerce.marketing.config.dto.OrderConfirmationEmailPayload;
 import com.ecommerce.marketing.email.EmailService;
-import com.ecommerce.marketing.email.EmailTemplateName;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Service;
@@ -20,7 +19,6 @@ public class OrderEmailEventConsumer {
         return payload -> {
             try{
                 emailService.sendOrderConfirmationEmail(
-                        EmailTemplateName.ORDER_EMAIL,
                         payload.getEmail(),
                         payload.getOrderLines(),
                         payload.getOrderId(),
@@ -0,0 +1,117 @@
+package com.ecommerce.marketing.discountPool;
+
+import com.ecommerce.marketing.clients.UserCallerService;
+import com.ecommerce.marketing.clients.dto.DiscountCodeBatchRequest;
+import com.ecommerce.marketing.clients.dto.DiscountCodeResponse;
+import com.ecommerce.marketing.keycloak.KeyCloakTokenProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DiscountCodePoolService {
+
+    @Value("${newsletter.discount-pool.low-watermark:200}")
+    private int lowWatermark;
+
+    @Value("${newsletter.discount-pool.refill-size:500}")
+    private int refillSize;
+
+    @Value("${newsletter.discount-pool.discount:10}")
+    private int discount;
+
+    @Value("${newsletter.discount-pool.code-validity:60d}")
+    private Duration codeValidity;
+
+    // a claimed code must still be usable for the 30 days promised in the welcome email
+    @Value("${newsletter.discount-pool.min-remaining-validity:30d}")
+    private Duration minRemainingValidity;
+
+    private final PooledDiscountCodeRepository pooledDiscountCodeRepository;
+    private final UserCallerService userCallerService;
+    private final KeyCloakTokenProvider keyCloakTokenProvider;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean replenishing = new AtomicBoolean(false);
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("newsletter.discount.pool.available", this, DiscountCodePoolService::countAvailable)
+                .description("Unclaimed newsletter discount codes that are still valid long enough to hand out")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes the next usable code inside the caller's transaction; the row stays locked until it commits.
+     */
+    @Transactional
+    public Optional<PooledDiscountCode> claim() {
+        Optional<PooledDiscountCode> pooledCode = pooledDiscountCodeRepository.lockNextAvailable(
+                LocalDateTime.now().plus(minRemainingValidity));
+        pooledCode.ifPresent(code -> {
+            code.setClaimedAt(LocalDateTime.now());
+            pooledDiscountCodeRepository.save(code);
+        });
+        meterRegistry.counter("newsletter.discount.pool.claims", "result", pooledCode.isPresent() ? "pooled" : "empty").increment();
+        return pooledCode;
+    }
+
+    @Scheduled(fixedDelayString = "${newsletter.discount-pool.check-interval-ms:30000}")
+    public void replenish() {
+        if (!replenishing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long available = countAvailable();
+            if (available >= lowWatermark) {
+                return;
+            }
+
+            LocalDateTime expiryDate = LocalDateTime.now().plus(codeValidity);
+            List<DiscountCodeResponse> generated = userCallerService.createDiscountCodes(
+                    DiscountCodeBatchRequest.builder()
+                            .name("Newsletter discount pool")
+                            .count(refillSize)
+                            .discount(discount)
+                            .expiryDate(expiryDate)
+                            .singleUse(true)
+                            .build(),
+                    keyCloakTokenProvider.getClientAccessToken());
+
+            LocalDateTime now = LocalDateTime.now();
+            pooledDiscountCodeRepository.saveAll(generated.stream()
+                    .map(code -> PooledDiscountCode.builder()
+                            .discountCodeId(code.getId())
+                            .code(code.getCode())
+                            .discount(code.getDiscount())
+                            .expiryDate(code.getExpiryDate())
+                            .createdAt(now)
+                            .build())
+                    .toList());
+            log.info("Replenished newsletter discount pool with {} codes ({} were available)", generated.size(), available);
+        } catch (Exception ex) {
+            log.warn("Could not replenish newsletter discount pool: {}", ex.getMessage());
+        } finally {
+            replenishing.set(false);
+        }
+    }
+
+    private long countAvailable() {
+        return pooledDiscountCodeRepository.countByClaimedAtIsNullAndExpiryDateGreaterThanEqual(
+                LocalDateTime.now().plus(minRemainingValidity));
+    }
+}
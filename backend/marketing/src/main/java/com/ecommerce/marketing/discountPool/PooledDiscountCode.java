@@ -0,0 +1,43 @@
+package com.ecommerce.marketing.discountPool;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single-use discount code generated in bulk by the user service and kept here until a subscriber claims it.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "discount_code_pool",
+        uniqueConstraints = @UniqueConstraint(name = "uk_discount_code_pool_discount_code_id", columnNames = "discount_code_id"),
+        indexes = @Index(name = "idx_discount_code_pool_available", columnList = "claimed_at, expiry_date"))
+public class PooledDiscountCode {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "discount_code_id", nullable = false, updatable = false)
+    private String discountCodeId;
+
+    @Column(name = "code", nullable = false, updatable = false)
+    private String code;
+
+    @Column(name = "discount", nullable = false, updatable = false)
+    private Integer discount;
+
+    @Column(name = "expiry_date", nullable = false, updatable = false)
+    private LocalDateTime expiryDate;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.marketing.discountPool;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PooledDiscountCodeRepository extends JpaRepository<PooledDiscountCode, Long> {
+
+    // SKIP LOCKED lets concurrent signups each take a different row instead of queueing on the same one
+    @Query(value = """
+            SELECT * FROM discount_code_pool
+            WHERE claimed_at IS NULL AND expiry_date >= :validUntil
+            ORDER BY id
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<PooledDiscountCode> lockNextAvailable(@Param("validUntil") LocalDateTime validUntil);
+
+    long countByClaimedAtIsNullAndExpiryDateGreaterThanEqual(LocalDateTime validUntil);
+}
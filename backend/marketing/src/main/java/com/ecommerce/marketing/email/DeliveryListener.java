@@ -0,0 +1,8 @@
+package com.ecommerce.marketing.email;
+
+public interface DeliveryListener {
+
+    void delivered(OutgoingEmail email);
+
+    void failed(OutgoingEmail email, String reason);
+}
@@ -6,7 +6,8 @@ import lombok.Getter;
 public enum EmailTemplateName {
 
     NEWSLETTER("newsletter"),
-    ORDER_EMAIL("order-email");
+    ORDER_EMAIL("order-email"),
+    NEWSLETTER_CAMPAIGN("newsletter-campaign");
 
     private final String name;
 
@@ -0,0 +1,135 @@
+package com.ecommerce.marketing.email;
+
+import com.ecommerce.marketing.config.dto.OrderLineResponse;
+import com.ecommerce.marketing.metrics.StageTimer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailTemplateRenderer {
+
+    private static final String SLOT_MARKER = "%%";
+    private static final String ORDER_LINES_FRAGMENT = "fragments/order-lines";
+    private static final DateTimeFormatter ORDER_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String NEWSLETTER = "email.newsletter";
+    private static final String ORDER_CONFIRMATION = "email.order-confirmation";
+
+    private final SpringTemplateEngine templateEngine;
+    private final StageTimer stageTimer;
+
+    private final Map<EmailTemplateName, Layout> layouts = new EnumMap<>(EmailTemplateName.class);
+
+    @PostConstruct
+    void precompile() {
+        layouts.put(EmailTemplateName.NEWSLETTER, compile(EmailTemplateName.NEWSLETTER,
+                List.of("userName", "discount_code"), Map.of()));
+        layouts.put(EmailTemplateName.ORDER_EMAIL, compile(EmailTemplateName.ORDER_EMAIL,
+                List.of("userName", "orderId", "orderDate", "totalPrice", "orderLines", "shippingMethod", "shippingCost"), Map.of()));
+
+        // parse the per-message fragment once so its template model is cached too
+        renderOrderLines(List.of());
+    }
+
+    public String renderNewsletter(String userName, String discountCode) {
+        Map<String, String> values = new HashMap<>();
+        values.put("userName", HtmlUtils.htmlEscape(userName));
+        values.put("discount_code", HtmlUtils.htmlEscape(String.valueOf(discountCode)));
+        return stageTimer.record(NEWSLETTER, "layout", () -> layouts.get(EmailTemplateName.NEWSLETTER).render(values));
+    }
+
+    public String renderOrderConfirmation(String userName,
+                                          Integer orderId,
+                                          LocalDateTime orderDate,
+                                          Double totalPrice,
+                                          List<OrderLineResponse> orderLines,
+                                          String shippingMethod,
+                                          Double shippingCost) {
+        Map<String, String> values = new HashMap<>();
+        values.put("userName", HtmlUtils.htmlEscape(userName));
+        values.put("orderId", String.valueOf(orderId));
+        values.put("orderDate", orderDate != null ? orderDate.format(ORDER_DATE_FORMAT) : "");
+        values.put("totalPrice", totalPrice != null ? formatPrice(totalPrice) : "");
+        values.put("orderLines", stageTimer.record(ORDER_CONFIRMATION, "order-lines", () -> renderOrderLines(orderLines)));
+        values.put("shippingMethod", HtmlUtils.htmlEscape(String.valueOf(shippingMethod)));
+        values.put("shippingCost", String.valueOf(shippingCost));
+        return stageTimer.record(ORDER_CONFIRMATION, "layout", () -> layouts.get(EmailTemplateName.ORDER_EMAIL).render(values));
+    }
+
+    /**
+     * Renders a campaign once with its fixed headline and content; only the recipient name is filled in per message.
+     */
+    public Function<String, String> prepareCampaign(String headline, String content) {
+        Map<String, Object> fixedValues = new HashMap<>();
+        fixedValues.put("headline", headline);
+        fixedValues.put("content", content);
+        Layout layout = compile(EmailTemplateName.NEWSLETTER_CAMPAIGN, List.of("userName"), fixedValues);
+        return userName -> layout.render(Map.of("userName", HtmlUtils.htmlEscape(userName)));
+    }
+
+    private String renderOrderLines(List<OrderLineResponse> orderLines) {
+        Context context = new Context();
+        context.setVariable("orderItems", orderLines);
+        return templateEngine.process(ORDER_LINES_FRAGMENT, context);
+    }
+
+    private Layout compile(EmailTemplateName templateName, List<String> slots, Map<String, Object> fixedValues) {
+        Context context = new Context();
+        context.setVariables(fixedValues);
+        slots.forEach(slot -> context.setVariable(slot, SLOT_MARKER + slot + SLOT_MARKER));
+        String html = templateEngine.process(templateName.getName(), context);
+
+        List<String> literals = new ArrayList<>();
+        List<String> slotOrder = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = html.indexOf(SLOT_MARKER, position);
+            if (start < 0) {
+                break;
+            }
+            int end = html.indexOf(SLOT_MARKER, start + SLOT_MARKER.length());
+            String slot = end < 0 ? null : html.substring(start + SLOT_MARKER.length(), end);
+            if (slot == null || !slots.contains(slot)) {
+                throw new IllegalStateException("Unexpected slot marker in template " + templateName.getName());
+            }
+            literals.add(html.substring(position, start));
+            slotOrder.add(slot);
+            position = end + SLOT_MARKER.length();
+        }
+        literals.add(html.substring(position));
+
+        log.info("Pre-rendered email layout '{}' with {} dynamic slots", templateName.getName(), slotOrder.size());
+        return new Layout(literals, slotOrder, html.length());
+    }
+
+    private static String formatPrice(Double price) {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.ROOT);
+        symbols.setGroupingSeparator('.');
+        symbols.setDecimalSeparator(',');
+        return new DecimalFormat("#,##0.00", symbols).format(price);
+    }
+
+    private record Layout(List<String> literals, List<String> slots, int staticLength) {
+
+        String render(Map<String, String> values) {
+            StringBuilder html = new StringBuilder(staticLength + 512);
+            for (int i = 0; i < slots.size(); i++) {
+                html.append(literals.get(i)).append(values.getOrDefault(slots.get(i), ""));
+            }
+            return html.append(literals.get(literals.size() - 1)).toString();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.marketing.email;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class MailDispatchConfig {
+
+    @Value("${mail.dispatch.connections:3}")
+    private int connections;
+
+    @Bean
+    public ThreadPoolTaskExecutor mailDispatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(connections);
+        executor.setMaxPoolSize(connections);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("mail-dispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler mailRetryScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("mail-retry-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -0,0 +1,227 @@
+package com.ecommerce.marketing.email;
+
+import com.ecommerce.marketing.exceptions.APIException;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.mail.javamail.MimeMessageHelper.MULTIPART_MODE_MIXED;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MailDispatcher {
+
+    @Value("${mail.sender}")
+    private String senderEmail;
+
+    @Value("${mail.dispatch.connections:3}")
+    private int connections;
+
+    @Value("${mail.dispatch.queue-capacity:2000}")
+    private int queueCapacity;
+
+    @Value("${mail.dispatch.batch-size:25}")
+    private int batchSize;
+
+    @Value("${mail.dispatch.rate-per-second:10}")
+    private int ratePerSecond;
+
+    @Value("${mail.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${mail.dispatch.retry-backoff:2s}")
+    private Duration retryBackoff;
+
+    @Value("${mail.dispatch.enqueue-timeout:5s}")
+    private Duration enqueueTimeout;
+
+    private final JavaMailSender mailSender;
+    private final TaskExecutor mailDispatchExecutor;
+    private final TaskScheduler mailRetryScheduler;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<OutgoingEmail> queue;
+    private RateLimiter rateLimiter;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        rateLimiter = RateLimiter.of("mailProvider", RateLimiterConfig.custom()
+                .limitForPeriod(ratePerSecond)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMinutes(1))
+                .build());
+
+        Gauge.builder("mail.dispatch.queue.size", queue, Collection::size)
+                .description("Emails waiting for an SMTP worker")
+                .register(meterRegistry);
+
+        running = true;
+        for (int i = 0; i < connections; i++) {
+            mailDispatchExecutor.execute(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+    }
+
+    public boolean offer(OutgoingEmail email) {
+        return offer(email, enqueueTimeout);
+    }
+
+    public boolean offer(OutgoingEmail email, Duration timeout) {
+        try {
+            return queue.offer(email, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void enqueue(OutgoingEmail email, Duration timeout) {
+        if (!offer(email, timeout)) {
+            meterRegistry.counter("mail.dispatch.messages", "result", "rejected").increment();
+            throw new APIException("Mail dispatch queue is full, email to " + email.getTo() + " was not queued");
+        }
+    }
+
+    private void runWorker() {
+        List<OutgoingEmail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OutgoingEmail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                log.error("Mail dispatch worker failed to send a batch", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void sendBatch(List<OutgoingEmail> batch) {
+        if (!rateLimiter.acquirePermission(batch.size())) {
+            batch.forEach(email -> scheduleRetry(email, "provider rate limit"));
+            return;
+        }
+
+        Map<MimeMessage, OutgoingEmail> messages = new LinkedHashMap<>();
+        for (OutgoingEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException ex) {
+                log.error("Dropping email to {}: {}", email.getTo(), ex.getMessage());
+                failed(email, ex.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        // JavaMailSender sends every message of the array over a single SMTP connection
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            messages.values().forEach(this::delivered);
+        } catch (MailSendException ex) {
+            Map<Object, Exception> failedMessages = ex.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                messages.values().forEach(email -> scheduleRetry(email, ex.getMessage()));
+                return;
+            }
+            messages.forEach((message, email) -> {
+                Exception failure = failedMessages.get(message);
+                if (failure == null) {
+                    delivered(email);
+                } else if (failure instanceof SendFailedException) {
+                    log.error("Recipient {} rejected by SMTP server: {}", email.getTo(), failure.getMessage());
+                    failed(email, failure.getMessage());
+                } else {
+                    scheduleRetry(email, failure.getMessage());
+                }
+            });
+        } catch (MailException ex) {
+            messages.values().forEach(email -> scheduleRetry(email, ex.getMessage()));
+        }
+    }
+
+    private void scheduleRetry(OutgoingEmail email, String reason) {
+        email.setAttempts(email.getAttempts() + 1);
+        if (email.getAttempts() >= maxAttempts) {
+            log.error("Giving up on email to {} after {} attempts: {}", email.getTo(), email.getAttempts(), reason);
+            failed(email, reason);
+            return;
+        }
+
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(email.getAttempts() - 1, 10));
+        log.warn("Retrying email to {} in {}s: {}", email.getTo(), delay.toSeconds(), reason);
+        meterRegistry.counter("mail.dispatch.messages", "result", "retried").increment();
+        mailRetryScheduler.schedule(() -> requeue(email), Instant.now().plus(delay));
+    }
+
+    private void delivered(OutgoingEmail email) {
+        meterRegistry.counter("mail.dispatch.messages", "result", "sent").increment();
+        if (email.getListener() != null) {
+            email.getListener().delivered(email);
+        }
+    }
+
+    private void failed(OutgoingEmail email, String reason) {
+        meterRegistry.counter("mail.dispatch.messages", "result", "failed").increment();
+        if (email.getListener() != null) {
+            email.getListener().failed(email, reason);
+        }
+    }
+
+    private void requeue(OutgoingEmail email) {
+        if (!queue.offer(email)) {
+            mailRetryScheduler.schedule(() -> requeue(email), Instant.now().plus(retryBackoff));
+        }
+    }
+
+    private MimeMessage toMimeMessage(OutgoingEmail email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, MULTIPART_MODE_MIXED, UTF_8.name());
+
+        helper.setFrom(senderEmail);
+        helper.setTo(email.getTo());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getHtmlBody(), true);
+        return mimeMessage;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.marketing.email;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutgoingEmail {
+    private String to;
+    private String subject;
+    private String htmlBody;
+    private int attempts;
+    private DeliveryListener listener;
+}
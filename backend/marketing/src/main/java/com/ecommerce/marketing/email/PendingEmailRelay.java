@@ -0,0 +1,61 @@
+package com.ecommerce.marketing.email;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves emails parked in the pending_email table back to the dispatcher once its queue has room again.
+ * A row is deleted before it is queued, so only one instance relays it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PendingEmailRelay {
+
+    @Value("${mail.outbox.batch-size:100}")
+    private int batchSize;
+
+    private final PendingEmailRepository pendingEmailRepository;
+    private final MailDispatcher mailDispatcher;
+
+    public void store(OutgoingEmail email) {
+        pendingEmailRepository.save(PendingEmail.builder()
+                .recipient(email.getTo())
+                .subject(email.getSubject())
+                .htmlBody(email.getHtmlBody())
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.warn("Mail dispatch queue is full, parked email to {} in the outbox", email.getTo());
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.relay-interval-ms:5000}")
+    public void relay() {
+        List<PendingEmail> pending = pendingEmailRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+
+        for (PendingEmail pendingEmail : pending) {
+            if (pendingEmailRepository.claim(pendingEmail.getId()) == 0) {
+                continue;
+            }
+
+            OutgoingEmail email = OutgoingEmail.builder()
+                    .to(pendingEmail.getRecipient())
+                    .subject(pendingEmail.getSubject())
+                    .htmlBody(pendingEmail.getHtmlBody())
+                    .build();
+
+            if (!mailDispatcher.offer(email, Duration.ZERO)) {
+                pendingEmail.setId(null);
+                pendingEmailRepository.save(pendingEmail);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.marketing.email;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface PendingEmailRepository extends JpaRepository<PendingEmail, Long> {
+
+    List<PendingEmail> findAllByOrderByIdAsc(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PendingEmail p where p.id = :id")
+    int claim(@Param("id") Long id);
+}
@@ -1,12 +1,15 @@
 package com.ecommerce.marketing.mainImages;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -14,12 +17,63 @@ import java.util.List;
 @RequestMapping("main-images")
 public class ImagesController {
 
+    static final String CONTENT_VERSION_HEADER = "X-Content-Version";
+
+    @Value("${main-images.cache.max-age:5m}")
+    private Duration maxAge;
+
+    @Value("${main-images.cache.stale-while-revalidate:1h}")
+    private Duration staleWhileRevalidate;
+
     private final ImagesService imagesService;
 
     @GetMapping("/with-order")
-    public ResponseEntity<List<ImagesResponse>> getAllImagesWithOrder(){
-        List<ImagesResponse> imagesResponses = imagesService.getAllImagesWithOrder();
-        return ResponseEntity.status(HttpStatus.OK).body(imagesResponses);
+    public ResponseEntity<List<ImagesResponse>> getAllImagesWithOrder(
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        ImagesSnapshot snapshot = imagesService.getImagesSnapshot();
+
+        CacheControl cacheControl = CacheControl.maxAge(maxAge)
+                .staleWhileRevalidate(staleWhileRevalidate)
+                .cachePublic();
+
+        if (matches(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(cacheControl)
+                    .header(CONTENT_VERSION_HEADER, String.valueOf(snapshot.version()))
+                    .build();
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(snapshot.etag())
+                .cacheControl(cacheControl)
+                .header(CONTENT_VERSION_HEADER, String.valueOf(snapshot.version()))
+                .body(snapshot.images());
     }
 
+    @PostMapping
+    public ResponseEntity<ImagesResponse> createImage(@RequestBody ImagesRequest imagesRequest){
+        return ResponseEntity.status(HttpStatus.CREATED).body(imagesService.createImage(imagesRequest));
+    }
+
+    @PutMapping("/{imageId}")
+    public ResponseEntity<ImagesResponse> updateImage(@PathVariable Integer imageId, @RequestBody ImagesRequest imagesRequest){
+        return ResponseEntity.status(HttpStatus.OK).body(imagesService.updateImage(imageId, imagesRequest));
+    }
+
+    @DeleteMapping("/{imageId}")
+    public ResponseEntity<String> deleteImage(@PathVariable Integer imageId){
+        imagesService.deleteImage(imageId);
+        return ResponseEntity.ok("Image has been successfully deleted!");
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
 }
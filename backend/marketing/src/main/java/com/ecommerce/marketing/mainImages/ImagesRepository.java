@@ -8,6 +8,6 @@ import java.util.List;
 @Repository
 public interface ImagesRepository extends JpaRepository<Images, Integer> {
 
-    List<Images> findByDisplayOrderIsNotNull();
+    List<Images> findByDisplayOrderIsNotNullOrderByDisplayOrderAscIdAsc();
 
 }
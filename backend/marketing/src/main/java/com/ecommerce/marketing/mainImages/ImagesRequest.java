@@ -0,0 +1,15 @@
+package com.ecommerce.marketing.mainImages;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImagesRequest {
+
+    private String url;
+    private String name;
+    private Integer displayOrder;
+}
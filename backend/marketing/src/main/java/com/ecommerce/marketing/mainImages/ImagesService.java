@@ -1,27 +1,127 @@
 package com.ecommerce.marketing.mainImages;
 
+import com.ecommerce.marketing.exceptions.NotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Serves the storefront carousel from an in-memory snapshot. The snapshot is rebuilt after local writes and when
+ * the shared version counter shows another instance changed the images. Every write to main_images must bump that
+ * counter in the same transaction: the methods below do it explicitly and {@link MainImagesVersionTrigger} covers
+ * writes that bypass this service.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ImagesService {
 
     private final ImagesRepository imagesRepository;
+    private final ImagesVersionRepository imagesVersionRepository;
+
+    private volatile ImagesSnapshot snapshot;
 
     public List<ImagesResponse> getAllImagesWithOrder() {
-        List<Images> images = imagesRepository.findByDisplayOrderIsNotNull();
-
-        return images.stream().
-                map(image -> ImagesResponse.builder()
-                        .id(image.getId())
-                        .url(image.getUrl())
-                        .name(image.getName())
-                        .displayOrder(image.getDisplayOrder())
-                        .build()
-        ).collect(Collectors.toList());
-    }
-}
\ No newline at end of file
+        return getImagesSnapshot().images();
+    }
+
+    public ImagesSnapshot getImagesSnapshot() {
+        ImagesSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = buildSnapshot();
+            }
+            return snapshot;
+        }
+    }
+
+    @Transactional
+    public ImagesResponse createImage(ImagesRequest imagesRequest) {
+        Images image = imagesRepository.save(Images.builder()
+                .url(imagesRequest.getUrl())
+                .name(imagesRequest.getName())
+                .displayOrder(imagesRequest.getDisplayOrder())
+                .build());
+        publishChange();
+        return mapToResponse(image);
+    }
+
+    @Transactional
+    public ImagesResponse updateImage(Integer imageId, ImagesRequest imagesRequest) {
+        Images image = imagesRepository.findById(imageId)
+                .orElseThrow(() -> new NotFoundException("Image", Optional.of(imageId.toString())));
+        image.setUrl(imagesRequest.getUrl());
+        image.setName(imagesRequest.getName());
+        image.setDisplayOrder(imagesRequest.getDisplayOrder());
+        imagesRepository.save(image);
+        publishChange();
+        return mapToResponse(image);
+    }
+
+    @Transactional
+    public void deleteImage(Integer imageId) {
+        Images image = imagesRepository.findById(imageId)
+                .orElseThrow(() -> new NotFoundException("Image", Optional.of(imageId.toString())));
+        imagesRepository.delete(image);
+        publishChange();
+    }
+
+    @Scheduled(fixedDelayString = "${main-images.version-check-interval-ms:30000}")
+    public void refreshIfChanged() {
+        ImagesSnapshot current = snapshot;
+        if (current != null && current.version() == currentVersion()) {
+            return;
+        }
+        synchronized (this) {
+            snapshot = buildSnapshot();
+        }
+    }
+
+    private void publishChange() {
+        imagesVersionRepository.increment(ImagesVersion.SINGLETON_ID);
+        synchronized (this) {
+            snapshot = buildSnapshot();
+        }
+    }
+
+    private ImagesSnapshot buildSnapshot() {
+        // read the version first, a write racing with the query then only causes one extra rebuild
+        long version = currentVersion();
+        List<ImagesResponse> images = imagesRepository.findByDisplayOrderIsNotNullOrderByDisplayOrderAscIdAsc().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toUnmodifiableList());
+
+        int contentHash = 1;
+        for (ImagesResponse image : images) {
+            contentHash = 31 * contentHash + Objects.hash(image.getId(), image.getUrl(), image.getName(), image.getDisplayOrder());
+        }
+        String etag = "\"" + version + "-" + Integer.toHexString(contentHash) + "\"";
+
+        log.debug("Rebuilt main images snapshot version {} with {} images", version, images.size());
+        return new ImagesSnapshot(version, etag, images);
+    }
+
+    private long currentVersion() {
+        Long version = imagesVersionRepository.findVersion(ImagesVersion.SINGLETON_ID);
+        return version != null ? version : 0L;
+    }
+
+    private ImagesResponse mapToResponse(Images image) {
+        return ImagesResponse.builder()
+                .id(image.getId())
+                .url(image.getUrl())
+                .name(image.getName())
+                .displayOrder(image.getDisplayOrder())
+                .build();
+    }
+}
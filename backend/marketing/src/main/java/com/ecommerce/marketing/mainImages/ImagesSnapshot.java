@@ -0,0 +1,6 @@
+package com.ecommerce.marketing.mainImages;
+
+import java.util.List;
+
+public record ImagesSnapshot(long version, String etag, List<ImagesResponse> images) {
+}
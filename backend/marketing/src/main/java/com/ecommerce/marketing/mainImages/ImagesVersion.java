@@ -0,0 +1,25 @@
+package com.ecommerce.marketing.mainImages;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row counter bumped on every carousel change, so each marketing instance can tell its snapshot is stale.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "main_images_version")
+public class ImagesVersion {
+
+    public static final Integer SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+}
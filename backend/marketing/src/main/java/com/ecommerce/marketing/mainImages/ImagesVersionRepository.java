@@ -0,0 +1,23 @@
+package com.ecommerce.marketing.mainImages;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ImagesVersionRepository extends JpaRepository<ImagesVersion, Integer> {
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO main_images_version (id, version) VALUES (:id, 1)
+            ON CONFLICT (id) DO UPDATE SET version = main_images_version.version + 1
+            """, nativeQuery = true)
+    int increment(@Param("id") Integer id);
+
+    @Query("select v.version from ImagesVersion v where v.id = :id")
+    Long findVersion(@Param("id") Integer id);
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.marketing.mainImages;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs a trigger that bumps main_images_version in the same transaction as any write to main_images, so rows
+ * edited outside {@link ImagesService} (SQL consoles, imports) still invalidate every instance's snapshot and ETag.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MainImagesVersionTrigger {
+
+    static final String FUNCTION_SQL = """
+            CREATE OR REPLACE FUNCTION bump_main_images_version() RETURNS trigger AS $$
+            BEGIN
+                INSERT INTO main_images_version (id, version) VALUES (1, 1)
+                ON CONFLICT (id) DO UPDATE SET version = main_images_version.version + 1;
+                RETURN NULL;
+            END;
+            $$ LANGUAGE plpgsql
+            """;
+
+    static final String TRIGGER_SQL = """
+            CREATE OR REPLACE TRIGGER main_images_version_bump
+            AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON main_images
+            FOR EACH STATEMENT EXECUTE FUNCTION bump_main_images_version()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void install() {
+        try {
+            jdbcTemplate.execute(FUNCTION_SQL);
+            jdbcTemplate.execute(TRIGGER_SQL);
+        } catch (DataAccessException ex) {
+            log.error("Could not install main_images version trigger, out-of-band image edits will not refresh the carousel", ex);
+        }
+    }
+}
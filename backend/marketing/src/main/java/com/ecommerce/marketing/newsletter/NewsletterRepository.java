@@ -1,10 +1,31 @@
 package com.ecommerce.marketing.newsletter;
 
+import com.ecommerce.marketing.campaign.CampaignRecipient;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface NewsletterRepository extends JpaRepository<Newsletter, Integer> {
 
     boolean existsByEmail(String email);
+
+    @Query("select max(n.id) from Newsletter n")
+    Integer findMaxId();
+
+    long countByIdLessThanEqual(Integer id);
+
+    @Query("""
+            select new com.ecommerce.marketing.campaign.CampaignRecipient(n.id, n.email)
+            from Newsletter n
+            where n.id > :afterId and n.id <= :maxId
+            order by n.id
+            """)
+    List<CampaignRecipient> findCampaignRecipients(@Param("afterId") Integer afterId,
+                                                   @Param("maxId") Integer maxId,
+                                                   Pageable pageable);
 }
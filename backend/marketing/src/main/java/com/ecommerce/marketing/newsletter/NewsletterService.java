@@ -4,24 +4,29 @@ import com.ecommerce.marketing.clients.UserCallerService;
 import com.ecommerce.marketing.clients.dto.DiscountCodeRequest;
 import com.ecommerce.marketing.clients.dto.DiscountCodeResponse;
 import com.ecommerce.marketing.config.NewsletterProducer;
+import com.ecommerce.marketing.discountPool.DiscountCodePoolService;
+import com.ecommerce.marketing.discountPool.PooledDiscountCode;
 import com.ecommerce.marketing.exceptions.APIException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class NewsletterService {
 
+    private static final String CODE_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final SecureRandom CODE_RANDOM = new SecureRandom();
+
     private final NewsletterRepository newsletterRepository;
     private final UserCallerService userCallerService;
     private final NewsletterProducer newsletterProducer;
+    private final DiscountCodePoolService discountCodePoolService;
 
     @Transactional
     public NewsletterResponse addUserToNewsletter(NewsletterRequest newsletterRequest) {
@@ -32,22 +37,10 @@ public class NewsletterService {
             throw new APIException("This email is already in newsletter.");
         }
 
-        String code = generateRandomCode(10);
-        LocalDateTime expiryDate = LocalDateTime.now().plusDays(30);
-
-        DiscountCodeResponse discountCodeResponse = userCallerService.createDiscountCode(
-                DiscountCodeRequest.builder()
-                        .name("Newsletter for " + newsletterRequest.getEmail())
-                        .code(code)
-                        .discount(10)
-                        .expiryDate(expiryDate)
-                        .singleUse(true)
-                        .build()
-        );
-
-        if (discountCodeResponse == null || discountCodeResponse.getId() == null) {
-            throw new APIException("Failed to generate discount code");
-        }
+        DiscountCodeResponse discountCodeResponse = discountCodePoolService.claim()
+                .map(this::mapToDiscountCode)
+                .orElseGet(() -> createDiscountCode(newsletterRequest.getEmail()));
+        String code = discountCodeResponse.getCode();
 
         Newsletter newsletter = Newsletter.builder()
                 .email(newsletterRequest.getEmail())
@@ -73,13 +66,41 @@ public class NewsletterService {
                 .build();
     }
 
+    // only used while the pre-generated pool is empty, e.g. right after a deployment
+    private DiscountCodeResponse createDiscountCode(String email) {
+        log.warn("Newsletter discount pool is empty, creating a discount code synchronously");
+
+        DiscountCodeResponse discountCodeResponse = userCallerService.createDiscountCode(
+                DiscountCodeRequest.builder()
+                        .name("Newsletter for " + email)
+                        .code(generateRandomCode(10))
+                        .discount(10)
+                        .expiryDate(LocalDateTime.now().plusDays(30))
+                        .singleUse(true)
+                        .build()
+        );
+
+        if (discountCodeResponse == null || discountCodeResponse.getId() == null) {
+            throw new APIException("Failed to generate discount code");
+        }
+        return discountCodeResponse;
+    }
+
+    private DiscountCodeResponse mapToDiscountCode(PooledDiscountCode pooledCode) {
+        return DiscountCodeResponse.builder()
+                .id(pooledCode.getDiscountCodeId())
+                .code(pooledCode.getCode())
+                .discount(pooledCode.getDiscount())
+                .expiryDate(pooledCode.getExpiryDate())
+                .singleUse(true)
+                .build();
+    }
+
     private String generateRandomCode(int length) {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        StringBuilder sb = new StringBuilder();
-        Random random = new SecureRandom();
+        StringBuilder sb = new StringBuilder(length);
 
         for (int i = 0; i < length; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
+            sb.append(CODE_CHARS.charAt(CODE_RANDOM.nextInt(CODE_CHARS.length())));
         }
 
         return sb.toString();
@@ -0,0 +1,117 @@
+package com.ecommerce.marketing.campaign;
+
+import com.ecommerce.marketing.email.EmailTemplateRenderer;
+import com.ecommerce.marketing.email.MailDispatcher;
+import com.ecommerce.marketing.email.OutgoingEmail;
+import com.ecommerce.marketing.exceptions.APIException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CampaignBatchConsumerTest {
+
+    @Mock
+    private CampaignRepository campaignRepository;
+
+    @Mock
+    private CampaignBatchRepository campaignBatchRepository;
+
+    @Mock
+    private CampaignProgressTracker campaignProgressTracker;
+
+    @Mock
+    private EmailTemplateRenderer emailTemplateRenderer;
+
+    @Mock
+    private MailDispatcher mailDispatcher;
+
+    private CampaignBatchConsumer consumer;
+
+    private final CampaignRecipient anna = new CampaignRecipient(1, "anna@example.com");
+    private final CampaignRecipient bob = new CampaignRecipient(2, "bob@example.com");
+
+    private final CampaignBatchMessage batch = CampaignBatchMessage.builder()
+            .campaignId(3L)
+            .firstSubscriberId(1)
+            .recipients(List.of(anna, bob))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        consumer = new CampaignBatchConsumer(campaignRepository, campaignBatchRepository, campaignProgressTracker,
+                emailTemplateRenderer, mailDispatcher);
+        ReflectionTestUtils.setField(consumer, "enqueueTimeout", Duration.ofSeconds(1));
+
+        lenient().when(campaignRepository.findStatusById(3L)).thenReturn(Optional.of(Campaign.Status.RUNNING));
+        lenient().when(campaignRepository.findById(3L)).thenReturn(Optional.of(Campaign.builder()
+                .id(3L)
+                .subject("Spring sale")
+                .headline("Spring sale")
+                .content("Everything -20%")
+                .build()));
+        lenient().when(emailTemplateRenderer.prepareCampaign("Spring sale", "Everything -20%"))
+                .thenReturn(userName -> "<p>Hello " + userName + "</p>");
+    }
+
+    @Test
+    void CampaignBatchConsumer_OnBatch_RendersOnceAndReportsDeliveries() {
+        when(campaignBatchRepository.claim(3L, 1, 2)).thenReturn(1);
+
+        consumer.onBatch(batch);
+
+        ArgumentCaptor<OutgoingEmail> emails = ArgumentCaptor.forClass(OutgoingEmail.class);
+        verify(mailDispatcher, times(2)).enqueue(emails.capture(), eq(Duration.ofSeconds(1)));
+        assertEquals("<p>Hello anna</p>", emails.getAllValues().get(0).getHtmlBody());
+        assertEquals("Spring sale", emails.getAllValues().get(1).getSubject());
+        verify(emailTemplateRenderer, times(1)).prepareCampaign(anyString(), anyString());
+
+        emails.getAllValues().get(0).getListener().delivered(emails.getAllValues().get(0));
+        emails.getAllValues().get(1).getListener().failed(emails.getAllValues().get(1), "550 mailbox unavailable");
+
+        verify(campaignProgressTracker).delivered(3L);
+        verify(campaignProgressTracker).failed(3L, bob, "550 mailbox unavailable");
+    }
+
+    @Test
+    void CampaignBatchConsumer_OnBatch_SkipsAlreadyClaimedBatch() {
+        when(campaignBatchRepository.claim(3L, 1, 2)).thenReturn(0);
+
+        consumer.onBatch(batch);
+
+        verifyNoInteractions(mailDispatcher, emailTemplateRenderer);
+    }
+
+    @Test
+    void CampaignBatchConsumer_OnBatch_RecordsRecipientsThatCouldNotBeQueued() {
+        when(campaignBatchRepository.claim(3L, 1, 2)).thenReturn(1);
+        doNothing().doThrow(new APIException("Mail dispatch queue is full"))
+                .when(mailDispatcher).enqueue(any(OutgoingEmail.class), any(Duration.class));
+
+        consumer.onBatch(batch);
+
+        verify(campaignProgressTracker).failed(3L, bob, "Mail dispatch queue is full");
+        verify(campaignProgressTracker, never()).failed(eq(3L), eq(anna), anyString());
+    }
+
+    @Test
+    void CampaignBatchConsumer_OnBatch_SkipsCancelledCampaign() {
+        when(campaignRepository.findStatusById(3L)).thenReturn(Optional.of(Campaign.Status.CANCELLED));
+
+        consumer.onBatch(batch);
+
+        verifyNoInteractions(campaignBatchRepository, mailDispatcher);
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.marketing.campaign;
+
+import com.ecommerce.marketing.newsletter.NewsletterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CampaignPublisherTest {
+
+    @Mock
+    private NewsletterRepository newsletterRepository;
+
+    @Mock
+    private CampaignRepository campaignRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private CampaignPublisher campaignPublisher;
+
+    private final Campaign campaign = Campaign.builder()
+            .id(7L)
+            .status(Campaign.Status.RUNNING)
+            .maxSubscriberId(10)
+            .lastSubscriberId(0)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        campaignPublisher = new CampaignPublisher(newsletterRepository, campaignRepository, rabbitTemplate);
+        ReflectionTestUtils.setField(campaignPublisher, "exchange", "newsletter.campaign");
+        ReflectionTestUtils.setField(campaignPublisher, "routingKey", "newsletter.campaign.batches");
+        ReflectionTestUtils.setField(campaignPublisher, "pageSize", 4);
+        ReflectionTestUtils.setField(campaignPublisher, "batchSize", 2);
+        ReflectionTestUtils.setField(campaignPublisher, "confirmTimeout", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(campaignPublisher, "publishAttempts", 2);
+
+        lenient().when(campaignRepository.findStatusById(7L)).thenReturn(Optional.of(Campaign.Status.RUNNING));
+    }
+
+    private List<CampaignRecipient> recipients(int fromId, int toId) {
+        return IntStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> new CampaignRecipient(id, "user" + id + "@example.com"))
+                .toList();
+    }
+
+    private void confirmWith(boolean... acks) {
+        List<Boolean> answers = new ArrayList<>();
+        for (boolean ack : acks) {
+            answers.add(ack);
+        }
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            boolean ack = answers.isEmpty() || answers.remove(0);
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void CampaignPublisher_Publish_WalksSubscribersInKeysetPages() {
+        when(newsletterRepository.findCampaignRecipients(eq(0), eq(10), any())).thenReturn(recipients(1, 4));
+        when(newsletterRepository.findCampaignRecipients(eq(4), eq(10), any())).thenReturn(recipients(5, 6));
+        confirmWith();
+
+        campaignPublisher.publish(campaign);
+
+        ArgumentCaptor<CampaignBatchMessage> batches = ArgumentCaptor.forClass(CampaignBatchMessage.class);
+        verify(rabbitTemplate, times(3)).convertAndSend(eq("newsletter.campaign"), eq("newsletter.campaign.batches"),
+                batches.capture(), any(CorrelationData.class));
+        assertEquals(List.of(1, 3, 5), batches.getAllValues().stream().map(CampaignBatchMessage::getFirstSubscriberId).toList());
+        assertEquals(2, batches.getAllValues().get(0).getRecipients().size());
+
+        verify(campaignRepository).advanceCursor(7L, 4, 4);
+        verify(campaignRepository).advanceCursor(7L, 6, 2);
+        verify(campaignRepository).markPublished(eq(7L), eq(Campaign.Status.RUNNING), eq(Campaign.Status.PUBLISHED), any());
+    }
+
+    @Test
+    void CampaignPublisher_Publish_RepublishesOnlyNackedBatches() {
+        when(newsletterRepository.findCampaignRecipients(eq(0), eq(10), any())).thenReturn(recipients(1, 3));
+        confirmWith(true, false, true);
+
+        campaignPublisher.publish(campaign);
+
+        ArgumentCaptor<CampaignBatchMessage> batches = ArgumentCaptor.forClass(CampaignBatchMessage.class);
+        verify(rabbitTemplate, times(3)).convertAndSend(anyString(), anyString(), batches.capture(), any(CorrelationData.class));
+        assertEquals(List.of(1, 3, 3), batches.getAllValues().stream().map(CampaignBatchMessage::getFirstSubscriberId).toList());
+        verify(campaignRepository).advanceCursor(7L, 3, 3);
+        verify(campaignRepository).markPublished(eq(7L), any(), any(), any());
+    }
+
+    @Test
+    void CampaignPublisher_Publish_UnconfirmedPageFailsCampaignWithoutMovingCursor() {
+        when(newsletterRepository.findCampaignRecipients(eq(0), eq(10), any())).thenReturn(recipients(1, 2));
+        confirmWith(false, false);
+
+        campaignPublisher.publish(campaign);
+
+        verify(campaignRepository, never()).advanceCursor(anyLong(), anyInt(), anyLong());
+        verify(campaignRepository, never()).markPublished(anyLong(), any(), any(), any());
+        verify(campaignRepository).transition(eq(7L), eq(List.of(Campaign.Status.RUNNING)), eq(Campaign.Status.FAILED), contains("did not confirm"));
+    }
+
+    @Test
+    void CampaignPublisher_Publish_StopsWhenCampaignCancelled() {
+        when(campaignRepository.findStatusById(7L)).thenReturn(Optional.of(Campaign.Status.CANCELLED));
+
+        campaignPublisher.publish(campaign);
+
+        verifyNoInteractions(rabbitTemplate, newsletterRepository);
+        verify(campaignRepository, never()).markPublished(anyLong(), any(), any(), any());
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.marketing.discountPool;
+
+import com.ecommerce.marketing.clients.UserCallerService;
+import com.ecommerce.marketing.clients.dto.DiscountCodeBatchRequest;
+import com.ecommerce.marketing.clients.dto.DiscountCodeResponse;
+import com.ecommerce.marketing.keycloak.KeyCloakTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DiscountCodePoolServiceTest {
+
+    @Mock
+    private PooledDiscountCodeRepository pooledDiscountCodeRepository;
+
+    @Mock
+    private UserCallerService userCallerService;
+
+    @Mock
+    private KeyCloakTokenProvider keyCloakTokenProvider;
+
+    private DiscountCodePoolService discountCodePoolService;
+
+    @BeforeEach
+    void setUp() {
+        discountCodePoolService = new DiscountCodePoolService(
+                pooledDiscountCodeRepository, userCallerService, keyCloakTokenProvider, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(discountCodePoolService, "lowWatermark", 100);
+        ReflectionTestUtils.setField(discountCodePoolService, "refillSize", 2);
+        ReflectionTestUtils.setField(discountCodePoolService, "discount", 10);
+        ReflectionTestUtils.setField(discountCodePoolService, "codeValidity", Duration.ofDays(60));
+        ReflectionTestUtils.setField(discountCodePoolService, "minRemainingValidity", Duration.ofDays(30));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void DiscountCodePoolService_Replenish_RefillsPoolBelowWatermark() {
+        when(pooledDiscountCodeRepository.countByClaimedAtIsNullAndExpiryDateGreaterThanEqual(any())).thenReturn(12L);
+        when(keyCloakTokenProvider.getClientAccessToken()).thenReturn("service-token");
+        LocalDateTime expiryDate = LocalDateTime.now().plusDays(60);
+        when(userCallerService.createDiscountCodes(any(DiscountCodeBatchRequest.class), eq("service-token"))).thenReturn(List.of(
+                DiscountCodeResponse.builder().id("d-1").code("AAAA11112222").discount(10).expiryDate(expiryDate).build(),
+                DiscountCodeResponse.builder().id("d-2").code("BBBB33334444").discount(10).expiryDate(expiryDate).build()));
+
+        discountCodePoolService.replenish();
+
+        ArgumentCaptor<DiscountCodeBatchRequest> request = ArgumentCaptor.forClass(DiscountCodeBatchRequest.class);
+        verify(userCallerService).createDiscountCodes(request.capture(), eq("service-token"));
+        assertEquals(2, request.getValue().getCount());
+        assertTrue(request.getValue().isSingleUse());
+
+        ArgumentCaptor<List<PooledDiscountCode>> saved = ArgumentCaptor.forClass(List.class);
+        verify(pooledDiscountCodeRepository).saveAll(saved.capture());
+        assertEquals(List.of("d-1", "d-2"), saved.getValue().stream().map(PooledDiscountCode::getDiscountCodeId).toList());
+    }
+
+    @Test
+    void DiscountCodePoolService_Replenish_SkipsWhenPoolIsFull() {
+        when(pooledDiscountCodeRepository.countByClaimedAtIsNullAndExpiryDateGreaterThanEqual(any())).thenReturn(500L);
+
+        discountCodePoolService.replenish();
+
+        verifyNoInteractions(userCallerService, keyCloakTokenProvider);
+    }
+
+    @Test
+    void DiscountCodePoolService_Claim_MarksCodeClaimed() {
+        PooledDiscountCode code = PooledDiscountCode.builder().id(4L).code("CCCC55556666").build();
+        when(pooledDiscountCodeRepository.lockNextAvailable(any())).thenReturn(Optional.of(code));
+
+        Optional<PooledDiscountCode> claimed = discountCodePoolService.claim();
+
+        assertTrue(claimed.isPresent());
+        assertNotNull(code.getClaimedAt());
+        verify(pooledDiscountCodeRepository).save(code);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.marketing.email;
+
+import com.ecommerce.marketing.config.dto.OrderLineResponse;
+import com.ecommerce.marketing.metrics.StageTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Render cost per email: full Thymeleaf processing of the legacy variables against the
+ * pre-rendered layout used by {@link EmailTemplateRenderer}.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.marketing.email.EmailTemplateRenderBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailTemplateRenderBenchmark {
+
+    private SpringTemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+    private List<OrderLineResponse> orderLines;
+    private LocalDateTime orderDate;
+
+    static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+
+    @Setup
+    public void setUp() {
+        templateEngine = templateEngine();
+        renderer = new EmailTemplateRenderer(templateEngine, new StageTimer(new SimpleMeterRegistry()));
+        renderer.precompile();
+        orderDate = LocalDateTime.now();
+        orderLines = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> OrderLineResponse.builder()
+                        .id(i)
+                        .productName("Running shoe " + i)
+                        .qty(i)
+                        .price(49.99 + i)
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public String newsletterThymeleaf() {
+        Context context = new Context();
+        context.setVariable("userName", "jane.doe");
+        context.setVariable("discount_code", "NEWS-4F7K2Q");
+        return templateEngine.process("newsletter", context);
+    }
+
+    @Benchmark
+    public String newsletterPrecompiled() {
+        return renderer.renderNewsletter("jane.doe", "NEWS-4F7K2Q");
+    }
+
+    @Benchmark
+    public String orderConfirmationFragmentOnly() {
+        Context context = new Context();
+        context.setVariable("orderItems", orderLines);
+        return templateEngine.process("fragments/order-lines", context);
+    }
+
+    @Benchmark
+    public String orderConfirmationPrecompiled() {
+        return renderer.renderOrderConfirmation("jane.doe", 42, orderDate, 279.95, orderLines, "DPD", 12.99);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateRenderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
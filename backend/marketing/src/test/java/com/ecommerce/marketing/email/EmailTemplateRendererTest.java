@@ -0,0 +1,64 @@
+package com.ecommerce.marketing.email;
+
+import com.ecommerce.marketing.config.dto.OrderLineResponse;
+import com.ecommerce.marketing.metrics.StageTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailTemplateRendererTest {
+
+    private SpringTemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        templateEngine = EmailTemplateRenderBenchmark.templateEngine();
+        renderer = new EmailTemplateRenderer(templateEngine, new StageTimer(new SimpleMeterRegistry()));
+        renderer.precompile();
+    }
+
+    @Test
+    void EmailTemplateRenderer_RenderNewsletter_MatchesThymeleafOutput() {
+        Context context = new Context();
+        context.setVariable("userName", "jane");
+        context.setVariable("discount_code", "CODE-123");
+
+        String expected = templateEngine.process("newsletter", context);
+
+        assertEquals(expected, renderer.renderNewsletter("jane", "CODE-123"));
+    }
+
+    @Test
+    void EmailTemplateRenderer_RenderNewsletter_EscapesValues() {
+        String html = renderer.renderNewsletter("<b>jane</b>", "CODE");
+
+        assertTrue(html.contains("&lt;b&gt;jane&lt;/b&gt;"));
+        assertFalse(html.contains("<b>jane</b>"));
+    }
+
+    @Test
+    void EmailTemplateRenderer_RenderOrderConfirmation_FillsDynamicSections() {
+        List<OrderLineResponse> orderLines = List.of(
+                OrderLineResponse.builder().productName("T-shirt").qty(2).price(1234.5).build()
+        );
+
+        String html = renderer.renderOrderConfirmation(
+                "jane", 42, LocalDateTime.of(2025, 8, 6, 14, 35), 2469.0, orderLines, "DPD", 12.99);
+
+        assertTrue(html.contains("<span>42</span>"));
+        assertTrue(html.contains("2025-08-06 14:35"));
+        assertTrue(html.contains("$<span>2.469,00</span>"));
+        assertTrue(html.contains("<td>T-shirt</td>"));
+        assertTrue(html.contains("$<span>1.234,50</span>"));
+        assertTrue(html.contains("<span>12.99</span>"));
+        assertFalse(html.contains("%%"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.marketing.email;
+
+import com.ecommerce.marketing.exceptions.APIException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MailDispatcherTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private TaskScheduler mailRetryScheduler;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MailDispatcher mailDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailDispatcher = new MailDispatcher(mailSender, task -> { }, mailRetryScheduler, meterRegistry);
+        ReflectionTestUtils.setField(mailDispatcher, "senderEmail", "shop@example.com");
+        ReflectionTestUtils.setField(mailDispatcher, "connections", 1);
+        ReflectionTestUtils.setField(mailDispatcher, "queueCapacity", 2);
+        ReflectionTestUtils.setField(mailDispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(mailDispatcher, "ratePerSecond", 100);
+        ReflectionTestUtils.setField(mailDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(mailDispatcher, "retryBackoff", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(mailDispatcher, "enqueueTimeout", Duration.ofMillis(10));
+        mailDispatcher.start();
+
+        lenient().when(mailSender.createMimeMessage())
+                .thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+    }
+
+    private OutgoingEmail email(String to) {
+        return OutgoingEmail.builder().to(to).subject("Hello").htmlBody("<p>Hi</p>").build();
+    }
+
+    @Test
+    void MailDispatcher_SendBatch_SendsAllMessagesInOneSession() {
+        mailDispatcher.sendBatch(List.of(email("a@example.com"), email("b@example.com"), email("c@example.com")));
+
+        ArgumentCaptor<MimeMessage[]> captor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender, times(1)).send(captor.capture());
+        assertEquals(3, captor.getValue().length);
+        assertEquals(3.0, meterRegistry.counter("mail.dispatch.messages", "result", "sent").count());
+        verifyNoInteractions(mailRetryScheduler);
+    }
+
+    @Test
+    void MailDispatcher_SendBatch_RetriesOnlyFailedMessages() {
+        OutgoingEmail delivered = email("a@example.com");
+        OutgoingEmail failed = email("b@example.com");
+
+        doAnswer(invocation -> {
+            MimeMessage second = invocation.getArgument(1);
+            throw new MailSendException(Map.of(second, new RuntimeException("421 try again later")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        mailDispatcher.sendBatch(List.of(delivered, failed));
+
+        verify(mailRetryScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        assertEquals(0, delivered.getAttempts());
+        assertEquals(1, failed.getAttempts());
+        assertEquals(1.0, meterRegistry.counter("mail.dispatch.messages", "result", "sent").count());
+    }
+
+    @Test
+    void MailDispatcher_SendBatch_GivesUpAfterMaxAttempts() {
+        OutgoingEmail email = email("a@example.com");
+        email.setAttempts(2);
+
+        doThrow(new MailSendException("connection refused")).when(mailSender).send(any(MimeMessage[].class));
+
+        mailDispatcher.sendBatch(List.of(email));
+
+        verifyNoInteractions(mailRetryScheduler);
+        assertEquals(1.0, meterRegistry.counter("mail.dispatch.messages", "result", "failed").count());
+    }
+
+    @Test
+    void MailDispatcher_Offer_ReturnsFalseWhenQueueIsFull() {
+        assertTrue(mailDispatcher.offer(email("a@example.com")));
+        assertTrue(mailDispatcher.offer(email("b@example.com")));
+
+        assertFalse(mailDispatcher.offer(email("c@example.com")));
+    }
+
+    @Test
+    void MailDispatcher_Enqueue_RejectsWhenQueueIsFull() {
+        mailDispatcher.offer(email("a@example.com"));
+        mailDispatcher.offer(email("b@example.com"));
+
+        assertThrows(APIException.class, () -> mailDispatcher.enqueue(email("c@example.com"), Duration.ofMillis(10)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.marketing.email;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PendingEmailRelayTest {
+
+    @Mock
+    private PendingEmailRepository pendingEmailRepository;
+
+    @Mock
+    private MailDispatcher mailDispatcher;
+
+    @InjectMocks
+    private PendingEmailRelay pendingEmailRelay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pendingEmailRelay, "batchSize", 10);
+    }
+
+    private PendingEmail pendingEmail(Long id, String recipient) {
+        return PendingEmail.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Your Order Confirmation from SportShop")
+                .htmlBody("<p>Thanks</p>")
+                .createdAt(LocalDateTime.of(2025, 8, 13, 0, 0))
+                .build();
+    }
+
+    @Test
+    void PendingEmailRelay_Store_PersistsEmail() {
+        pendingEmailRelay.store(OutgoingEmail.builder()
+                .to("jan@example.com")
+                .subject("Subject")
+                .htmlBody("<p>Body</p>")
+                .build());
+
+        ArgumentCaptor<PendingEmail> captor = ArgumentCaptor.forClass(PendingEmail.class);
+        verify(pendingEmailRepository).save(captor.capture());
+        assertEquals("jan@example.com", captor.getValue().getRecipient());
+        assertEquals("<p>Body</p>", captor.getValue().getHtmlBody());
+        assertNotNull(captor.getValue().getCreatedAt());
+    }
+
+    @Test
+    void PendingEmailRelay_Relay_QueuesClaimedEmails() {
+        when(pendingEmailRepository.findAllByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(pendingEmail(1L, "a@example.com"), pendingEmail(2L, "b@example.com")));
+        when(pendingEmailRepository.claim(1L)).thenReturn(1);
+        when(pendingEmailRepository.claim(2L)).thenReturn(0);
+        when(mailDispatcher.offer(any(OutgoingEmail.class), eq(Duration.ZERO))).thenReturn(true);
+
+        pendingEmailRelay.relay();
+
+        ArgumentCaptor<OutgoingEmail> captor = ArgumentCaptor.forClass(OutgoingEmail.class);
+        verify(mailDispatcher).offer(captor.capture(), eq(Duration.ZERO));
+        assertEquals("a@example.com", captor.getValue().getTo());
+        verify(pendingEmailRepository, never()).save(any());
+    }
+
+    @Test
+    void PendingEmailRelay_Relay_QueueFull_ParksEmailAgainAndStops() {
+        when(pendingEmailRepository.findAllByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(pendingEmail(1L, "a@example.com"), pendingEmail(2L, "b@example.com")));
+        when(pendingEmailRepository.claim(1L)).thenReturn(1);
+        when(mailDispatcher.offer(any(OutgoingEmail.class), eq(Duration.ZERO))).thenReturn(false);
+
+        pendingEmailRelay.relay();
+
+        ArgumentCaptor<PendingEmail> captor = ArgumentCaptor.forClass(PendingEmail.class);
+        verify(pendingEmailRepository).save(captor.capture());
+        assertNull(captor.getValue().getId());
+        assertEquals("a@example.com", captor.getValue().getRecipient());
+        verify(pendingEmailRepository, never()).claim(2L);
+    }
+}
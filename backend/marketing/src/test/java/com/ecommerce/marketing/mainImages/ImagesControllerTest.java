@@ -0,0 +1,64 @@
+package com.ecommerce.marketing.mainImages;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = {
+        ImagesController.class,
+})
+@AutoConfigureMockMvc
+@EnableWebMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.data.mongodb.uri=mongodb://localhost:27017/testdb"
+})
+public class ImagesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ImagesService imagesService;
+
+    private final ImagesSnapshot snapshot = new ImagesSnapshot(7L, "\"7-1a2b\"", List.of(
+            ImagesResponse.builder().id(1).url("https://cdn.example.com/1.jpg").name("slide").displayOrder(1).build()));
+
+    @Test
+    void ImagesController_GetAllImagesWithOrder_ReturnsETagAndCacheControl() throws Exception {
+        when(imagesService.getImagesSnapshot()).thenReturn(snapshot);
+
+        mockMvc.perform(get("/main-images/with-order").with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-1a2b\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=300")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")))
+                .andExpect(header().string(ImagesController.CONTENT_VERSION_HEADER, "7"))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void ImagesController_GetAllImagesWithOrder_NotModifiedForMatchingETag() throws Exception {
+        when(imagesService.getImagesSnapshot()).thenReturn(snapshot);
+
+        mockMvc.perform(get("/main-images/with-order").with(jwt()).header(HttpHeaders.IF_NONE_MATCH, "\"6-ffff\", \"7-1a2b\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-1a2b\""))
+                .andExpect(content().string(""));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.marketing.mainImages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ImagesServiceTest {
+
+    @Mock
+    private ImagesRepository imagesRepository;
+
+    @Mock
+    private ImagesVersionRepository imagesVersionRepository;
+
+    @InjectMocks
+    private ImagesService imagesService;
+
+    private Images image(int id, int displayOrder) {
+        return Images.builder().id(id).url("https://cdn.example.com/" + id + ".jpg").name("slide " + id).displayOrder(displayOrder).build();
+    }
+
+    @Test
+    void ImagesService_GetImagesSnapshot_ServesFromMemory() {
+        when(imagesVersionRepository.findVersion(ImagesVersion.SINGLETON_ID)).thenReturn(3L);
+        when(imagesRepository.findByDisplayOrderIsNotNullOrderByDisplayOrderAscIdAsc()).thenReturn(List.of(image(1, 1), image(2, 2)));
+
+        ImagesSnapshot first = imagesService.getImagesSnapshot();
+        ImagesSnapshot second = imagesService.getImagesSnapshot();
+
+        assertSame(first, second);
+        assertEquals(3L, first.version());
+        assertTrue(first.etag().startsWith("\"3-"));
+        assertEquals(List.of(1, 2), first.images().stream().map(ImagesResponse::getId).toList());
+        verify(imagesRepository, times(1)).findByDisplayOrderIsNotNullOrderByDisplayOrderAscIdAsc();
+    }
+
+    @Test
+    void ImagesService_RefreshIfChanged_RebuildsOnlyWhenVersionMoved() {
+        when(imagesVersionRepository.findVersion(ImagesVersion.SINGLETON_ID)).thenReturn(3L, 3L, 4L, 4L);
+        when(imagesRepository.findByDisplayOrderIsNotNullOrderByDisplayOrderAscIdAsc())
+                .thenReturn(List.of(image(1, 1)), List.of(image(1, 1), image(5, 2)));
+
+        ImagesSnapshot initial = imagesService.getImagesSnapshot();
+        imagesService.refreshIfChanged();
+        assertSame(initial, imagesService.getImagesSnapshot());
+
+        imagesService.refreshIfChanged();
+
+        ImagesSnapshot refreshed = imagesService.getImagesSnapshot();
+        assertEquals(4L, refreshed.version());
+        assertEquals(2, refreshed.images().size());
+        assertNotEquals(initial.etag(), refreshed.etag());
+    }
+
+    @Test
+    void ImagesService_CreateImage_BumpsVersionAndRebuildsSnapshot() {
+        when(imagesRepository.save(any(Images.class))).thenReturn(image(9, 1));
+        when(imagesVersionRepository.findVersion(ImagesVersion.SINGLETON_ID)).thenReturn(8L);
+        when(imagesRepository.findByDisplayOrderIsNotNullOrderByDisplayOrderAscIdAsc()).thenReturn(List.of(image(9, 1)));
+
+        imagesService.createImage(ImagesRequest.builder().url("https://cdn.example.com/9.jpg").name("slide 9").displayOrder(1).build());
+
+        verify(imagesVersionRepository).increment(ImagesVersion.SINGLETON_ID);
+        assertEquals(8L, imagesService.getImagesSnapshot().version());
+        verify(imagesRepository, times(1)).findByDisplayOrderIsNotNullOrderByDisplayOrderAscIdAsc();
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.marketing.mainImages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MainImagesVersionTriggerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private MainImagesVersionTrigger mainImagesVersionTrigger;
+
+    @Test
+    void MainImagesVersionTrigger_Install_CreatesFunctionThenTrigger() {
+        mainImagesVersionTrigger.install();
+
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(MainImagesVersionTrigger.FUNCTION_SQL);
+        inOrder.verify(jdbcTemplate).execute(MainImagesVersionTrigger.TRIGGER_SQL);
+        assertTrue(MainImagesVersionTrigger.TRIGGER_SQL.contains("ON main_images"));
+    }
+
+    @Test
+    void MainImagesVersionTrigger_Install_DatabaseError_DoesNotFailStartup() {
+        doThrow(new DataAccessResourceFailureException("permission denied"))
+                .when(jdbcTemplate).execute(MainImagesVersionTrigger.FUNCTION_SQL);
+
+        assertDoesNotThrow(() -> mainImagesVersionTrigger.install());
+        verify(jdbcTemplate, never()).execute(MainImagesVersionTrigger.TRIGGER_SQL);
+    }
+}
@@ -3,6 +3,8 @@ package com.ecommerce.marketing.newsletter;
 import com.ecommerce.marketing.clients.UserCallerService;
 import com.ecommerce.marketing.clients.dto.DiscountCodeResponse;
 import com.ecommerce.marketing.config.NewsletterProducer;
+import com.ecommerce.marketing.discountPool.DiscountCodePoolService;
+import com.ecommerce.marketing.discountPool.PooledDiscountCode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -29,6 +31,9 @@ public class NewsletterServiceTest {
     @Mock
     private NewsletterProducer newsletterProducer;
 
+    @Mock
+    private DiscountCodePoolService discountCodePoolService;
+
     @InjectMocks
     private NewsletterService newsletterService;
 
@@ -66,5 +71,27 @@ public class NewsletterServiceTest {
         verify(newsletterProducer, times(1)).sendNewsletterEmail(any());
     }
 
+    @Test
+    void NewsletterService_AddUserToNewsletter_UsesPooledDiscountCode() {
+        NewsletterRequest newsletterRequest = NewsletterRequest.builder()
+                .email("pool@gmail.com")
+                .build();
+
+        when(newsletterRepository.existsByEmail(newsletterRequest.getEmail())).thenReturn(false);
+        when(discountCodePoolService.claim()).thenReturn(Optional.of(PooledDiscountCode.builder()
+                .discountCodeId("discount-7")
+                .code("POOLCODE1234")
+                .discount(10)
+                .expiryDate(LocalDateTime.now().plusDays(45))
+                .build()));
+
+        NewsletterResponse response = newsletterService.addUserToNewsletter(newsletterRequest);
+
+        assertEquals("discount-7", response.getCouponId());
+        verifyNoInteractions(userCallerService);
+        verify(newsletterProducer, times(1)).sendNewsletterEmail(argThat(payload ->
+                "POOLCODE1234".equals(payload.getDiscountCode())));
+    }
+
 
 }
@@ -0,0 +1,36 @@
+package com.ecommerce.order.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * In-process Caffeine caches for lookups against other services. Caching advice runs before the Resilience4j aspects,
+ * so a hit skips retry, circuit breaker, rate limiter and bulkhead altogether. Hit/miss/eviction counts are exported
+ * as the standard {@code cache.*} meters.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(NearCacheProperties.class)
+public class NearCacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(NearCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+        properties.getCaches().forEach((name, spec) -> cacheManager.registerCustomCache(name, builder(spec).build()));
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> builder(NearCacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats();
+    }
+}
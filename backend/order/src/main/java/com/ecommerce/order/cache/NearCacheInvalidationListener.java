@@ -0,0 +1,57 @@
+package com.ecommerce.order.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NearCacheInvalidationListener {
+
+    private final CacheManager cacheManager;
+    private final NearCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // each instance holds its own copy of the caches, so each one needs its own consumer group
+    @KafkaListener(
+            topics = "${near-cache.invalidation-topic:product.changed}",
+            groupId = "${spring.application.name}-near-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onCatalogChanged(String payload) {
+        Set<String> entityTypes = new HashSet<>();
+        try {
+            objectMapper.readTree(payload).path("entities").forEach(entity -> entityTypes.add(entity.asText()));
+        } catch (JsonProcessingException ex) {
+            log.warn("Unreadable catalog change event, clearing every near cache: {}", ex.getMessage());
+            cacheManager.getCacheNames().forEach(this::clear);
+            return;
+        }
+
+        properties.getCaches().forEach((name, spec) -> {
+            if (!Collections.disjoint(spec.getInvalidateOn(), entityTypes)) {
+                clear(name);
+            }
+        });
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+            meterRegistry.counter("near.cache.invalidations", "cache", name).increment();
+        }
+    }
+}
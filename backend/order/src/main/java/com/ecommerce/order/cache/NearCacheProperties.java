@@ -0,0 +1,38 @@
+package com.ecommerce.order.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "near-cache")
+public class NearCacheProperties {
+
+    private String invalidationTopic = "product.changed";
+
+    /**
+     * Applied to caches that are used in a {@code @Cacheable} but have no entry in {@link #caches}.
+     */
+    private Spec defaults = new Spec();
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private long maxSize = 1000;
+        private Duration ttl = Duration.ofSeconds(60);
+
+        /**
+         * Catalog entity types whose change events clear this cache.
+         */
+        private Set<String> invalidateOn = new HashSet<>();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.order.clients;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Pooled Apache HttpClient 5 transport behind every Feign client. OpenFeign wraps this bean in its ApacheHttp5Client,
+ * which applies the per-client connect/read timeouts from spring.cloud.openfeign.client.config per request. Responses
+ * compressed by the callee are decompressed transparently by the client.
+ */
+@Configuration
+public class FeignHttpClientConfig {
+
+    @Value("${feign.http-client.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${feign.http-client.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${feign.http-client.time-to-live:5m}")
+    private Duration timeToLive;
+
+    @Value("${feign.http-client.idle-eviction:30s}")
+    private Duration idleEviction;
+
+    @Value("${feign.http-client.validate-after-inactivity:2s}")
+    private Duration validateAfterInactivity;
+
+    @Value("${feign.http-client.connection-request-timeout:1s}")
+    private Duration connectionRequestTimeout;
+
+    @Bean
+    public PoolingHttpClientConnectionManager feignConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.LAX)
+                // LIFO keeps the hottest connections busy and lets the rest age out through idle eviction
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivity.toMillis()))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "feign").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient feignHttpClient(PoolingHttpClientConnectionManager feignConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(feignConnectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .disableCookieManagement()
+                .disableRedirectHandling()
+                .build();
+    }
+}
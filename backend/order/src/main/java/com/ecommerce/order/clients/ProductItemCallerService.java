@@ -2,11 +2,13 @@ package com.ecommerce.order.clients;
 
 import com.ecommerce.order.clients.dto.*;
 import com.ecommerce.order.exceptions.ServiceNotFoundException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +25,7 @@ public class ProductItemCallerService {
     @Retry(name = "retryBreaker", fallbackMethod = "getProductItemByIdServiceFallback")
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductItemByIdServiceFallback")
     @RateLimiter(name = "productService", fallbackMethod = "getProductItemByIdServiceFallback")
+    @Bulkhead(name = "productService", fallbackMethod = "getProductItemByIdServiceFallback")
     public ProductItemResponse getProductItemById(Integer productItemId) {
         return productItemClient.getProductItemById(productItemId);
     }
@@ -46,6 +49,7 @@ public class ProductItemCallerService {
     @Retry(name = "retryBreaker", fallbackMethod = "getProductItemByIdsToCreateOrderFallbackFallback")
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductItemByIdsToCreateOrderFallbackFallback")
     @RateLimiter(name = "productService", fallbackMethod = "getProductItemByIdsToCreateOrderFallbackFallback")
+    @Bulkhead(name = "productService", fallbackMethod = "getProductItemByIdsToCreateOrderFallbackFallback")
     public List<ProductItemOneByColourResponse> getProductItemByIdsToCreateOrder(List<Integer> productItemIds) {
         return productItemClient.getProductItemByIdsToCreateOrder(productItemIds);
     }
@@ -55,9 +59,11 @@ public class ProductItemCallerService {
         throw new ServiceNotFoundException("product", "getProductItemByIdsToCreateOrderFallback", ex.getMessage());
     }
 
+    @Cacheable(cacheNames = "productItemsToOrders")
     @Retry(name = "retryBreaker", fallbackMethod = "getProductItemByIdsToOrdersFallback")
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductItemByIdsToOrdersFallback")
     @RateLimiter(name = "productService", fallbackMethod = "getProductItemByIdsToOrdersFallback")
+    @Bulkhead(name = "productService", fallbackMethod = "getProductItemByIdsToOrdersFallback")
     public List<ProductItemToOrderResponse> getProductItemByIdsToOrders(List<Integer> productItemIds) {
         return productItemClient.getProductItemByIdsToOrders(productItemIds);
     }
@@ -2,12 +2,12 @@ package com.ecommerce.order.clients;
 
 import com.ecommerce.order.clients.dto.UserResponse;
 import com.ecommerce.order.exceptions.ServiceNotFoundException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
@@ -21,6 +21,7 @@ public class UserCallerService {
     @Retry(name = "retryBreaker", fallbackMethod = "userServiceFallback")
     @CircuitBreaker(name = "userService", fallbackMethod = "userServiceFallback")
     @RateLimiter(name = "userService", fallbackMethod = "userServiceFallback")
+    @Bulkhead(name = "userService", fallbackMethod = "userServiceFallback")
     public UserResponse getUserProfile(Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return userClient.getUserProfile(token);
@@ -34,6 +35,7 @@ public class UserCallerService {
     @Retry(name = "retryBreaker", fallbackMethod = "clearUserCartServiceFallback")
     @CircuitBreaker(name = "userService", fallbackMethod = "clearUserCartServiceFallback")
     @RateLimiter(name = "userService", fallbackMethod = "clearUserCartServiceFallback")
+    @Bulkhead(name = "userService", fallbackMethod = "clearUserCartServiceFallback")
     public void clearUserCart(Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         userClient.clearUseCart(token);
@@ -47,6 +49,7 @@ public class UserCallerService {
     @Retry(name = "retryBreaker", fallbackMethod = "getUserByIdeFallback")
     @CircuitBreaker(name = "userService", fallbackMethod = "getUserByIdeFallback")
     @RateLimiter(name = "userService", fallbackMethod = "getUserByIdeFallback")
+    @Bulkhead(name = "userService", fallbackMethod = "getUserByIdeFallback")
     public UserResponse getUserById(String Id) {
         return userClient.getUserById(Id);
     }
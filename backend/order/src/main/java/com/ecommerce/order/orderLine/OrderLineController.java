@@ -35,6 +35,13 @@ public class OrderLineController {
         return ResponseEntity.ok(orderLineResponses);
     }
 
+    @GetMapping("/can-review")
+    public ResponseEntity<List<Integer>> getUserOwnedOrderLineIds(@RequestParam List<Integer> orderLineIds,
+                                                                  @AuthenticationPrincipal Jwt jwt) {
+        List<Integer> ownedOrderLineIds = orderLineService.getUserOwnedOrderLineIds(orderLineIds, jwt);
+        return ResponseEntity.ok(ownedOrderLineIds);
+    }
+
     @GetMapping("/can-review/{orderLineId}")
     public boolean canUserReviewOrderLine(
             @PathVariable Integer orderLineId,
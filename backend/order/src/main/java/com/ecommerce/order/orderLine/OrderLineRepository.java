@@ -16,6 +16,9 @@ public interface OrderLineRepository extends JpaRepository<OrderLine, Integer> {
 
     boolean existsByIdAndProductItemIdAndShopOrder_UserId(Integer orderLineId, Integer productItemId, String userId);
 
+    @Query("SELECT ol.id FROM OrderLine ol WHERE ol.id IN :orderLineIds AND ol.shopOrder.userId = :userId")
+    List<Integer> findIdsByIdInAndShopOrderUserId(List<Integer> orderLineIds, String userId);
+
     @Query("SELECT ol FROM OrderLine ol JOIN ol.shopOrder so ORDER BY so.orderDate DESC")
     List<OrderLine> findLatestOrderLines(Pageable pageable);
 
@@ -88,4 +88,14 @@ public class OrderLineService {
         return orderLineRepository.existsByIdAndProductItemIdAndShopOrder_UserId(orderLineId, productItemId, user.getId());
 }
 
+    public List<Integer> getUserOwnedOrderLineIds(List<Integer> orderLineIds, Jwt jwt){
+        if (orderLineIds == null || orderLineIds.isEmpty()) {
+            return List.of();
+        }
+
+        UserResponse user = userCallerService.getUserProfile(jwt);
+
+        return orderLineRepository.findIdsByIdInAndShopOrderUserId(orderLineIds, user.getId());
+    }
+
 }
@@ -0,0 +1,99 @@
+package com.ecommerce.order.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+@Slf4j
+public class CachingJwtDecoder implements JwtDecoder, ApplicationListener<ApplicationReadyEvent> {
+
+    private final JWKSource<SecurityContext> jwkSource;
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> validatedTokens;
+
+    public CachingJwtDecoder(String jwkSetUri, Duration jwkCacheTtl, Duration jwkRefreshAhead,
+                             long validatedTokenCacheSize, Duration validatedTokenCacheTtl) {
+        this.jwkSource = JWKSourceBuilder.create(toUrl(jwkSetUri))
+                .cache(jwkCacheTtl.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(jwkRefreshAhead.toMillis(), true)
+                .retrying(true)
+                .build();
+
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        this.delegate = new NimbusJwtDecoder(jwtProcessor);
+
+        this.validatedTokens = Caffeine.newBuilder()
+                .maximumSize(validatedTokenCacheSize)
+                .expireAfterWrite(validatedTokenCacheTtl)
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String tokenHash = hash(token);
+
+        Jwt cached = validatedTokens.getIfPresent(tokenHash);
+        if (cached != null && cached.getExpiresAt() != null && Instant.now().isBefore(cached.getExpiresAt())) {
+            return cached;
+        }
+
+        Jwt jwt = delegate.decode(token);
+        validatedTokens.put(tokenHash, jwt);
+        return jwt;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        try {
+            int keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null).size();
+            log.info("Pre-warmed JWK cache with {} keys", keys);
+        } catch (KeySourceException ex) {
+            log.warn("Could not pre-warm JWK cache, keys will be fetched on first request: {}", ex.getMessage());
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static URL toUrl(String jwkSetUri) {
+        try {
+            return URI.create(jwkSetUri).toURL();
+        } catch (MalformedURLException ex) {
+            throw new IllegalArgumentException("Invalid JWK set URI: " + jwkSetUri, ex);
+        }
+    }
+}
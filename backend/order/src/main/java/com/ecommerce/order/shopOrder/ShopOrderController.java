@@ -7,12 +7,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -72,6 +74,22 @@ public class ShopOrderController {
         return ResponseEntity.status(HttpStatus.OK).body(order);
     }
 
+    @GetMapping("/unsettled")
+    public ResponseEntity<List<UnsettledShopOrderResponse>> getUnsettledShopOrders(
+            @RequestParam(name = "afterId", defaultValue = "0") Integer afterId,
+            @RequestParam(name = "placedAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime placedAfter,
+            @RequestParam(name = "placedBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime placedBefore,
+            @RequestParam(name = "size", defaultValue = "200") int size) {
+        List<UnsettledShopOrderResponse> orders = shopOrderService.getUnsettledShopOrders(afterId, placedAfter, placedBefore, size);
+        return ResponseEntity.status(HttpStatus.OK).body(orders);
+    }
+
+    @PutMapping("/{shopOrderId}/reconcile")
+    public ResponseEntity<ShopOrderResponse> reconcileShopOrderPayment(@PathVariable Integer shopOrderId, @RequestBody ShopOrderPaymentUpdateRequest shopOrderUpdateRequest){
+        ShopOrderResponse order = shopOrderService.reconcileShopOrderPayment(shopOrderId, shopOrderUpdateRequest);
+        return ResponseEntity.status(HttpStatus.OK).body(order);
+    }
+
     @GetMapping("/statistics/totalOrders")
     public ResponseEntity<ShopOrderStatisticsResponse> getShopOrderIncomesAndTotalOrders(){
             ShopOrderStatisticsResponse shopOrderStatisticsResponse = shopOrderService.getShopOrderIncomesAndTotalOrders();
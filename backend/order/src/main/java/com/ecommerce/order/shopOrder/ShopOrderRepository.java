@@ -1,6 +1,8 @@
 package com.ecommerce.order.shopOrder;
 
+import com.ecommerce.order.clients.dto.PaymentStatus;
 import com.ecommerce.order.shopOrder.dto.OrderStatusStatisticsResponse;
+import com.ecommerce.order.shopOrder.dto.UnsettledShopOrderResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -38,4 +40,21 @@ public interface ShopOrderRepository extends JpaRepository<ShopOrder, Integer> {
     List<OrderStatusStatisticsResponse> findTopOrderStatuses(Pageable pageable);
 
     List<ShopOrder> findAllByOrderDateBetween(LocalDateTime start, LocalDateTime end);
+
+    @Query("""
+            SELECT new com.ecommerce.order.shopOrder.dto.UnsettledShopOrderResponse(
+                so.id, so.orderDate, so.finalOrderTotal, so.paymentStatus, so.paymentIntentId, so.paymentTransactionId)
+            FROM ShopOrder so
+            WHERE so.id > :afterId
+              AND so.orderDate >= :placedAfter
+              AND so.orderDate < :placedBefore
+              AND (so.paymentStatus IS NULL OR so.paymentStatus <> :settledStatus)
+            ORDER BY so.id
+            """
+    )
+    List<UnsettledShopOrderResponse> findUnsettledAfter(@Param("afterId") Integer afterId,
+                                                        @Param("placedAfter") LocalDateTime placedAfter,
+                                                        @Param("placedBefore") LocalDateTime placedBefore,
+                                                        @Param("settledStatus") PaymentStatus settledStatus,
+                                                        Pageable pageable);
 }
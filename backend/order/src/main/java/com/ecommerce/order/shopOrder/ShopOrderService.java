@@ -5,6 +5,7 @@ import com.ecommerce.order.clients.UserCallerService;
 import com.ecommerce.order.clients.dto.*;
 import com.ecommerce.order.exceptions.APIException;
 import com.ecommerce.order.exceptions.NotFoundException;
+import com.ecommerce.order.metrics.StageTimer;
 import com.ecommerce.order.orderLine.OrderLine;
 import com.ecommerce.order.orderLine.OrderLineRepository;
 import com.ecommerce.order.orderLine.OrderLineResponseWithProductItem;
@@ -14,6 +15,7 @@ import com.ecommerce.order.shippingMethod.ShippingMethod;
 import com.ecommerce.order.shippingMethod.ShippingMethodRepository;
 import com.ecommerce.order.shippingMethod.ShippingMethodResponse;
 import com.ecommerce.order.shopOrder.dto.*;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -25,6 +27,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
@@ -37,17 +40,21 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ShopOrderService {
 
+    private static final String CREATE_ORDER = "shop-order.create";
+    private static final Duration DEFAULT_UNSETTLED_LOOKBACK = Duration.ofDays(7);
+
     private final ShopOrderRepository shopOrderRepository;
     private final ShippingMethodRepository shippingMethodRepository;
     private final OrderStatusRepository orderStatusRepository;
     private final OrderLineRepository orderLineRepository;
     private final UserCallerService userCallerService;
     private final ProductItemCallerService productItemCallerService;
+    private final StageTimer stageTimer;
 
     @Transactional
     public ShopOrderResponse createShopOrder(ShopOrderRequest request, Jwt jwt) {
 
-        UserResponse user = getAuthenticatedUser(jwt);
+        UserResponse user = stageTimer.record(CREATE_ORDER, "fetch-user", () -> getAuthenticatedUser(jwt));
 
         ShoppingCartResponse cart = user.getShoppingCart();
 
@@ -106,9 +113,10 @@ public class ShopOrderService {
         List<Integer> productItemIds = cart.getShoppingCartItems().stream()
                 .map(item -> item.getProductItemId())
                 .collect(Collectors.toList());
-        List<ProductItemOneByColourResponse> products = productItemCallerService
-                .getProductItemByIdsToCreateOrder(productItemIds);
+        List<ProductItemOneByColourResponse> products = stageTimer.record(CREATE_ORDER, "fetch-products",
+                () -> productItemCallerService.getProductItemByIdsToCreateOrder(productItemIds));
 
+        Timer.Sample stage = stageTimer.start();
         List<ProductItemOneByColour> allProductItems = products.stream()
                 .flatMap(p -> p.getProductItemOneByColour().stream())
                 .collect(Collectors.toList());
@@ -146,9 +154,10 @@ public class ShopOrderService {
                 .collect(Collectors.toList());
 
         order.setOrderLines(orderLines);
+        stageTimer.stop(stage, CREATE_ORDER, "build-lines");
 
-        ShopOrder savedOrder = shopOrderRepository.save(order);
-        userCallerService.clearUserCart(jwt);
+        ShopOrder savedOrder = stageTimer.record(CREATE_ORDER, "persist", () -> shopOrderRepository.save(order));
+        stageTimer.run(CREATE_ORDER, "clear-cart", () -> userCallerService.clearUserCart(jwt));
         return convertToShopOrderResponse(savedOrder);
     }
 
@@ -462,6 +471,34 @@ public class ShopOrderService {
             throw new APIException("This order does not belong to the user");
         }
 
+        return applyPaymentUpdate(shopOrder, shopOrderUpdateRequest);
+    }
+
+    public List<UnsettledShopOrderResponse> getUnsettledShopOrders(Integer afterId, LocalDateTime placedAfter,
+                                                                   LocalDateTime placedBefore, int size) {
+        LocalDateTime upperBound = placedBefore != null ? placedBefore : LocalDateTime.now();
+        return shopOrderRepository.findUnsettledAfter(
+                afterId != null ? afterId : 0,
+                placedAfter != null ? placedAfter : upperBound.minus(DEFAULT_UNSETTLED_LOOKBACK),
+                upperBound,
+                PaymentStatus.SUCCEEDED,
+                PageRequest.of(0, Math.min(Math.max(size, 1), 1000))
+        );
+    }
+
+    @Transactional
+    public ShopOrderResponse reconcileShopOrderPayment(Integer shopOrderId, ShopOrderPaymentUpdateRequest shopOrderUpdateRequest) {
+        ShopOrder shopOrder = shopOrderRepository.findById(shopOrderId).orElseThrow(
+                () -> new NotFoundException("Order", Optional.of(shopOrderId.toString())));
+
+        if (shopOrder.getPaymentStatus() == PaymentStatus.SUCCEEDED) {
+            return convertToShopOrderResponse(shopOrder);
+        }
+
+        return applyPaymentUpdate(shopOrder, shopOrderUpdateRequest);
+    }
+
+    private ShopOrderResponse applyPaymentUpdate(ShopOrder shopOrder, ShopOrderPaymentUpdateRequest shopOrderUpdateRequest) {
         shopOrder.setPaymentId(shopOrderUpdateRequest.getPaymentId());
         shopOrder.setPaymentStatus(shopOrderUpdateRequest.getPaymentStatus());
         shopOrder.setPaymentIntentId(shopOrderUpdateRequest.getPaymentIntentId());
@@ -0,0 +1,20 @@
+package com.ecommerce.order.shopOrder.dto;
+
+import com.ecommerce.order.clients.dto.PaymentStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UnsettledShopOrderResponse {
+    private Integer id;
+    private LocalDateTime orderDate;
+    private Double finalOrderTotal;
+    private PaymentStatus paymentStatus;
+    private String paymentIntentId;
+    private String paymentTransactionId;
+}
@@ -160,4 +160,20 @@ public class OrderLineControllerTest {
 
         verify(orderLineService).canUserReviewOrderLine(eq(1), eq(5), any(Jwt.class));
     }
+
+    @Test
+    void OrderLineController_GetUserOwnedOrderLineIds_Success() throws Exception {
+        when(orderLineService.getUserOwnedOrderLineIds(eq(List.of(1, 2)), any(Jwt.class)))
+                .thenReturn(List.of(2));
+
+        mockMvc.perform(get("/order-line/can-review")
+                        .param("orderLineIds", "1", "2")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0]").value(2));
+
+        verify(orderLineService).getUserOwnedOrderLineIds(eq(List.of(1, 2)), any(Jwt.class));
+    }
 }
@@ -267,4 +267,33 @@ public class OrderLineServiceTest {
 
         assertFalse(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void OrderLineService_GetUserOwnedOrderLineIds_Success() {
+        Jwt jwt = mock(Jwt.class);
+        String currentUserId = "user-123";
+        List<Integer> orderLineIds = List.of(1, 2, 3);
+
+        UserResponse currentUser = UserResponse.builder()
+                .id(currentUserId)
+                .build();
+
+        when(userCallerService.getUserProfile(jwt)).thenReturn(currentUser);
+        when(orderLineRepository.findIdsByIdInAndShopOrderUserId(orderLineIds, currentUserId)).thenReturn(List.of(1, 3));
+
+        List<Integer> result = orderLineService.getUserOwnedOrderLineIds(orderLineIds, jwt);
+
+        assertEquals(List.of(1, 3), result);
+        verify(userCallerService, times(1)).getUserProfile(jwt);
+    }
+
+    @Test
+    void OrderLineService_GetUserOwnedOrderLineIds_EmptyRequest() {
+        Jwt jwt = mock(Jwt.class);
+
+        List<Integer> result = orderLineService.getUserOwnedOrderLineIds(List.of(), jwt);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(userCallerService, orderLineRepository);
+    }
+}
@@ -5,6 +5,7 @@ import com.ecommerce.order.clients.UserCallerService;
 import com.ecommerce.order.clients.dto.*;
 import com.ecommerce.order.exceptions.APIException;
 import com.ecommerce.order.exceptions.NotFoundException;
+import com.ecommerce.order.metrics.StageTimer;
 import com.ecommerce.order.orderStatus.OrderStatus;
 import com.ecommerce.order.orderStatus.OrderStatusRepository;
 import com.ecommerce.order.shippingMethod.ShippingMethod;
@@ -12,10 +13,12 @@ import com.ecommerce.order.shippingMethod.ShippingMethodRepository;
 import com.ecommerce.order.shopOrder.dto.ShopOrderPaymentUpdateRequest;
 import com.ecommerce.order.shopOrder.dto.ShopOrderRequest;
 import com.ecommerce.order.shopOrder.dto.ShopOrderResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.oauth2.jwt.Jwt;
 
@@ -46,6 +49,9 @@ public class ShopOrderServiceTest {
     @Mock
     private ProductItemCallerService productItemCallerService;
 
+    @Spy
+    private StageTimer stageTimer = new StageTimer(new SimpleMeterRegistry());
+
     @InjectMocks
     private ShopOrderService shopOrderService;
 
@@ -261,4 +267,49 @@ public class ShopOrderServiceTest {
         assertThat(response.getPaymentStatus()).isEqualTo(PaymentStatus.SUCCEEDED);
         verify(shopOrderRepository).save(any(ShopOrder.class));
     }
+
+    @Test
+    void ShopOrderService_ReconcileShopOrderPayment_SettlesWithoutOwnershipCheck() {
+        ShopOrder order = ShopOrder.builder()
+                .id(1)
+                .userId("user-123")
+                .orderLines(List.of())
+                .paymentStatus(PaymentStatus.REQUIRES_PAYMENT_METHOD)
+                .build();
+        OrderStatus packing = OrderStatus.builder().id(2).status("packing").build();
+
+        when(shopOrderRepository.findById(1)).thenReturn(Optional.of(order));
+        when(orderStatusRepository.findByStatus("packing")).thenReturn(Optional.of(packing));
+        when(shopOrderRepository.save(any(ShopOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ShopOrderPaymentUpdateRequest updateRequest = ShopOrderPaymentUpdateRequest.builder()
+                .paymentId(5)
+                .paymentStatus(PaymentStatus.SUCCEEDED)
+                .paymentIntentId("pi_123")
+                .paymentTransactionId("pi_123")
+                .orderStatus("packing")
+                .build();
+
+        ShopOrderResponse response = shopOrderService.reconcileShopOrderPayment(1, updateRequest);
+
+        assertThat(response.getPaymentStatus()).isEqualTo(PaymentStatus.SUCCEEDED);
+        verifyNoInteractions(userCallerService);
+    }
+
+    @Test
+    void ShopOrderService_ReconcileShopOrderPayment_AlreadySettled() {
+        ShopOrder order = ShopOrder.builder()
+                .id(1)
+                .userId("user-123")
+                .orderLines(List.of())
+                .paymentStatus(PaymentStatus.SUCCEEDED)
+                .build();
+
+        when(shopOrderRepository.findById(1)).thenReturn(Optional.of(order));
+
+        ShopOrderResponse response = shopOrderService.reconcileShopOrderPayment(1, new ShopOrderPaymentUpdateRequest());
+
+        assertThat(response.getPaymentStatus()).isEqualTo(PaymentStatus.SUCCEEDED);
+        verify(shopOrderRepository, never()).save(any(ShopOrder.class));
+    }
 }
@@ -3,6 +3,7 @@ package com.ecommerce.payment.clients;
 import com.ecommerce.payment.clients.dto.ProductItemOneByColourResponse;
 import com.ecommerce.payment.clients.dto.ProductStockUpdateRequest;
 import com.ecommerce.payment.exceptions.ServiceNotFoundException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
@@ -24,6 +25,7 @@ public class ProductItemCallerService {
     @Retry(name = "productServiceRetry", fallbackMethod = "productItemUpdateStockFallback")
     @CircuitBreaker(name = "productService", fallbackMethod = "productItemUpdateStockFallback")
     @RateLimiter(name = "productService", fallbackMethod = "productItemUpdateStockFallback")
+    @Bulkhead(name = "productService", fallbackMethod = "productItemUpdateStockFallback")
     public void updateProductItemStock(List<ProductStockUpdateRequest> updates, Jwt jwt){
         String token = "Bearer " + jwt.getTokenValue();
         productItemClient.updateProductItemStock(updates, token);
@@ -37,6 +39,7 @@ public class ProductItemCallerService {
     @Retry(name = "productServiceRetry", fallbackMethod = "getProductItemsByIdsFallback")
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductItemsByIdsFallback")
     @RateLimiter(name = "productService", fallbackMethod = "getProductItemsByIdsFallback")
+    @Bulkhead(name = "productService", fallbackMethod = "getProductItemsByIdsFallback")
     public List<ProductItemOneByColourResponse> getProductItemsByIds(List<Integer> productItemIds){
         return productItemClient.getProductItemsByIds(productItemIds);
     }
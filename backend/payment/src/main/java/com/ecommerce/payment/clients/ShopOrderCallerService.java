@@ -3,7 +3,9 @@ package com.ecommerce.payment.clients;
 import com.ecommerce.payment.clients.dto.ShopOrderRequest;
 import com.ecommerce.payment.clients.dto.ShopOrderResponse;
 import com.ecommerce.payment.clients.dto.ShopOrderPaymentUpdateRequest;
+import com.ecommerce.payment.clients.dto.UnsettledShopOrderResponse;
 import com.ecommerce.payment.exceptions.ServiceNotFoundException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
@@ -12,6 +14,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -22,6 +27,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderServiceRetry", fallbackMethod = "shopOrderGetOrderIdFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "shopOrderGetOrderIdFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "shopOrderGetOrderIdFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "shopOrderGetOrderIdFallback")
     public ShopOrderResponse getUserShopOrderById(Integer shopOrderId, Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return shopOrderClient.getUserShopOrderById(shopOrderId, token);
@@ -35,6 +41,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderServiceRetry", fallbackMethod = "shopOrderGetPaymentIntentIdFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "shopOrderGetPaymentIntentIdFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "shopOrderGetPaymentIntentIdFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "shopOrderGetPaymentIntentIdFallback")
     public ShopOrderResponse getByPaymentIntentId(String paymentIntentId, Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return shopOrderClient.getByPaymentIntentId(paymentIntentId, token);
@@ -48,6 +55,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderServiceRetry", fallbackMethod = "shopOrderCreateShopOrderFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "shopOrderCreateShopOrderFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "shopOrderCreateShopOrderFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "shopOrderCreateShopOrderFallback")
     public ShopOrderResponse createShopOrder(ShopOrderRequest shopOrder, Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return shopOrderClient.createShopOrder(shopOrder, token);
@@ -61,6 +69,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderServiceRetry", fallbackMethod = "createShopOrderByKafkaFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "createShopOrderByKafkaFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "createShopOrderByKafkaFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "createShopOrderByKafkaFallback")
     public ShopOrderResponse createShopOrderByKafka(ShopOrderRequest shopOrder) {
         return shopOrderClient.createShopOrderByKafka(shopOrder);
     }
@@ -73,6 +82,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderServiceRetry", fallbackMethod = "updateShopOrderFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "updateShopOrderFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "updateShopOrderFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "updateShopOrderFallback")
     public ShopOrderResponse updateShopOrder(Integer shopOrderId, ShopOrderPaymentUpdateRequest shopOrderUpdateRequest, Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return shopOrderClient.updateShopOrder(shopOrderId, shopOrderUpdateRequest, token);
@@ -82,4 +92,28 @@ public class ShopOrderCallerService {
         log.error("Failed to updateShopOrderFallback, shopOrder service, error: ", ex.getMessage());
         throw new ServiceNotFoundException("shopOrder", "updateShopOrderFallback", ex.getMessage());
     }
+
+    @Retry(name = "shopOrderServiceRetry", fallbackMethod = "getUnsettledShopOrdersFallback")
+    @CircuitBreaker(name = "shopOrderService", fallbackMethod = "getUnsettledShopOrdersFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "getUnsettledShopOrdersFallback")
+    public List<UnsettledShopOrderResponse> getUnsettledShopOrders(Integer afterId, LocalDateTime placedAfter, LocalDateTime placedBefore, int size, String accessToken) {
+        return shopOrderClient.getUnsettledShopOrders(afterId, placedAfter, placedBefore, size, "Bearer " + accessToken);
+    }
+
+    public List<UnsettledShopOrderResponse> getUnsettledShopOrdersFallback(Integer afterId, LocalDateTime placedAfter, LocalDateTime placedBefore, int size, String accessToken, Throwable ex) {
+        log.error("Failed to getUnsettledShopOrders, shopOrder service, error: ", ex.getMessage());
+        throw new ServiceNotFoundException("shopOrder", "getUnsettledShopOrders", ex.getMessage());
+    }
+
+    @Retry(name = "shopOrderServiceRetry", fallbackMethod = "reconcileShopOrderPaymentFallback")
+    @CircuitBreaker(name = "shopOrderService", fallbackMethod = "reconcileShopOrderPaymentFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "reconcileShopOrderPaymentFallback")
+    public ShopOrderResponse reconcileShopOrderPayment(Integer shopOrderId, ShopOrderPaymentUpdateRequest shopOrderUpdateRequest, String accessToken) {
+        return shopOrderClient.reconcileShopOrderPayment(shopOrderId, shopOrderUpdateRequest, "Bearer " + accessToken);
+    }
+
+    public ShopOrderResponse reconcileShopOrderPaymentFallback(Integer shopOrderId, ShopOrderPaymentUpdateRequest shopOrderUpdateRequest, String accessToken, Throwable ex) {
+        log.error("Failed to reconcileShopOrderPayment, shopOrder service, error: ", ex.getMessage());
+        throw new ServiceNotFoundException("shopOrder", "reconcileShopOrderPayment", ex.getMessage());
+    }
 }
@@ -3,9 +3,14 @@ package com.ecommerce.payment.clients;
 import com.ecommerce.payment.clients.dto.ShopOrderRequest;
 import com.ecommerce.payment.clients.dto.ShopOrderResponse;
 import com.ecommerce.payment.clients.dto.ShopOrderPaymentUpdateRequest;
+import com.ecommerce.payment.clients.dto.UnsettledShopOrderResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @FeignClient(name="order-service", url = "${ORDER_SERVICE_URL}")
 public interface ShopOrderClient {
 
@@ -25,4 +30,14 @@ public interface ShopOrderClient {
     @PutMapping("/shop-order/{shopOrderId}")
     ShopOrderResponse updateShopOrder(@PathVariable Integer shopOrderId, @RequestBody ShopOrderPaymentUpdateRequest shopOrderUpdateRequest, @RequestHeader("Authorization") String authorizationHeader);
 
+    @GetMapping("/shop-order/unsettled")
+    List<UnsettledShopOrderResponse> getUnsettledShopOrders(@RequestParam("afterId") Integer afterId,
+                                                            @RequestParam("placedAfter") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime placedAfter,
+                                                            @RequestParam("placedBefore") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime placedBefore,
+                                                            @RequestParam("size") int size,
+                                                            @RequestHeader("Authorization") String authorizationHeader);
+
+    @PutMapping("/shop-order/{shopOrderId}/reconcile")
+    ShopOrderResponse reconcileShopOrderPayment(@PathVariable Integer shopOrderId, @RequestBody ShopOrderPaymentUpdateRequest shopOrderUpdateRequest, @RequestHeader("Authorization") String authorizationHeader);
+
 }
@@ -2,6 +2,7 @@ package com.ecommerce.payment.clients;
 
 import com.ecommerce.payment.clients.dto.UserPaymentMethodResponse;
 import com.ecommerce.payment.exceptions.ServiceNotFoundException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
@@ -19,6 +20,7 @@ public class UserCallerService {
     @Retry(name = "userServiceRetry", fallbackMethod = "userServiceFallback")
     @CircuitBreaker(name = "userService", fallbackMethod = "userServiceFallback")
     @RateLimiter(name = "userService", fallbackMethod = "userServiceFallback")
+    @Bulkhead(name = "userService", fallbackMethod = "userServiceFallback")
     public UserPaymentMethodResponse getUserPaymentMethodById(String paymentMethodId, String jwt){
         return userClient.getUserPaymentMethodById(paymentMethodId, jwt);
     }
@@ -0,0 +1,20 @@
+package com.ecommerce.payment.clients.dto;
+
+import com.ecommerce.payment.payment.Payment;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UnsettledShopOrderResponse {
+    private Integer id;
+    private LocalDateTime orderDate;
+    private Double finalOrderTotal;
+    private Payment.PaymentStatus paymentStatus;
+    private String paymentIntentId;
+    private String paymentTransactionId;
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.payment.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feign clients ask for Smile first and still accept JSON from services that do not offer it. Every call is marked
+ * with {@link SmileCodecConfig#INTERNAL_CALL_HEADER} so the called service is willing to answer in Smile.
+ */
+@Configuration
+public class SmileFeignConfig {
+
+    static final String INTERNAL_ACCEPT = SmileCodecConfig.SMILE_MEDIA_TYPE + ", application/json;q=0.9";
+
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    public SmileFeignConfig(ObjectMapper objectMapper) {
+        this.smileConverter = SmileCodecConfig.smileConverter(objectMapper);
+    }
+
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        SingletonSupplier<HttpMessageConverters> withSmile = SingletonSupplier.of(() -> {
+            List<HttpMessageConverter<?>> converters = new ArrayList<>(messageConverters.getObject().getConverters());
+            converters.add(smileConverter);
+            return new HttpMessageConverters(false, converters);
+        });
+        return new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(withSmile::obtain, customizers)));
+    }
+
+    @Bean
+    public RequestInterceptor smileAcceptInterceptor() {
+        return template -> {
+            template.header(SmileCodecConfig.INTERNAL_CALL_HEADER, "true");
+            if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, INTERNAL_ACCEPT);
+            }
+        };
+    }
+}
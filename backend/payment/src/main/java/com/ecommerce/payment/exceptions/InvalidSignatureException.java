@@ -0,0 +1,11 @@
+package com.ecommerce.payment.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class InvalidSignatureException extends APIException {
+    public InvalidSignatureException(String message) {
+        super(message);
+    }
+}
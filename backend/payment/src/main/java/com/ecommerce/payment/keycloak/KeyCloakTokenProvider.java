@@ -0,0 +1,107 @@
+package com.ecommerce.payment.keycloak;
+
+import com.ecommerce.payment.exceptions.APIException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KeyCloakTokenProvider {
+
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 60;
+
+    @Value("${keycloak.admin.server-url}")
+    private String keycloakServerUrl;
+
+    @Value("${keycloak.admin.realm}")
+    private String realm;
+
+    @Value("${keycloak.admin.client-id}")
+    private String clientId;
+
+    @Value("${keycloak.admin.client-secret}")
+    private String clientSecret;
+
+    @Value("${keycloak.admin.token-refresh-skew:30s}")
+    private Duration refreshSkew;
+
+    private final RestTemplate restTemplate;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile CachedToken cachedToken;
+
+    public String getClientAccessToken() {
+        CachedToken token = cachedToken;
+        if (token != null && token.isFresh(Instant.now())) {
+            return token.getValue();
+        }
+
+        // A ReentrantLock rather than a monitor: the refresh is a blocking HTTP call, and holding a
+        // monitor across it would pin the virtual thread to its carrier on JDK 21.
+        refreshLock.lock();
+        try {
+            token = cachedToken;
+            if (token == null || !token.isFresh(Instant.now())) {
+                token = requestClientAccessToken();
+                cachedToken = token;
+            }
+            return token.getValue();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private CachedToken requestClientAccessToken() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("grant_type", "client_credentials");
+        params.add("client_id", clientId);
+        params.add("client_secret", clientSecret);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(params, headers);
+
+        String url = keycloakServerUrl + "/realms/" + realm + "/protocol/openid-connect/token";
+
+        Map<?, ?> body = restTemplate.postForObject(url, entity, Map.class);
+        if (body == null || body.get("access_token") == null) {
+            throw new APIException("Keycloak did not return a client access token");
+        }
+
+        long expiresIn = body.get("expires_in") instanceof Number number
+                ? number.longValue()
+                : DEFAULT_EXPIRES_IN_SECONDS;
+        Instant refreshAt = Instant.now().plusSeconds(expiresIn).minus(refreshSkew);
+        log.debug("Fetched Keycloak client access token, valid for {}s", expiresIn);
+
+        return new CachedToken((String) body.get("access_token"), refreshAt);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedToken {
+        private final String value;
+        private final Instant refreshAt;
+
+        boolean isFresh(Instant now) {
+            return now.isBefore(refreshAt);
+        }
+    }
+}
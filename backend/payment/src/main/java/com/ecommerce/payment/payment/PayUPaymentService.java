@@ -2,21 +2,25 @@ package com.ecommerce.payment.payment;
 
 import com.ecommerce.payment.clients.ProductItemCallerService;
 import com.ecommerce.payment.clients.dto.*;
+import com.ecommerce.payment.exceptions.InvalidSignatureException;
 import com.ecommerce.payment.payment.PayUDTO.PayUOrder;
 import com.ecommerce.payment.payment.PayUDTO.PayUPayload;
 import com.ecommerce.payment.payment.PayUDTO.PayUProperty;
+import com.ecommerce.payment.webhook.WebhookInboxService;
+import com.ecommerce.payment.webhook.WebhookProvider;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
 import javax.naming.InsufficientResourcesException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -26,16 +30,18 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PayUPaymentService {
 
+    private static final Map<String, String> SIGNATURE_ALGORITHMS = Map.of(
+            "MD5", "MD5",
+            "SHA256", "SHA-256",
+            "SHA-256", "SHA-256"
+    );
+
     private final PaymentService paymentService;
     private final RestTemplate restTemplate;
+    private final PayUTokenProvider payUTokenProvider;
     private final ProductItemCallerService productItemCallerService;
     private final ObjectMapper objectMapper;
-
-    @Value("${application.payu.client-id}")
-    private String clientId;
-
-    @Value("${application.payu.client-secret}")
-    private String clientSecret;
+    private final WebhookInboxService webhookInboxService;
 
     @Value("${application.payu.pos-id}")
     private String posId;
@@ -43,39 +49,20 @@ public class PayUPaymentService {
     @Value("${application.payu.api-url}")
     private String apiUrl;
 
+    @Value("${application.payu.second-key}")
+    private String secondKey;
+
     @Value("${application.payu.notify-url}")
     private String notifyUrl;
 
     @Value("${application.payment.success-url}")
     private String successURL;
 
-    private String getAccessToken() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-        headers.setBasicAuth(clientId, clientSecret);
-
-        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-        body.add("grant_type", "client_credentials");
-
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
-
-        String authUrl = apiUrl + "/pl/standard/user/oauth/authorize";
-
-        ResponseEntity<Map> response = restTemplate.postForEntity(authUrl, request, Map.class);
-
-        if (response.getStatusCode() == HttpStatus.OK) {
-            Map<String, Object> responseBody = response.getBody();
-            return (String) responseBody.get("access_token");
-        } else {
-            throw new RuntimeException("OAuth failed: " + response.getStatusCode());
-        }
-    }
-
     public String createCheckoutSession(ShopOrderResponse order, String clientIp) throws InsufficientResourcesException {
 
         validateStock(order);
 
-        String accessToken = getAccessToken();
+        String accessToken = payUTokenProvider.getAccessToken();
 
         Map<String, Object> orderRequest = new HashMap<>();
 
@@ -139,16 +126,75 @@ public class PayUPaymentService {
         return String.valueOf(Math.round(amount * 100));//USD
     }
 
-    @Transactional
     public void handleWebhookEvent(String payload, String signature) throws Exception {
+        verifySignature(payload, signature);
+
         PayUPayload payloadObj = objectMapper.readValue(payload, PayUPayload.class);
         PayUOrder order = payloadObj.getOrder();
 
-        if ("COMPLETED".equals(order.getStatus()) || "SUCCESS".equals(order.getStatus())) {
+        if (isSuccessful(order)) {
+            webhookInboxService.record(WebhookProvider.PAYU, order.getOrderId() + ":" + order.getStatus(), order.getStatus(), payload);
+        }
+    }
+
+    public void processWebhookEvent(String payload) throws Exception {
+        PayUPayload payloadObj = objectMapper.readValue(payload, PayUPayload.class);
+
+        if (isSuccessful(payloadObj.getOrder())) {
             handleSuccessfulPayment(payloadObj);
         }
     }
 
+    private boolean isSuccessful(PayUOrder order) {
+        return "COMPLETED".equals(order.getStatus()) || "SUCCESS".equals(order.getStatus());
+    }
+
+    @PostConstruct
+    void requireSecondKey() {
+        if (secondKey == null || secondKey.isBlank()) {
+            throw new IllegalStateException("application.payu.second-key must be set to verify PayU notifications");
+        }
+    }
+
+    private void verifySignature(String payload, String signatureHeader) {
+        if (signatureHeader == null) {
+            throw new InvalidSignatureException("Missing PayU signature");
+        }
+
+        Map<String, String> parts = new HashMap<>();
+        for (String part : signatureHeader.split(";")) {
+            String[] keyValue = part.split("=", 2);
+            if (keyValue.length == 2) {
+                parts.put(keyValue[0].trim(), keyValue[1].trim());
+            }
+        }
+
+        String algorithm = SIGNATURE_ALGORITHMS.get(parts.getOrDefault("algorithm", "").toUpperCase());
+        String received = parts.get("signature");
+        if (algorithm == null || received == null) {
+            throw new InvalidSignatureException("Invalid PayU signature");
+        }
+
+        byte[] expected;
+        try {
+            expected = MessageDigest.getInstance(algorithm)
+                    .digest((payload + secondKey).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " is not available", e);
+        }
+
+        byte[] actual;
+        try {
+            actual = HexFormat.of().parseHex(received);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSignatureException("Invalid PayU signature");
+        }
+
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new InvalidSignatureException("Invalid PayU signature");
+        }
+    }
+
     private void handleSuccessfulPayment(PayUPayload payloadObj) throws InsufficientResourcesException {
         Integer orderId = extractOrderIdFromExtOrderId(payloadObj.getOrder().getExtOrderId());
 
@@ -0,0 +1,151 @@
+package com.ecommerce.payment.payment;
+
+import com.ecommerce.payment.exceptions.APIException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PayUTokenProvider {
+
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 60;
+
+    @Value("${application.payu.client-id}")
+    private String clientId;
+
+    @Value("${application.payu.client-secret}")
+    private String clientSecret;
+
+    @Value("${application.payu.api-url}")
+    private String apiUrl;
+
+    @Value("${application.payu.token-expiry-skew:30s}")
+    private Duration expirySkew;
+
+    @Value("${application.payu.token-refresh-ahead:5m}")
+    private Duration refreshAhead;
+
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private volatile CachedToken cachedToken;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("payu.oauth.token.ttl", this, PayUTokenProvider::secondsUntilExpiry)
+                .baseUnit("seconds")
+                .description("Seconds until the cached PayU access token expires")
+                .register(meterRegistry);
+    }
+
+    public String getAccessToken() {
+        CachedToken token = cachedToken;
+        if (token != null && token.isUsable(Instant.now())) {
+            return token.getValue();
+        }
+
+        return refresh("on-demand", false).getValue();
+    }
+
+    @Scheduled(fixedDelayString = "${application.payu.token-refresh-check-ms:10000}")
+    public void refreshBeforeExpiry() {
+        CachedToken token = cachedToken;
+        if (token == null || !token.shouldRefresh(Instant.now())) {
+            return;
+        }
+
+        try {
+            refresh("background", true);
+        } catch (Exception ex) {
+            log.warn("Background PayU token refresh failed, current token stays in use: {}", ex.getMessage());
+        }
+    }
+
+    private synchronized CachedToken refresh(String trigger, boolean proactive) {
+        CachedToken token = cachedToken;
+        Instant now = Instant.now();
+        if (token != null && (proactive ? !token.shouldRefresh(now) : token.isUsable(now))) {
+            return token;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "failure";
+        try {
+            token = requestAccessToken();
+            cachedToken = token;
+            result = "success";
+            return token;
+        } finally {
+            sample.stop(meterRegistry.timer("payu.oauth.token.refresh", "trigger", trigger, "result", result));
+        }
+    }
+
+    private CachedToken requestAccessToken() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        headers.setBasicAuth(clientId, clientSecret);
+
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        body.add("grant_type", "client_credentials");
+
+        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
+
+        String authUrl = apiUrl + "/pl/standard/user/oauth/authorize";
+
+        Map<?, ?> response = restTemplate.postForObject(authUrl, request, Map.class);
+        if (response == null || response.get("access_token") == null) {
+            throw new APIException("PayU did not return an access token");
+        }
+
+        long expiresIn = response.get("expires_in") instanceof Number number
+                ? number.longValue()
+                : DEFAULT_EXPIRES_IN_SECONDS;
+        Duration lifetime = Duration.ofSeconds(expiresIn).minus(expirySkew);
+        Duration refreshLead = refreshAhead.compareTo(lifetime.dividedBy(2)) < 0 ? refreshAhead : lifetime.dividedBy(2);
+        Instant expiresAt = Instant.now().plus(lifetime);
+        log.debug("Fetched PayU access token, valid for {}s", expiresIn);
+
+        return new CachedToken((String) response.get("access_token"), expiresAt, expiresAt.minus(refreshLead));
+    }
+
+    private double secondsUntilExpiry() {
+        CachedToken token = cachedToken;
+        return token == null ? 0 : Math.max(0, Duration.between(Instant.now(), token.getExpiresAt()).toSeconds());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedToken {
+        private final String value;
+        private final Instant expiresAt;
+        private final Instant refreshAt;
+
+        boolean isUsable(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+
+        boolean shouldRefresh(Instant now) {
+            return !now.isBefore(refreshAt);
+        }
+    }
+}
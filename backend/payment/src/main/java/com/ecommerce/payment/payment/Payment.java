@@ -11,21 +11,27 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "payment")
+@Table(
+        name = "payment",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_payment_payment_intent_id", columnNames = "payment_intent_id"),
+                @UniqueConstraint(name = "uk_payment_transaction_id", columnNames = "transaction_id"),
+                @UniqueConstraint(name = "uk_payment_shop_order_id", columnNames = "shop_order_id")
+        }
+)
 public class Payment {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(nullable = false, unique = true)
+    @Column(name = "transaction_id", nullable = false)
     private String transactionId;
 
-    @Column(nullable = false, unique = true)
+    @Column(name = "payment_intent_id", nullable = false)
     private String paymentIntentId;
 
-
-    @Column(nullable = false, unique = true)
+    @Column(name = "shop_order_id", nullable = false)
     private Integer shopOrderId;
 
     private String provider;
@@ -2,14 +2,33 @@ package com.ecommerce.payment.payment;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment,Integer> {
     Optional<Payment> findByPaymentIntentId(String paymentIntentId);
 
+    Optional<Payment> findByTransactionId(String transactionId);
+
     Optional<Payment> findByShopOrderId(Integer shopOrderId);
 
     List<Payment> findAllByShopOrderId(Integer shopOrderId);
+
+    List<Payment> findAllByShopOrderIdInAndStatus(Collection<Integer> shopOrderIds, Payment.PaymentStatus status);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO payment (transaction_id, payment_intent_id, shop_order_id, provider, last4card_number,
+                                 payment_date, created_at, status)
+            VALUES (:#{#payment.transactionId}, :#{#payment.paymentIntentId}, :#{#payment.shopOrderId},
+                    :#{#payment.provider}, :#{#payment.last4CardNumber}, :#{#payment.paymentDate},
+                    :#{#payment.createdAt}, :#{#payment.status.name()})
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("payment") Payment payment);
 }
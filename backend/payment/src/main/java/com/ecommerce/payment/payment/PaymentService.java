@@ -5,11 +5,14 @@ import com.ecommerce.payment.clients.dto.*;
 import com.ecommerce.payment.kafka.KafkaProducers;
 import com.ecommerce.payment.exceptions.APIException;
 import com.ecommerce.payment.exceptions.NotFoundException;
+import com.ecommerce.payment.metrics.StageTimer;
 import com.ecommerce.payment.rabbitMq.OrderEmailProducer;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.PaymentMethod;
 import com.stripe.model.checkout.Session;
+import com.stripe.param.checkout.SessionRetrieveParams;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,14 +30,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PaymentService {
 
+    private static final String VERIFY_PAYMENT = "payment.verify";
+
     @Value("${application.stripe.secret-key}")
     private String stripeSecretKey;
 
     private final PaymentRepository paymentRepository;
     private final ShopOrderCallerService shopOrderCallerService;
-    private final ProductItemCallerService productItemCallerService;
     private final OrderEmailProducer orderEmailProducer;
     private final KafkaProducers kafkaProducers;
+    private final StageTimer stageTimer;
 
     @Transactional
     public PaymentResponse createPayment(PaymentRequest request) throws InsufficientResourcesException {
@@ -47,7 +52,7 @@ public class PaymentService {
             throw new APIException("Payment not completed successfully. Current status: " + request.getStatus());
         }
 
-        Payment payment = Payment.builder()
+        Payment payment = upsertPayment(Payment.builder()
                 .transactionId(request.getTransactionId())
                 .paymentIntentId(request.getPaymentIntentId())
                 .shopOrderId(request.getShopOrderId())
@@ -55,94 +60,141 @@ public class PaymentService {
                 .last4CardNumber(request.getLast4CardNumber())
                 .paymentDate(request.getPaymentDate())
                 .status(request.getStatus())
-                .build();
+                .build());
+
+        return mapToPaymentResponse(payment);
+    }
 
-        Payment savedPayment = paymentRepository.save(payment);
+    private Payment upsertPayment(Payment payment) {
+        payment.setCreatedAt(LocalDateTime.now());
 
+        if (paymentRepository.insertIfAbsent(payment) == 0) {
+            log.debug("Payment {} for order {} already recorded", payment.getPaymentIntentId(), payment.getShopOrderId());
+        }
+
+        Payment stored = paymentRepository.findByPaymentIntentId(payment.getPaymentIntentId())
+                .or(() -> paymentRepository.findByTransactionId(payment.getTransactionId()))
+                .or(() -> paymentRepository.findByShopOrderId(payment.getShopOrderId()))
+                .orElseThrow(() -> new APIException("Payment for order " + payment.getShopOrderId() + " could not be recorded"));
+
+        if (!stored.getPaymentIntentId().equals(payment.getPaymentIntentId())) {
+            log.warn("Order {} already has payment {}, ignoring payment {}",
+                    payment.getShopOrderId(), stored.getPaymentIntentId(), payment.getPaymentIntentId());
+        }
+        return stored;
+    }
+
+    private PaymentResponse mapToPaymentResponse(Payment payment) {
         return PaymentResponse.builder()
-                .id(savedPayment.getId())
-                .transactionId(savedPayment.getTransactionId())
-                .paymentIntentId(savedPayment.getPaymentIntentId())
-                .shopOrderId(savedPayment.getShopOrderId())
-                .provider(savedPayment.getProvider())
-                .last4CardNumber(savedPayment.getLast4CardNumber())
-                .paymentDate(savedPayment.getPaymentDate())
-                .createdAt(savedPayment.getCreatedAt())
-                .updatedAt(savedPayment.getUpdatedAt())
-                .status(savedPayment.getStatus())
+                .id(payment.getId())
+                .transactionId(payment.getTransactionId())
+                .paymentIntentId(payment.getPaymentIntentId())
+                .shopOrderId(payment.getShopOrderId())
+                .provider(payment.getProvider())
+                .last4CardNumber(payment.getLast4CardNumber())
+                .paymentDate(payment.getPaymentDate())
+                .createdAt(payment.getCreatedAt())
+                .updatedAt(payment.getUpdatedAt())
+                .status(payment.getStatus())
                 .build();
     }
 
     @Transactional
     public PaymentVerificationResponse verifyPayment(String sessionId, Jwt jwt) throws StripeException, InsufficientResourcesException {
 
-        Session session = Session.retrieve(sessionId);
-        String paymentIntentId = session.getPaymentIntent();
-        String orderIdStr = session.getMetadata().get("order_id");
-        Integer orderId = Integer.parseInt(orderIdStr);
         String userEmail = jwt.getClaimAsString("email");
 
-        ShopOrderResponse shopOrder = shopOrderCallerService.getUserShopOrderById(orderId, jwt);
-
-        Payment payment = paymentRepository.findByPaymentIntentId(paymentIntentId)
-                .orElseThrow(() -> new NotFoundException("Payment", Optional.empty()));
-
-        PaymentIntent intent = PaymentIntent.retrieve(payment.getPaymentIntentId());
-
-        if ("succeeded".equals(intent.getStatus())) {
+        Payment payment;
+        ShopOrderResponse shopOrder;
+
+        Optional<Payment> recordedPayment = paymentRepository.findByTransactionId(sessionId);
+        if (recordedPayment.isPresent()) {
+            payment = recordedPayment.get();
+            shopOrder = stageTimer.record(VERIFY_PAYMENT, "fetch-order",
+                    () -> shopOrderCallerService.getUserShopOrderById(recordedPayment.get().getShopOrderId(), jwt));
+        } else {
+            Timer.Sample stage = stageTimer.start();
+            Session session = Session.retrieve(
+                    sessionId,
+                    SessionRetrieveParams.builder().addExpand("payment_intent.payment_method").build(),
+                    null
+            );
+            stageTimer.stop(stage, VERIFY_PAYMENT, "stripe-session");
+            Integer orderId = Integer.parseInt(session.getMetadata().get("order_id"));
 
-            if (shopOrder.getPaymentStatus() == Payment.PaymentStatus.SUCCEEDED) {
+            PaymentIntent intent = session.getPaymentIntentObject();
+            if (intent == null || !"succeeded".equals(intent.getStatus())) {
                 return PaymentVerificationResponse.builder()
-                        .id(shopOrder.getPaymentId())
-                        .transactionId(intent.getId())
-                        .paymentIntentId(paymentIntentId)
-                        .shopOrder(shopOrder)
-                        .createdAt(shopOrder.getPaymentCreatedAt())
-                        .updatedAt(shopOrder.getPaymentUpdatedAt())
-                        .status(shopOrder.getPaymentStatus())
+                        .status(Payment.PaymentStatus.FAILED)
                         .build();
             }
 
-            PaymentMethod paymentMethod = PaymentMethod.retrieve(intent.getPaymentMethod());
-            String cardBrand = paymentMethod.getCard().getBrand();
-
-            ShopOrderPaymentUpdateRequest updateRequest = new ShopOrderPaymentUpdateRequest();
-            updateRequest.setPaymentId(payment.getId());
-            updateRequest.setPaymentStatus(Payment.PaymentStatus.SUCCEEDED);
-            updateRequest.setPaymentIntentId(paymentIntentId);
-            updateRequest.setPaymentTransactionId(sessionId);
-            updateRequest.setPaymentMethodName(cardBrand);
-            updateRequest.setOrderStatus("packing");
-            updateRequest.setPaymentCreatedAt(LocalDateTime.now());
+            // The order lookup is scoped to the caller, so it doubles as the ownership check and must
+            // complete before anything is persisted for this session.
+            shopOrder = stageTimer.record(VERIFY_PAYMENT, "fetch-order",
+                    () -> shopOrderCallerService.getUserShopOrderById(orderId, jwt));
+            payment = stageTimer.record(VERIFY_PAYMENT, "record-payment", () -> recordStripePayment(session, intent, orderId));
+        }
 
-            shopOrder = shopOrderCallerService.updateShopOrder(orderId, updateRequest, jwt);
+        if (shopOrder.getPaymentStatus() == Payment.PaymentStatus.SUCCEEDED) {
+            return buildVerificationResponse(shopOrder, payment);
+        }
 
-            refreshProductStock(shopOrder, jwt);
-            updateProductStock(shopOrder, jwt);
+        ShopOrderPaymentUpdateRequest updateRequest = new ShopOrderPaymentUpdateRequest();
+        updateRequest.setPaymentId(payment.getId());
+        updateRequest.setPaymentStatus(Payment.PaymentStatus.SUCCEEDED);
+        updateRequest.setPaymentIntentId(payment.getPaymentIntentId());
+        updateRequest.setPaymentTransactionId(sessionId);
+        updateRequest.setPaymentMethodName(payment.getProvider());
+        updateRequest.setOrderStatus("packing");
+        updateRequest.setPaymentCreatedAt(LocalDateTime.now());
+
+        Integer shopOrderId = shopOrder.getId();
+        shopOrder = stageTimer.record(VERIFY_PAYMENT, "update-order",
+                () -> shopOrderCallerService.updateShopOrder(shopOrderId, updateRequest, jwt));
+
+        Timer.Sample stage = stageTimer.start();
+        publishStockUpdate(shopOrder);
+
+        orderEmailProducer.sendOrderEmail(
+                new OrderConfirmationEmailPayload(
+                        shopOrder.getId(),
+                        userEmail,
+                        shopOrder.getOrderLines(),
+                        shopOrder.getOrderDate(),
+                        shopOrder.getFinalOrderTotal(),
+                        shopOrder.getShippingMethod()
+                )
+        );
+        stageTimer.stop(stage, VERIFY_PAYMENT, "publish-events");
+
+        return buildVerificationResponse(shopOrder, payment);
+    }
 
-            orderEmailProducer.sendOrderEmail(
-                    new OrderConfirmationEmailPayload(
-                            shopOrder.getId(),
-                            userEmail,
-                            shopOrder.getOrderLines(),
-                            shopOrder.getOrderDate(),
-                            shopOrder.getFinalOrderTotal(),
-                            shopOrder.getShippingMethod()
-                    )
-            );
+    private Payment recordStripePayment(Session session, PaymentIntent intent, Integer orderId) {
+        PaymentMethod paymentMethod = intent.getPaymentMethodObject();
+        PaymentMethod.Card card = paymentMethod != null ? paymentMethod.getCard() : null;
+
+        return upsertPayment(Payment.builder()
+                .transactionId(session.getId())
+                .paymentIntentId(intent.getId())
+                .shopOrderId(orderId)
+                .provider(card != null ? card.getBrand() : null)
+                .last4CardNumber(card != null ? card.getLast4() : null)
+                .paymentDate(LocalDateTime.now())
+                .status(Payment.PaymentStatus.SUCCEEDED)
+                .build());
+    }
 
-            return PaymentVerificationResponse.builder()
-                    .id(shopOrder.getPaymentId())
-                    .transactionId(intent.getId())
-                    .paymentIntentId(paymentIntentId)
-                    .shopOrder(shopOrder)
-                    .createdAt(shopOrder.getPaymentCreatedAt())
-                    .updatedAt(shopOrder.getPaymentUpdatedAt())
-                    .status(shopOrder.getPaymentStatus())
-                    .build();
-        }
+    private PaymentVerificationResponse buildVerificationResponse(ShopOrderResponse shopOrder, Payment payment) {
         return PaymentVerificationResponse.builder()
-                .status(Payment.PaymentStatus.FAILED)
+                .id(shopOrder.getPaymentId())
+                .transactionId(payment.getPaymentIntentId())
+                .paymentIntentId(payment.getPaymentIntentId())
+                .shopOrder(shopOrder)
+                .createdAt(shopOrder.getPaymentCreatedAt())
+                .updatedAt(shopOrder.getPaymentUpdatedAt())
+                .status(shopOrder.getPaymentStatus())
                 .build();
     }
 
@@ -179,8 +231,7 @@ public class PaymentService {
 
             shopOrder = shopOrderCallerService.updateShopOrder(orderId, updateRequest, jwt);
 
-            refreshProductStock(shopOrder, jwt);
-            updateProductStock(shopOrder, jwt);
+            publishStockUpdate(shopOrder);
 
             orderEmailProducer.sendOrderEmail(
                     new OrderConfirmationEmailPayload(
@@ -204,45 +255,31 @@ public class PaymentService {
                     .build();
     }
 
-    private void updateProductStock(ShopOrderResponse order, Jwt jwt) throws InsufficientResourcesException {
-        List<ProductStockUpdateRequest> updateRequests = new ArrayList<>();
+    @Transactional
+    public ShopOrderResponse settleReconciledPayment(PaymentRequest request, String accessToken) throws InsufficientResourcesException {
+        PaymentResponse payment = createPayment(request);
 
-        for (OrderLineResponse orderLine : order.getOrderLines()) {
-            ProductItemToOrderResponse productItem = orderLine.getProductItem();
-            int orderedQty = orderLine.getQty();
+        ShopOrderPaymentUpdateRequest updateRequest = new ShopOrderPaymentUpdateRequest();
+        updateRequest.setPaymentId(payment.getId());
+        updateRequest.setPaymentStatus(Payment.PaymentStatus.SUCCEEDED);
+        updateRequest.setPaymentIntentId(payment.getPaymentIntentId());
+        updateRequest.setPaymentTransactionId(payment.getTransactionId());
+        updateRequest.setPaymentMethodName(payment.getProvider());
+        updateRequest.setOrderStatus("packing");
+        updateRequest.setPaymentCreatedAt(LocalDateTime.now());
 
-            if (productItem.getQtyInStock() < orderedQty) {
-                throw new InsufficientResourcesException("Not enough stock for product: " + productItem.getId());
-            }
+        ShopOrderResponse shopOrder = shopOrderCallerService.reconcileShopOrderPayment(payment.getShopOrderId(), updateRequest, accessToken);
 
-            updateRequests.add(new ProductStockUpdateRequest(productItem.getId(), orderedQty));
-        }
+        publishStockUpdate(shopOrder);
 
-        kafkaProducers.sendUpdateStock(updateRequests);
+        return shopOrder;
     }
 
-    private void refreshProductStock(ShopOrderResponse order, Jwt jwt) {
-        List<Integer> productItemIds = order.getOrderLines().stream()
-                .map(line -> line.getProductItem().getId())
+    private void publishStockUpdate(ShopOrderResponse order) {
+        List<ProductStockUpdateRequest> updateRequests = order.getOrderLines().stream()
+                .map(orderLine -> new ProductStockUpdateRequest(orderLine.getProductItem().getId(), orderLine.getQty()))
                 .collect(Collectors.toList());
 
-        List<ProductItemOneByColourResponse> responses = productItemCallerService.getProductItemsByIds(productItemIds);
-
-        Map<Integer, Integer> stockMap = new HashMap<>();
-        for (ProductItemOneByColourResponse resp : responses) {
-            if (resp.getProductItemOneByColour() != null) {
-                for (ProductItemOneByColour item : resp.getProductItemOneByColour()) {
-                    stockMap.put(item.getId(), item.getQtyInStock());
-                }
-            }
-        }
-
-        for (OrderLineResponse orderLine : order.getOrderLines()) {
-            var productItem = orderLine.getProductItem();
-            if (productItem != null) {
-                Integer currentStock = stockMap.get(productItem.getId());
-                productItem.setQtyInStock(currentStock != null ? currentStock : 0);
-            }
-        }
+        kafkaProducers.sendUpdateStock(updateRequests);
     }
 }
@@ -4,14 +4,19 @@ import com.ecommerce.payment.clients.ProductItemCallerService;
 import com.ecommerce.payment.clients.ShopOrderCallerService;
 import com.ecommerce.payment.clients.UserClient;
 import com.ecommerce.payment.clients.dto.*;
+import com.ecommerce.payment.exceptions.APIException;
 import com.ecommerce.payment.paymentType.PaymentTypeRepository;
+import com.ecommerce.payment.webhook.WebhookInboxService;
+import com.ecommerce.payment.webhook.WebhookProvider;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.PaymentMethod;
 import com.stripe.model.checkout.Session;
+import com.stripe.net.ApiResource;
 import com.stripe.net.Webhook;
+import com.stripe.param.PaymentIntentRetrieveParams;
 import com.stripe.param.checkout.SessionCreateParams;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +26,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import javax.naming.InsufficientResourcesException;
 import java.time.LocalDate;
@@ -42,6 +46,7 @@ public class StripePaymentService {
     private final PaymentService paymentService;
     private final ProductItemCallerService productItemCallerService;
     private final ShopOrderCallerService shopOrderCallerService;
+    private final WebhookInboxService webhookInboxService;
 
     @Value("${application.stripe.webhook-secret}")
     private String stripeWebhookSecret;
@@ -63,7 +68,12 @@ public class StripePaymentService {
                 .setCancelUrl(cancelURL + "?session_id={CHECKOUT_SESSION_ID}")
                 .addPaymentMethodType(SessionCreateParams.PaymentMethodType.CARD)
                 .putMetadata("order_id", order.getId().toString())
-                .putMetadata("user_id", order.getUserId());
+                .putMetadata("user_id", order.getUserId())
+                .setPaymentIntentData(
+                        SessionCreateParams.PaymentIntentData.builder()
+                                .putMetadata("order_id", order.getId().toString())
+                                .build()
+                );
 
         for (OrderLineResponse line : order.getOrderLines()) {
 
@@ -109,22 +119,35 @@ public class StripePaymentService {
         return session.getUrl();
     }
 
-    @Transactional
-    public void handleWebhookEvent(String payload, String sigHeader) throws StripeException, InsufficientResourcesException {
+    public void handleWebhookEvent(String payload, String sigHeader) throws StripeException {
 
         String webhookSecret = stripeWebhookSecret;
 
         Event event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
 
         if ("checkout.session.completed".equals(event.getType())) {
-            Session session = (Session) event.getDataObjectDeserializer().getObject().get();
+            webhookInboxService.record(WebhookProvider.STRIPE, event.getId(), event.getType(), payload);
+        }
+    }
+
+    public void processWebhookEvent(String payload) throws StripeException, InsufficientResourcesException {
+
+        Event event = ApiResource.GSON.fromJson(payload, Event.class);
+
+        if ("checkout.session.completed".equals(event.getType())) {
+            Session session = (Session) event.getDataObjectDeserializer().getObject()
+                    .orElseThrow(() -> new APIException("Unable to deserialize Stripe event " + event.getId()));
             handleSuccessfulPayment(session);
         }
     }
 
     private void handleSuccessfulPayment(Session session) throws StripeException, InsufficientResourcesException {
-        PaymentIntent paymentIntent = PaymentIntent.retrieve(session.getPaymentIntent());
-        PaymentMethod paymentMethod = PaymentMethod.retrieve(paymentIntent.getPaymentMethod());
+        PaymentIntent paymentIntent = PaymentIntent.retrieve(
+                session.getPaymentIntent(),
+                PaymentIntentRetrieveParams.builder().addExpand("payment_method").build(),
+                null
+        );
+        PaymentMethod paymentMethod = paymentIntent.getPaymentMethodObject();
         Integer orderId = Integer.parseInt(session.getMetadata().get("order_id"));
 
         String cardBrand = paymentMethod.getCard().getBrand();
@@ -0,0 +1,228 @@
+package com.ecommerce.payment.reconciliation;
+
+import com.ecommerce.payment.clients.ShopOrderCallerService;
+import com.ecommerce.payment.clients.dto.UnsettledShopOrderResponse;
+import com.ecommerce.payment.exceptions.APIException;
+import com.ecommerce.payment.exceptions.NotFoundException;
+import com.ecommerce.payment.keycloak.KeyCloakTokenProvider;
+import com.ecommerce.payment.payment.Payment;
+import com.ecommerce.payment.payment.PaymentRequest;
+import com.ecommerce.payment.payment.PaymentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentReconciliationService {
+
+    private final List<ReconciliationProvider> reconciliationProviders;
+    private final ShopOrderCallerService shopOrderCallerService;
+    private final PaymentService paymentService;
+    private final ReconciliationRunRepository reconciliationRunRepository;
+    private final KeyCloakTokenProvider keyCloakTokenProvider;
+    private final Executor reconciliationRunExecutor;
+    private final Executor reconciliationLookupExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${application.reconciliation.page-size:200}")
+    private int pageSize;
+
+    @Value("${application.reconciliation.settle-grace:30m}")
+    private Duration settleGrace;
+
+    @Value("${application.reconciliation.lookback:7d}")
+    private Duration lookback;
+
+    @Scheduled(cron = "${application.reconciliation.cron:0 30 3 * * *}")
+    public void reconcileScheduled() {
+        try {
+            startRun("scheduled");
+        } catch (APIException ex) {
+            log.info("Skipping scheduled payment reconciliation: {}", ex.getMessage());
+        }
+    }
+
+    public ReconciliationRunResponse startRun(String triggeredBy) {
+        if (!running.compareAndSet(false, true)) {
+            throw new APIException("A payment reconciliation run is already in progress");
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            ReconciliationRun run = reconciliationRunRepository.save(ReconciliationRun.builder()
+                    .triggeredBy(triggeredBy)
+                    .status(ReconciliationRun.Status.RUNNING)
+                    .startedAt(now)
+                    .placedBefore(now.minus(settleGrace))
+                    .lastOrderId(0)
+                    .build());
+
+            reconciliationRunExecutor.execute(() -> execute(run));
+            return mapToResponse(run);
+        } catch (RuntimeException ex) {
+            running.set(false);
+            if (ex instanceof TaskRejectedException) {
+                throw new APIException("A payment reconciliation run is already in progress");
+            }
+            throw ex;
+        }
+    }
+
+    public ReconciliationRunResponse getRun(Long id) {
+        return reconciliationRunRepository.findById(id)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new NotFoundException("Reconciliation run", Optional.of(id.toString())));
+    }
+
+    public Page<ReconciliationRunResponse> getRuns(int page, int size) {
+        return reconciliationRunRepository.findAllByOrderByStartedAtDesc(PageRequest.of(page, size))
+                .map(this::mapToResponse);
+    }
+
+    private void execute(ReconciliationRun run) {
+        try {
+            int afterId = run.getLastOrderId();
+            LocalDateTime placedAfter = run.getPlacedBefore().minus(lookback);
+            List<UnsettledShopOrderResponse> page;
+            do {
+                page = shopOrderCallerService.getUnsettledShopOrders(
+                        afterId, placedAfter, run.getPlacedBefore(), pageSize, keyCloakTokenProvider.getClientAccessToken());
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                reconcilePage(run, page);
+
+                afterId = page.get(page.size() - 1).getId();
+                run.setLastOrderId(afterId);
+                reconciliationRunRepository.save(run);
+            } while (page.size() >= pageSize);
+
+            run.setStatus(ReconciliationRun.Status.COMPLETED);
+        } catch (Exception ex) {
+            log.error("Payment reconciliation run {} failed after order {}", run.getId(), run.getLastOrderId(), ex);
+            run.setStatus(ReconciliationRun.Status.FAILED);
+            run.setFailureReason(truncate(ex.getMessage()));
+        } finally {
+            run.setFinishedAt(LocalDateTime.now());
+            reconciliationRunRepository.save(run);
+            running.set(false);
+            log.info("Payment reconciliation run {} {}: scanned={}, settled={}, unmatched={}, errors={}",
+                    run.getId(), run.getStatus(), run.getOrdersScanned(), run.getOrdersSettled(),
+                    run.getOrdersUnmatched(), run.getErrors());
+        }
+    }
+
+    private void reconcilePage(ReconciliationRun run, List<UnsettledShopOrderResponse> page) {
+        List<Integer> unmatched = page.stream().map(UnsettledShopOrderResponse::getId).toList();
+        Map<Integer, ProviderPayment> matched = new LinkedHashMap<>();
+
+        for (ReconciliationProvider provider : reconciliationProviders) {
+            if (unmatched.isEmpty()) {
+                break;
+            }
+            Map<Integer, ProviderPayment> found = lookup(run, provider, unmatched);
+            matched.putAll(found);
+            unmatched = unmatched.stream().filter(id -> !found.containsKey(id)).toList();
+        }
+
+        for (ProviderPayment providerPayment : matched.values()) {
+            try {
+                paymentService.settleReconciledPayment(toPaymentRequest(providerPayment), keyCloakTokenProvider.getClientAccessToken());
+                run.setOrdersSettled(run.getOrdersSettled() + 1);
+                log.info("Reconciled order {} as paid from {} payment {}",
+                        providerPayment.getShopOrderId(), providerPayment.getSource(), providerPayment.getPaymentIntentId());
+            } catch (Exception ex) {
+                run.setErrors(run.getErrors() + 1);
+                log.warn("Failed to settle order {} during reconciliation: {}", providerPayment.getShopOrderId(), ex.getMessage());
+            }
+        }
+
+        run.setOrdersScanned(run.getOrdersScanned() + page.size());
+        run.setOrdersUnmatched(run.getOrdersUnmatched() + unmatched.size());
+    }
+
+    private Map<Integer, ProviderPayment> lookup(ReconciliationRun run, ReconciliationProvider provider, List<Integer> shopOrderIds) {
+        List<CompletableFuture<List<ProviderPayment>>> batches = new ArrayList<>();
+        for (int from = 0; from < shopOrderIds.size(); from += provider.getBatchSize()) {
+            List<Integer> batch = shopOrderIds.subList(from, Math.min(from + provider.getBatchSize(), shopOrderIds.size()));
+            batches.add(CompletableFuture.supplyAsync(() -> findSucceededPayments(provider, batch), reconciliationLookupExecutor));
+        }
+
+        Set<Integer> requested = new HashSet<>(shopOrderIds);
+        Map<Integer, ProviderPayment> found = new HashMap<>();
+        for (CompletableFuture<List<ProviderPayment>> batch : batches) {
+            try {
+                batch.join().stream()
+                        .filter(payment -> requested.contains(payment.getShopOrderId()))
+                        .forEach(payment -> found.putIfAbsent(payment.getShopOrderId(), payment));
+            } catch (CompletionException ex) {
+                run.setErrors(run.getErrors() + 1);
+                log.warn("Reconciliation lookup against {} failed: {}", provider.getName(), ex.getCause().getMessage());
+            }
+        }
+        return found;
+    }
+
+    private List<ProviderPayment> findSucceededPayments(ReconciliationProvider provider, List<Integer> shopOrderIds) {
+        try {
+            return provider.findSucceededPayments(shopOrderIds);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new APIException(ex.getMessage());
+        }
+    }
+
+    private PaymentRequest toPaymentRequest(ProviderPayment providerPayment) {
+        return PaymentRequest.builder()
+                .shopOrderId(providerPayment.getShopOrderId())
+                .transactionId(providerPayment.getTransactionId())
+                .paymentIntentId(providerPayment.getPaymentIntentId())
+                .provider(providerPayment.getPaymentMethodName())
+                .last4CardNumber(providerPayment.getLast4CardNumber())
+                .paymentDate(providerPayment.getPaidAt())
+                .status(Payment.PaymentStatus.SUCCEEDED)
+                .build();
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private ReconciliationRunResponse mapToResponse(ReconciliationRun run) {
+        return ReconciliationRunResponse.builder()
+                .id(run.getId())
+                .triggeredBy(run.getTriggeredBy())
+                .status(run.getStatus())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .placedBefore(run.getPlacedBefore())
+                .lastOrderId(run.getLastOrderId())
+                .ordersScanned(run.getOrdersScanned())
+                .ordersSettled(run.getOrdersSettled())
+                .ordersUnmatched(run.getOrdersUnmatched())
+                .errors(run.getErrors())
+                .failureReason(run.getFailureReason())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.payment.reconciliation;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProviderPayment {
+    private Integer shopOrderId;
+    private String source;
+    private String transactionId;
+    private String paymentIntentId;
+    private String paymentMethodName;
+    private String last4CardNumber;
+    private LocalDateTime paidAt;
+}
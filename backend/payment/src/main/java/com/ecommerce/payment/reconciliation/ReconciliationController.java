@@ -0,0 +1,33 @@
+package com.ecommerce.payment.reconciliation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("reconciliation")
+public class ReconciliationController {
+
+    private final PaymentReconciliationService paymentReconciliationService;
+
+    @PostMapping("/run")
+    public ResponseEntity<ReconciliationRunResponse> startRun() {
+        ReconciliationRunResponse run = paymentReconciliationService.startRun("manual");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<Page<ReconciliationRunResponse>> getRuns(
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        return ResponseEntity.status(HttpStatus.OK).body(paymentReconciliationService.getRuns(page, size));
+    }
+
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<ReconciliationRunResponse> getRun(@PathVariable Long runId) {
+        return ResponseEntity.status(HttpStatus.OK).body(paymentReconciliationService.getRun(runId));
+    }
+}
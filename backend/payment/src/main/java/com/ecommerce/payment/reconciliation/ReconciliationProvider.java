@@ -0,0 +1,12 @@
+package com.ecommerce.payment.reconciliation;
+
+import java.util.List;
+
+public interface ReconciliationProvider {
+
+    String getName();
+
+    int getBatchSize();
+
+    List<ProviderPayment> findSucceededPayments(List<Integer> shopOrderIds) throws Exception;
+}
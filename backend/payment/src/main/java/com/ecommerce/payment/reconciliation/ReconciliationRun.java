@@ -0,0 +1,54 @@
+package com.ecommerce.payment.reconciliation;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "reconciliation_run")
+public class ReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false, length = 32)
+    private String triggeredBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime placedBefore;
+
+    private LocalDateTime finishedAt;
+
+    private Integer lastOrderId;
+
+    private long ordersScanned;
+
+    private long ordersSettled;
+
+    private long ordersUnmatched;
+
+    private long errors;
+
+    @Column(length = 1000)
+    private String failureReason;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
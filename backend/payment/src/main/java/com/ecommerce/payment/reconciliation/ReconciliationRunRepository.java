@@ -0,0 +1,10 @@
+package com.ecommerce.payment.reconciliation;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    Page<ReconciliationRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.payment.reconciliation;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReconciliationRunResponse {
+    private Long id;
+    private String triggeredBy;
+    private ReconciliationRun.Status status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime placedBefore;
+    private Integer lastOrderId;
+    private long ordersScanned;
+    private long ordersSettled;
+    private long ordersUnmatched;
+    private long errors;
+    private String failureReason;
+}
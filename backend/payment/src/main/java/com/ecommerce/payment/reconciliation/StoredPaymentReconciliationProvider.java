@@ -0,0 +1,42 @@
+package com.ecommerce.payment.reconciliation;
+
+import com.ecommerce.payment.payment.Payment;
+import com.ecommerce.payment.payment.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class StoredPaymentReconciliationProvider implements ReconciliationProvider {
+
+    private final PaymentRepository paymentRepository;
+
+    @Override
+    public String getName() {
+        return "stored-payment";
+    }
+
+    @Override
+    public int getBatchSize() {
+        return 500;
+    }
+
+    @Override
+    public List<ProviderPayment> findSucceededPayments(List<Integer> shopOrderIds) {
+        return paymentRepository.findAllByShopOrderIdInAndStatus(shopOrderIds, Payment.PaymentStatus.SUCCEEDED).stream()
+                .map(payment -> ProviderPayment.builder()
+                        .shopOrderId(payment.getShopOrderId())
+                        .source(getName())
+                        .transactionId(payment.getTransactionId())
+                        .paymentIntentId(payment.getPaymentIntentId())
+                        .paymentMethodName(payment.getProvider())
+                        .last4CardNumber(payment.getLast4CardNumber())
+                        .paidAt(payment.getPaymentDate())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.payment.reconciliation;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentIntentSearchResult;
+import com.stripe.model.PaymentMethod;
+import com.stripe.param.PaymentIntentSearchParams;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Order(2)
+public class StripeReconciliationProvider implements ReconciliationProvider {
+
+    // Stripe search queries accept at most 10 OR clauses
+    private static final int MAX_QUERY_CLAUSES = 10;
+
+    @Override
+    public String getName() {
+        return "stripe";
+    }
+
+    @Override
+    public int getBatchSize() {
+        return MAX_QUERY_CLAUSES;
+    }
+
+    @Override
+    public List<ProviderPayment> findSucceededPayments(List<Integer> shopOrderIds) throws StripeException {
+        String query = shopOrderIds.stream()
+                .map(id -> "metadata['order_id']:'" + id + "'")
+                .collect(Collectors.joining(" OR "));
+
+        PaymentIntentSearchResult result = PaymentIntent.search(
+                PaymentIntentSearchParams.builder()
+                        .setQuery(query)
+                        .setLimit(100L)
+                        .addExpand("data.payment_method")
+                        .build()
+        );
+
+        return result.getData().stream()
+                .filter(intent -> "succeeded".equals(intent.getStatus()))
+                .map(this::toProviderPayment)
+                .toList();
+    }
+
+    private ProviderPayment toProviderPayment(PaymentIntent intent) {
+        PaymentMethod paymentMethod = intent.getPaymentMethodObject();
+        PaymentMethod.Card card = paymentMethod != null ? paymentMethod.getCard() : null;
+
+        return ProviderPayment.builder()
+                .shopOrderId(Integer.parseInt(intent.getMetadata().get("order_id")))
+                .source(getName())
+                .transactionId(intent.getId())
+                .paymentIntentId(intent.getId())
+                .paymentMethodName(card != null ? card.getBrand() : null)
+                .last4CardNumber(card != null ? card.getLast4() : null)
+                .paidAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(intent.getCreated()), ZoneId.systemDefault()))
+                .build();
+    }
+}
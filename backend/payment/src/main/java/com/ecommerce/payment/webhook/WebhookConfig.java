@@ -0,0 +1,29 @@
+package com.ecommerce.payment.webhook;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class WebhookConfig {
+
+    @Value("${application.webhook.workers:4}")
+    private int workers;
+
+    @Value("${application.webhook.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor webhookWorkerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("webhook-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
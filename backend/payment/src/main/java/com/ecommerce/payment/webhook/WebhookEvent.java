@@ -0,0 +1,72 @@
+package com.ecommerce.payment.webhook;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "webhook_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_webhook_inbox_provider_event", columnNames = {"provider", "event_id"}),
+        indexes = @Index(name = "idx_webhook_inbox_status_next_attempt", columnList = "status, next_attempt_at")
+)
+public class WebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 16)
+    private WebhookProvider provider;
+
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private String eventId;
+
+    @Column(updatable = false)
+    private String eventType;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime processedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum Status {
+        PENDING,
+        PROCESSING,
+        PROCESSED,
+        FAILED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.receivedAt = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = Status.PENDING;
+        }
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.receivedAt;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.payment.webhook;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, Long> {
+
+    boolean existsByProviderAndEventId(WebhookProvider provider, String eventId);
+
+    @Query(value = """
+            SELECT * FROM webhook_inbox
+            WHERE status IN ('PENDING', 'PROCESSING') AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<WebhookEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
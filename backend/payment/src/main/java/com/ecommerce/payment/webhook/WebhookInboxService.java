@@ -0,0 +1,106 @@
+package com.ecommerce.payment.webhook;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookInboxService {
+
+    private final WebhookEventRepository webhookEventRepository;
+
+    @Value("${application.webhook.processing-lease:5m}")
+    private Duration processingLease;
+
+    @Value("${application.webhook.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${application.webhook.retry-backoff:10s}")
+    private Duration retryBackoff;
+
+    public boolean record(WebhookProvider provider, String eventId, String eventType, String payload) {
+        if (webhookEventRepository.existsByProviderAndEventId(provider, eventId)) {
+            log.info("Duplicate {} webhook {} ignored", provider, eventId);
+            return false;
+        }
+
+        try {
+            webhookEventRepository.saveAndFlush(WebhookEvent.builder()
+                    .provider(provider)
+                    .eventId(eventId)
+                    .eventType(eventType)
+                    .payload(payload)
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            log.info("Duplicate {} webhook {} ignored", provider, eventId);
+            return false;
+        }
+    }
+
+    @Transactional
+    public List<WebhookEvent> claimDueEvents(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookEvent> events = webhookEventRepository.lockDueEvents(now, limit);
+
+        for (WebhookEvent event : events) {
+            event.setStatus(WebhookEvent.Status.PROCESSING);
+            event.setAttempts(event.getAttempts() + 1);
+            event.setNextAttemptAt(now.plus(processingLease));
+        }
+
+        return webhookEventRepository.saveAll(events);
+    }
+
+    @Transactional
+    public void markProcessed(Long eventId) {
+        webhookEventRepository.findById(eventId).ifPresent(event -> {
+            event.setStatus(WebhookEvent.Status.PROCESSED);
+            event.setProcessedAt(LocalDateTime.now());
+            event.setLastError(null);
+        });
+    }
+
+    @Transactional
+    public void markFailed(Long eventId, Exception error) {
+        webhookEventRepository.findById(eventId).ifPresent(event -> {
+            event.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+
+            if (event.getAttempts() >= maxAttempts) {
+                event.setStatus(WebhookEvent.Status.FAILED);
+                log.error("{} webhook {} failed after {} attempts", event.getProvider(), event.getEventId(), event.getAttempts());
+                return;
+            }
+
+            long backoffMultiplier = 1L << Math.min(event.getAttempts() - 1, 10);
+            event.setStatus(WebhookEvent.Status.PENDING);
+            event.setNextAttemptAt(LocalDateTime.now().plus(retryBackoff.multipliedBy(backoffMultiplier)));
+        });
+    }
+
+    @Transactional
+    public void release(Long eventId) {
+        webhookEventRepository.findById(eventId).ifPresent(event -> {
+            event.setStatus(WebhookEvent.Status.PENDING);
+            event.setAttempts(Math.max(0, event.getAttempts() - 1));
+            event.setNextAttemptAt(LocalDateTime.now());
+        });
+    }
+
+    private String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
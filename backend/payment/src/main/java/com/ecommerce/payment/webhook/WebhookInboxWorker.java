@@ -0,0 +1,55 @@
+package com.ecommerce.payment.webhook;
+
+import com.ecommerce.payment.payment.PayUPaymentService;
+import com.ecommerce.payment.payment.StripePaymentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookInboxWorker {
+
+    private final WebhookInboxService webhookInboxService;
+    private final StripePaymentService stripePaymentService;
+    private final PayUPaymentService payUPaymentService;
+    private final ThreadPoolTaskExecutor webhookWorkerExecutor;
+
+    @Value("${application.webhook.batch-size:20}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${application.webhook.poll-interval-ms:1000}")
+    public void pollInbox() {
+        int freeSlots = webhookWorkerExecutor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        List<WebhookEvent> events = webhookInboxService.claimDueEvents(Math.min(batchSize, freeSlots));
+
+        for (WebhookEvent event : events) {
+            try {
+                webhookWorkerExecutor.execute(() -> process(event));
+            } catch (TaskRejectedException ex) {
+                webhookInboxService.release(event.getId());
+            }
+        }
+    }
+
+    void process(WebhookEvent event) {
+        try {
+            switch (event.getProvider()) {
+                case STRIPE -> stripePaymentService.processWebhookEvent(event.getPayload());
+                case PAYU -> payUPaymentService.processWebhookEvent(event.getPayload());
+            }
+            webhookInboxService.markProcessed(event.getId());
+        } catch (Exception ex) {
+            log.warn("Failed to process {} webhook {} (attempt {}): {}",
+                    event.getProvider(), event.getEventId(), event.getAttempts(), ex.getMessage());
+            webhookInboxService.markFailed(event.getId(), ex);
+        }
+    }
+}
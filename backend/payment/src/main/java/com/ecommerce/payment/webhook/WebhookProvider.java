@@ -0,0 +1,6 @@
+package com.ecommerce.payment.webhook;
+
+public enum WebhookProvider {
+    STRIPE,
+    PAYU
+}
@@ -0,0 +1,55 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+-- IF NOT EXISTS lets existing databases be baselined without changes.
+
+CREATE TABLE IF NOT EXISTS payment (
+    id                integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    transaction_id    varchar(255) NOT NULL,
+    payment_intent_id varchar(255) NOT NULL,
+    shop_order_id     integer      NOT NULL,
+    provider          varchar(255),
+    last4card_number  varchar(255),
+    payment_date      timestamp(6),
+    created_at        timestamp(6) NOT NULL,
+    updated_at        timestamp(6),
+    status            varchar(255) NOT NULL,
+    CONSTRAINT uk_payment_payment_intent_id UNIQUE (payment_intent_id),
+    CONSTRAINT uk_payment_transaction_id UNIQUE (transaction_id),
+    CONSTRAINT uk_payment_shop_order_id UNIQUE (shop_order_id)
+);
+
+CREATE TABLE IF NOT EXISTS payment_type (
+    id    integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    value varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS webhook_inbox (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    provider        varchar(16)  NOT NULL,
+    event_id        varchar(255) NOT NULL,
+    event_type      varchar(255),
+    payload         text         NOT NULL,
+    received_at     timestamp(6) NOT NULL,
+    status          varchar(16)  NOT NULL,
+    attempts        integer      NOT NULL,
+    next_attempt_at timestamp(6) NOT NULL,
+    processed_at    timestamp(6),
+    last_error      varchar(1000),
+    CONSTRAINT uk_webhook_inbox_provider_event UNIQUE (provider, event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_webhook_inbox_status_next_attempt ON webhook_inbox (status, next_attempt_at);
+
+CREATE TABLE IF NOT EXISTS reconciliation_run (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    triggered_by     varchar(32)  NOT NULL,
+    status           varchar(16)  NOT NULL,
+    started_at       timestamp(6) NOT NULL,
+    placed_before    timestamp(6) NOT NULL,
+    finished_at      timestamp(6),
+    last_order_id    integer,
+    orders_scanned   bigint       NOT NULL,
+    orders_settled   bigint       NOT NULL,
+    orders_unmatched bigint       NOT NULL,
+    errors           bigint       NOT NULL,
+    failure_reason   varchar(1000)
+);
@@ -0,0 +1,113 @@
+package com.ecommerce.payment.payment;
+
+import com.ecommerce.payment.clients.ProductItemCallerService;
+import com.ecommerce.payment.exceptions.InvalidSignatureException;
+import com.ecommerce.payment.webhook.WebhookInboxService;
+import com.ecommerce.payment.webhook.WebhookProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PayUPaymentServiceTest {
+
+    private static final String SECOND_KEY = "fake-second-key";
+    private static final String PAYLOAD = "{\"order\":{\"orderId\":\"PAYU1\",\"status\":\"COMPLETED\"}}";
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private PayUTokenProvider payUTokenProvider;
+
+    @Mock
+    private ProductItemCallerService productItemCallerService;
+
+    @Mock
+    private WebhookInboxService webhookInboxService;
+
+    private PayUPaymentService payUPaymentService;
+
+    @BeforeEach
+    void setUp() {
+        payUPaymentService = new PayUPaymentService(paymentService, restTemplate, payUTokenProvider,
+                productItemCallerService, new ObjectMapper(), webhookInboxService);
+        ReflectionTestUtils.setField(payUPaymentService, "secondKey", SECOND_KEY);
+    }
+
+    private static String sign(String algorithm, String payload) throws Exception {
+        byte[] digest = MessageDigest.getInstance(algorithm)
+                .digest((payload + SECOND_KEY).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    @Test
+    void PayUPaymentService_HandleWebhookEvent_AcceptsValidSha256Signature() throws Exception {
+        String header = "sender=checkout;signature=" + sign("SHA-256", PAYLOAD) + ";algorithm=SHA-256;content=DOCUMENT";
+
+        payUPaymentService.handleWebhookEvent(PAYLOAD, header);
+
+        verify(webhookInboxService).record(WebhookProvider.PAYU, "PAYU1:COMPLETED", "COMPLETED", PAYLOAD);
+    }
+
+    @Test
+    void PayUPaymentService_HandleWebhookEvent_AcceptsValidMd5Signature() throws Exception {
+        String header = "sender=checkout;signature=" + sign("MD5", PAYLOAD).toUpperCase() + ";algorithm=MD5";
+
+        payUPaymentService.handleWebhookEvent(PAYLOAD, header);
+
+        verify(webhookInboxService).record(eq(WebhookProvider.PAYU), anyString(), eq("COMPLETED"), eq(PAYLOAD));
+    }
+
+    @Test
+    void PayUPaymentService_HandleWebhookEvent_RejectsTamperedPayload() throws Exception {
+        String header = "signature=" + sign("SHA-256", PAYLOAD) + ";algorithm=SHA-256";
+
+        assertThrows(InvalidSignatureException.class,
+                () -> payUPaymentService.handleWebhookEvent(PAYLOAD.replace("PAYU1", "PAYU2"), header));
+        verifyNoInteractions(webhookInboxService);
+    }
+
+    @Test
+    void PayUPaymentService_HandleWebhookEvent_RejectsUnknownOrMissingAlgorithm() throws Exception {
+        String signature = sign("SHA-1", PAYLOAD);
+
+        assertThrows(InvalidSignatureException.class,
+                () -> payUPaymentService.handleWebhookEvent(PAYLOAD, "signature=" + signature + ";algorithm=SHA-1"));
+        assertThrows(InvalidSignatureException.class,
+                () -> payUPaymentService.handleWebhookEvent(PAYLOAD, "signature=" + sign("MD5", PAYLOAD)));
+        verifyNoInteractions(webhookInboxService);
+    }
+
+    @Test
+    void PayUPaymentService_HandleWebhookEvent_RejectsMissingOrMalformedSignature() {
+        assertThrows(InvalidSignatureException.class, () -> payUPaymentService.handleWebhookEvent(PAYLOAD, null));
+        assertThrows(InvalidSignatureException.class,
+                () -> payUPaymentService.handleWebhookEvent(PAYLOAD, "signature=not-hex;algorithm=MD5"));
+        verifyNoInteractions(webhookInboxService);
+    }
+
+    @Test
+    void PayUPaymentService_RequireSecondKey_FailsWhenBlank() {
+        ReflectionTestUtils.setField(payUPaymentService, "secondKey", " ");
+
+        assertThrows(IllegalStateException.class, () -> payUPaymentService.requireSecondKey());
+    }
+}
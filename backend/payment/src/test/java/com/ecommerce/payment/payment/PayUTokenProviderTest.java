@@ -0,0 +1,90 @@
+package com.ecommerce.payment.payment;
+
+import com.ecommerce.payment.exceptions.APIException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PayUTokenProviderTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PayUTokenProvider payUTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        payUTokenProvider = new PayUTokenProvider(restTemplate, meterRegistry);
+        ReflectionTestUtils.setField(payUTokenProvider, "clientId", "fake-client-id");
+        ReflectionTestUtils.setField(payUTokenProvider, "clientSecret", "fake-client-secret");
+        ReflectionTestUtils.setField(payUTokenProvider, "apiUrl", "https://secure.snd.payu.com");
+        ReflectionTestUtils.setField(payUTokenProvider, "expirySkew", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(payUTokenProvider, "refreshAhead", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void PayUTokenProvider_GetAccessToken_ReusesCachedToken() {
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(Map.of("access_token", "token-1", "expires_in", 43199));
+
+        assertEquals("token-1", payUTokenProvider.getAccessToken());
+        assertEquals("token-1", payUTokenProvider.getAccessToken());
+
+        verify(restTemplate, times(1)).postForObject(
+                eq("https://secure.snd.payu.com/pl/standard/user/oauth/authorize"),
+                any(HttpEntity.class),
+                eq(Map.class));
+        assertEquals(1, meterRegistry.timer("payu.oauth.token.refresh", "trigger", "on-demand", "result", "success").count());
+    }
+
+    @Test
+    void PayUTokenProvider_RefreshBeforeExpiry_SkipsFreshToken() {
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(Map.of("access_token", "token-1", "expires_in", 43199));
+        payUTokenProvider.getAccessToken();
+
+        payUTokenProvider.refreshBeforeExpiry();
+
+        verify(restTemplate, times(1)).postForObject(anyString(), any(HttpEntity.class), eq(Map.class));
+    }
+
+    @Test
+    void PayUTokenProvider_RefreshBeforeExpiry_ReplacesTokenNearExpiry() {
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(Map.of("access_token", "token-1", "expires_in", 30))
+                .thenReturn(Map.of("access_token", "token-2", "expires_in", 43199));
+        payUTokenProvider.getAccessToken();
+
+        payUTokenProvider.refreshBeforeExpiry();
+
+        assertEquals("token-2", payUTokenProvider.getAccessToken());
+        assertEquals(1, meterRegistry.timer("payu.oauth.token.refresh", "trigger", "background", "result", "success").count());
+    }
+
+    @Test
+    void PayUTokenProvider_GetAccessToken_MissingToken() {
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(Map.of("error", "invalid_client"));
+
+        assertThrows(APIException.class, () -> payUTokenProvider.getAccessToken());
+    }
+}
@@ -6,6 +6,7 @@ import com.ecommerce.payment.clients.ShopOrderCallerService;
 import com.ecommerce.payment.clients.dto.*;
 import com.ecommerce.payment.exceptions.APIException;
 import com.ecommerce.payment.kafka.KafkaProducers;
+import com.ecommerce.payment.metrics.StageTimer;
 import com.ecommerce.payment.paymentType.PaymentTypeRepository;
 import com.ecommerce.payment.paymentType.PaymentTypeService;
 import com.ecommerce.payment.rabbitMq.OrderEmailProducer;
@@ -13,6 +14,8 @@ import com.stripe.model.Card;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.PaymentMethod;
 import com.stripe.model.checkout.Session;
+import com.stripe.param.checkout.SessionRetrieveParams;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apiguardian.api.API;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +23,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.oauth2.jwt.Jwt;
 
@@ -39,6 +43,9 @@ public class PaymentServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Spy
+    private StageTimer stageTimer = new StageTimer(new SimpleMeterRegistry());
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -95,7 +102,8 @@ public class PaymentServiceTest {
                 .status(Payment.PaymentStatus.SUCCEEDED)
                 .build();
 
-        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        when(paymentRepository.insertIfAbsent(any(Payment.class))).thenReturn(1);
+        when(paymentRepository.findByPaymentIntentId("pi_456")).thenReturn(Optional.of(payment));
 
         PaymentResponse result = paymentService.createPayment(request);
 
@@ -108,7 +116,34 @@ public class PaymentServiceTest {
         assertEquals(request.getLast4CardNumber(), result.getLast4CardNumber());
         assertEquals(request.getStatus(), result.getStatus());
 
-        verify(paymentRepository).save(any(Payment.class));
+        verify(paymentRepository).insertIfAbsent(any(Payment.class));
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void PaymentService_CreatePayment_DuplicateDeliveryReturnsStoredPayment() throws InsufficientResourcesException {
+        PaymentRequest request = PaymentRequest.builder()
+                .transactionId("tx123")
+                .paymentIntentId("pi_456")
+                .shopOrderId(10)
+                .status(Payment.PaymentStatus.SUCCEEDED)
+                .build();
+
+        Payment stored = Payment.builder()
+                .id(1)
+                .transactionId("tx123")
+                .paymentIntentId("pi_456")
+                .shopOrderId(10)
+                .status(Payment.PaymentStatus.SUCCEEDED)
+                .build();
+
+        when(paymentRepository.insertIfAbsent(any(Payment.class))).thenReturn(0);
+        when(paymentRepository.findByPaymentIntentId("pi_456")).thenReturn(Optional.of(stored));
+
+        PaymentResponse result = paymentService.createPayment(request);
+
+        assertEquals(1, result.getId());
+        verify(paymentRepository, never()).findByShopOrderId(anyInt());
     }
 
     @Test
@@ -138,215 +173,233 @@ public class PaymentServiceTest {
     }
 
     @Test
-    void PaymentService_VerifyPayment_Success() throws Exception  {
+    void PaymentService_VerifyPayment_ReusesPaymentRecordedByWebhook() throws Exception {
         String sessionId = "session_123";
         String paymentIntentId = "pi_456";
-        String orderIdStr = "1";
         Integer orderId = 1;
-        String userEmail = "user@gmail.com";
 
         PaymentRepository paymentRepository = mock(PaymentRepository.class);
         ShopOrderCallerService shopOrderCallerService = mock(ShopOrderCallerService.class);
-        ProductItemCallerService productItemCallerService = mock(ProductItemCallerService.class);
         OrderEmailProducer orderEmailProducer = mock(OrderEmailProducer.class);
         KafkaProducers kafkaProducers = mock(KafkaProducers.class);
 
         PaymentService paymentService = new PaymentService(
                 paymentRepository,
                 shopOrderCallerService,
-                productItemCallerService,
                 orderEmailProducer,
-                kafkaProducers
+                kafkaProducers,
+                new StageTimer(new SimpleMeterRegistry())
         );
 
-        Session session = mock(Session.class);
         Jwt jwt = mock(Jwt.class);
+        Payment payment = Payment.builder()
+                .id(7)
+                .transactionId(sessionId)
+                .paymentIntentId(paymentIntentId)
+                .shopOrderId(orderId)
+                .provider("visa")
+                .status(Payment.PaymentStatus.SUCCEEDED)
+                .build();
+
         ShopOrderResponse shopOrderResponse = mock(ShopOrderResponse.class);
+        when(shopOrderResponse.getId()).thenReturn(orderId);
         ShopOrderResponse updatedShopOrderResponse = mock(ShopOrderResponse.class);
-        Payment payment = mock(Payment.class);
-        PaymentIntent paymentIntent = mock(PaymentIntent.class);
-
         when(updatedShopOrderResponse.getPaymentStatus()).thenReturn(Payment.PaymentStatus.SUCCEEDED);
-        when(updatedShopOrderResponse.getPaymentId()).thenReturn(1);
-        when(updatedShopOrderResponse.getPaymentCreatedAt()).thenReturn(LocalDateTime.now());
-       when(updatedShopOrderResponse.getPaymentUpdatedAt()).thenReturn(LocalDateTime.now());
+        when(updatedShopOrderResponse.getOrderLines()).thenReturn(List.of());
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class);
-             MockedStatic<PaymentIntent> mockedPaymentIntent = mockStatic(PaymentIntent.class);
-             MockedStatic<PaymentMethod> mockedPaymentMethod = mockStatic(PaymentMethod.class)) {
+        when(jwt.getClaimAsString("email")).thenReturn("user@gmail.com");
+        when(paymentRepository.findByTransactionId(sessionId)).thenReturn(Optional.of(payment));
+        when(shopOrderCallerService.getUserShopOrderById(orderId, jwt)).thenReturn(shopOrderResponse);
+        when(shopOrderCallerService.updateShopOrder(eq(orderId), any(), eq(jwt))).thenReturn(updatedShopOrderResponse);
 
-            mockedSession.when(() -> Session.retrieve(sessionId)).thenReturn(session);
-            when(session.getPaymentIntent()).thenReturn(paymentIntentId);
-            when(session.getMetadata()).thenReturn(Map.of("order_id", orderIdStr));
+        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
 
-            when(jwt.getClaimAsString("email")).thenReturn(userEmail);
+            PaymentVerificationResponse response = paymentService.verifyPayment(sessionId, jwt);
 
-            when(shopOrderCallerService.getUserShopOrderById(orderId, jwt)).thenReturn(shopOrderResponse);
+            assertEquals(paymentIntentId, response.getPaymentIntentId());
+            assertEquals(Payment.PaymentStatus.SUCCEEDED, response.getStatus());
+            mockedSession.verifyNoInteractions();
+        }
 
-            when(paymentRepository.findByPaymentIntentId(paymentIntentId)).thenReturn(Optional.of(payment));
-            when(payment.getPaymentIntentId()).thenReturn(paymentIntentId);
+        ArgumentCaptor<ShopOrderPaymentUpdateRequest> captor = ArgumentCaptor.forClass(ShopOrderPaymentUpdateRequest.class);
+        verify(shopOrderCallerService).updateShopOrder(eq(orderId), captor.capture(), eq(jwt));
+        assertEquals("visa", captor.getValue().getPaymentMethodName());
+        assertEquals(7, captor.getValue().getPaymentId());
+        verify(kafkaProducers).sendUpdateStock(anyList());
+        verify(orderEmailProducer).sendOrderEmail(any());
+    }
 
-            mockedPaymentIntent.when(() -> PaymentIntent.retrieve(eq(paymentIntentId))).thenReturn(paymentIntent);
-            when(paymentIntent.getId()).thenReturn(paymentIntentId);
-            when(paymentIntent.getStatus()).thenReturn("succeeded");
-            when(paymentIntent.getPaymentMethod()).thenReturn("pm_789");
+    @Test
+    void PaymentService_VerifyPayment_ExpandsSessionWhenWebhookNotProcessed() throws Exception {
+        String sessionId = "session_123";
+        String paymentIntentId = "pi_456";
+        Integer orderId = 1;
 
-            when(productItemCallerService.getProductItemsByIds(anyList())).thenReturn(Collections.emptyList());
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        ShopOrderCallerService shopOrderCallerService = mock(ShopOrderCallerService.class);
+        OrderEmailProducer orderEmailProducer = mock(OrderEmailProducer.class);
+        KafkaProducers kafkaProducers = mock(KafkaProducers.class);
 
-            PaymentMethod.Card card = mock(PaymentMethod.Card.class);
-            when(card.getBrand()).thenReturn("visa");
+        PaymentService paymentService = new PaymentService(
+                paymentRepository,
+                shopOrderCallerService,
+                orderEmailProducer,
+                kafkaProducers,
+                new StageTimer(new SimpleMeterRegistry())
+        );
 
-            PaymentMethod paymentMethod = mock(PaymentMethod.class);
-            when(paymentMethod.getCard()).thenReturn(card);
+        Jwt jwt = mock(Jwt.class);
+        Session session = mock(Session.class);
+        PaymentIntent paymentIntent = mock(PaymentIntent.class);
+        PaymentMethod paymentMethod = mock(PaymentMethod.class);
+        PaymentMethod.Card card = mock(PaymentMethod.Card.class);
+        ShopOrderResponse shopOrderResponse = mock(ShopOrderResponse.class);
 
-            mockedPaymentMethod.when(() -> PaymentMethod.retrieve("pm_789")).thenReturn(paymentMethod);
+        when(session.getId()).thenReturn(sessionId);
+        when(session.getMetadata()).thenReturn(Map.of("order_id", "1"));
+        when(session.getPaymentIntentObject()).thenReturn(paymentIntent);
+        when(paymentIntent.getId()).thenReturn(paymentIntentId);
+        when(paymentIntent.getStatus()).thenReturn("succeeded");
+        when(paymentIntent.getPaymentMethodObject()).thenReturn(paymentMethod);
+        when(paymentMethod.getCard()).thenReturn(card);
+        when(card.getBrand()).thenReturn("visa");
+        when(card.getLast4()).thenReturn("4242");
+
+        when(paymentRepository.findByTransactionId(sessionId)).thenReturn(Optional.empty());
+        when(paymentRepository.insertIfAbsent(any(Payment.class))).thenReturn(1);
+        when(paymentRepository.findByPaymentIntentId(paymentIntentId)).thenReturn(Optional.of(Payment.builder()
+                .id(3)
+                .transactionId(sessionId)
+                .paymentIntentId(paymentIntentId)
+                .shopOrderId(orderId)
+                .build()));
+        when(shopOrderCallerService.getUserShopOrderById(orderId, jwt)).thenReturn(shopOrderResponse);
+        when(shopOrderResponse.getPaymentStatus()).thenReturn(Payment.PaymentStatus.SUCCEEDED);
 
-            when(updatedShopOrderResponse.getPaymentStatus()).thenReturn(Payment.PaymentStatus.SUCCEEDED);
+        try (MockedStatic<Session> mockedSession = mockStatic(Session.class);
+             MockedStatic<PaymentIntent> mockedPaymentIntent = mockStatic(PaymentIntent.class);
+             MockedStatic<PaymentMethod> mockedPaymentMethod = mockStatic(PaymentMethod.class)) {
 
-            when(shopOrderCallerService.updateShopOrder(anyInt(), any(), eq(jwt))).thenReturn(updatedShopOrderResponse);
-            doNothing().when(orderEmailProducer).sendOrderEmail(any());
+            mockedSession.when(() -> Session.retrieve(eq(sessionId), any(SessionRetrieveParams.class), isNull()))
+                    .thenReturn(session);
 
             PaymentVerificationResponse response = paymentService.verifyPayment(sessionId, jwt);
 
-            assertNotNull(response);
             assertEquals(paymentIntentId, response.getPaymentIntentId());
             assertEquals(Payment.PaymentStatus.SUCCEEDED, response.getStatus());
-
-            verify(orderEmailProducer).sendOrderEmail(any());
-            verify(shopOrderCallerService).updateShopOrder(anyInt(), any(), eq(jwt));
+            mockedPaymentIntent.verifyNoInteractions();
+            mockedPaymentMethod.verifyNoInteractions();
         }
 
+        ArgumentCaptor<Payment> captor = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).insertIfAbsent(captor.capture());
+        assertEquals("4242", captor.getValue().getLast4CardNumber());
+        assertEquals(orderId, captor.getValue().getShopOrderId());
+        verify(shopOrderCallerService, never()).updateShopOrder(anyInt(), any(), any());
     }
 
     @Test
-    void PaymentService_UpdateProductStock_Success() throws Exception  {
-
+    void PaymentService_VerifyPayment_OrderNotOwnedByCaller_NothingRecorded() throws Exception {
         PaymentRepository paymentRepository = mock(PaymentRepository.class);
         ShopOrderCallerService shopOrderCallerService = mock(ShopOrderCallerService.class);
-        ProductItemCallerService productItemCallerService = mock(ProductItemCallerService.class);
-        OrderEmailProducer orderEmailProducer = mock(OrderEmailProducer.class);
-        KafkaProducers kafkaProducers = mock(KafkaProducers.class);
-
-        ProductItemToOrderResponse product1 = mock(ProductItemToOrderResponse.class);
-        when(product1.getId()).thenReturn(1);
-        when(product1.getQtyInStock()).thenReturn(10);
-
-        OrderLineResponse orderLine1 = mock(OrderLineResponse.class);
-        when(orderLine1.getProductItem()).thenReturn(product1);
-        when(orderLine1.getQty()).thenReturn(5);
-
-        ShopOrderResponse order = mock(ShopOrderResponse.class);
-        when(order.getOrderLines()).thenReturn(List.of(orderLine1));
 
         PaymentService paymentService = new PaymentService(
                 paymentRepository,
                 shopOrderCallerService,
-                productItemCallerService,
-                orderEmailProducer,
-                kafkaProducers
+                mock(OrderEmailProducer.class),
+                mock(KafkaProducers.class),
+                new StageTimer(new SimpleMeterRegistry())
         );
 
-        Method method = PaymentService.class.getDeclaredMethod("updateProductStock", ShopOrderResponse.class, Jwt.class);
-        method.setAccessible(true);
-
         Jwt jwt = mock(Jwt.class);
+        Session session = mock(Session.class);
+        PaymentIntent paymentIntent = mock(PaymentIntent.class);
 
-        method.invoke(paymentService, order, jwt);
+        when(session.getMetadata()).thenReturn(Map.of("order_id", "1"));
+        when(session.getPaymentIntentObject()).thenReturn(paymentIntent);
+        when(paymentIntent.getStatus()).thenReturn("succeeded");
+        when(paymentRepository.findByTransactionId("session_123")).thenReturn(Optional.empty());
+        when(shopOrderCallerService.getUserShopOrderById(1, jwt)).thenThrow(new APIException("Shop order not found"));
 
-        ArgumentCaptor<List<ProductStockUpdateRequest>> captor = ArgumentCaptor.forClass(List.class);
-        verify(kafkaProducers).sendUpdateStock(captor.capture());
+        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
+            mockedSession.when(() -> Session.retrieve(eq("session_123"), any(SessionRetrieveParams.class), isNull()))
+                    .thenReturn(session);
 
-        List<ProductStockUpdateRequest> updateRequests = captor.getValue();
-        assertEquals(1, updateRequests.size());
-        assertEquals(1, updateRequests.get(0).getProductItemId());
-        assertEquals(5, updateRequests.get(0).getQuantityToSubtract());
+            assertThrows(APIException.class, () -> paymentService.verifyPayment("session_123", jwt));
+        }
+
+        verify(paymentRepository, never()).insertIfAbsent(any());
     }
 
     @Test
-    void PaymentService_UpdateProductStock_NotEnoughStock() throws Exception  {
-
+    void PaymentService_VerifyPayment_PaymentNotSucceeded() throws Exception {
         PaymentRepository paymentRepository = mock(PaymentRepository.class);
         ShopOrderCallerService shopOrderCallerService = mock(ShopOrderCallerService.class);
-        ProductItemCallerService productItemCallerService = mock(ProductItemCallerService.class);
-        OrderEmailProducer orderEmailProducer = mock(OrderEmailProducer.class);
-        KafkaProducers kafkaProducers = mock(KafkaProducers.class);
-
-        ProductItemToOrderResponse product1 = mock(ProductItemToOrderResponse.class);
-        when(product1.getId()).thenReturn(1);
-        when(product1.getQtyInStock()).thenReturn(2);
-
-        OrderLineResponse orderLine1 = mock(OrderLineResponse.class);
-        when(orderLine1.getProductItem()).thenReturn(product1);
-        when(orderLine1.getQty()).thenReturn(5);
-
-        ShopOrderResponse order = mock(ShopOrderResponse.class);
-        when(order.getOrderLines()).thenReturn(List.of(orderLine1));
 
         PaymentService paymentService = new PaymentService(
                 paymentRepository,
                 shopOrderCallerService,
-                productItemCallerService,
-                orderEmailProducer,
-                kafkaProducers
+                mock(OrderEmailProducer.class),
+                mock(KafkaProducers.class),
+                new StageTimer(new SimpleMeterRegistry())
         );
 
-        Method method = PaymentService.class.getDeclaredMethod("updateProductStock", ShopOrderResponse.class, Jwt.class);
-        method.setAccessible(true);
-
         Jwt jwt = mock(Jwt.class);
+        Session session = mock(Session.class);
+        PaymentIntent paymentIntent = mock(PaymentIntent.class);
 
-        Exception exception = assertThrows(InvocationTargetException.class, () -> {
-            method.invoke(paymentService, order, jwt);
-        });
+        when(session.getMetadata()).thenReturn(Map.of("order_id", "1"));
+        when(session.getPaymentIntentObject()).thenReturn(paymentIntent);
+        when(paymentIntent.getStatus()).thenReturn("requires_payment_method");
+        when(paymentRepository.findByTransactionId("session_123")).thenReturn(Optional.empty());
 
-        Throwable cause = exception.getCause();
-        assertTrue(cause instanceof InsufficientResourcesException);
-        assertEquals("Not enough stock for product: 1", cause.getMessage());
+        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
+            mockedSession.when(() -> Session.retrieve(eq("session_123"), any(SessionRetrieveParams.class), isNull()))
+                    .thenReturn(session);
 
-        verify(kafkaProducers, never()).sendUpdateStock(any());
+            PaymentVerificationResponse response = paymentService.verifyPayment("session_123", jwt);
+
+            assertEquals(Payment.PaymentStatus.FAILED, response.getStatus());
+        }
+
+        verify(paymentRepository, never()).insertIfAbsent(any());
+        verifyNoInteractions(shopOrderCallerService);
     }
 
     @Test
-    void PaymentService_RefreshProductStock_Success() throws Exception {
-        PaymentRepository paymentRepository = mock(PaymentRepository.class);
-        ShopOrderCallerService shopOrderCallerService = mock(ShopOrderCallerService.class);
-        ProductItemCallerService productItemCallerService = mock(ProductItemCallerService.class);
-        OrderEmailProducer orderEmailProducer = mock(OrderEmailProducer.class);
+    void PaymentService_PublishStockUpdate_Success() throws Exception  {
+
         KafkaProducers kafkaProducers = mock(KafkaProducers.class);
 
         ProductItemToOrderResponse product1 = mock(ProductItemToOrderResponse.class);
         when(product1.getId()).thenReturn(1);
-        doNothing().when(product1).setQtyInStock(anyInt());
 
         OrderLineResponse orderLine1 = mock(OrderLineResponse.class);
         when(orderLine1.getProductItem()).thenReturn(product1);
+        when(orderLine1.getQty()).thenReturn(5);
 
         ShopOrderResponse order = mock(ShopOrderResponse.class);
         when(order.getOrderLines()).thenReturn(List.of(orderLine1));
 
-        ProductItemOneByColourResponse resp = mock(ProductItemOneByColourResponse.class);
-        ProductItemOneByColour item = mock(ProductItemOneByColour.class);
-        when(item.getId()).thenReturn(1);
-        when(item.getQtyInStock()).thenReturn(15);
-
-        when(resp.getProductItemOneByColour()).thenReturn(List.of(item));
-
-        when(productItemCallerService.getProductItemsByIds(List.of(1))).thenReturn(List.of(resp));
-
         PaymentService paymentService = new PaymentService(
-                paymentRepository,
-                shopOrderCallerService,
-                productItemCallerService,
-                orderEmailProducer,
-                kafkaProducers
+                mock(PaymentRepository.class),
+                mock(ShopOrderCallerService.class),
+                mock(OrderEmailProducer.class),
+                kafkaProducers,
+                new StageTimer(new SimpleMeterRegistry())
         );
-        Method method = PaymentService.class.getDeclaredMethod("refreshProductStock", ShopOrderResponse.class, Jwt.class);
+
+        Method method = PaymentService.class.getDeclaredMethod("publishStockUpdate", ShopOrderResponse.class);
         method.setAccessible(true);
 
-        Jwt jwt = mock(Jwt.class);
+        method.invoke(paymentService, order);
 
-        method.invoke(paymentService, order, jwt);
+        ArgumentCaptor<List<ProductStockUpdateRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(kafkaProducers).sendUpdateStock(captor.capture());
 
-        verify(product1).setQtyInStock(15);
-    }
+        List<ProductStockUpdateRequest> updateRequests = captor.getValue();
+        assertEquals(1, updateRequests.size());
+        assertEquals(1, updateRequests.get(0).getProductItemId());
+        assertEquals(5, updateRequests.get(0).getQuantityToSubtract());
     }
+}
@@ -0,0 +1,149 @@
+package com.ecommerce.payment.reconciliation;
+
+import com.ecommerce.payment.clients.ShopOrderCallerService;
+import com.ecommerce.payment.clients.dto.UnsettledShopOrderResponse;
+import com.ecommerce.payment.exceptions.APIException;
+import com.ecommerce.payment.keycloak.KeyCloakTokenProvider;
+import com.ecommerce.payment.payment.PaymentRequest;
+import com.ecommerce.payment.payment.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentReconciliationServiceTest {
+
+    @Mock
+    private ShopOrderCallerService shopOrderCallerService;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private ReconciliationRunRepository reconciliationRunRepository;
+
+    @Mock
+    private KeyCloakTokenProvider keyCloakTokenProvider;
+
+    private final List<ReconciliationRun> savedRuns = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(keyCloakTokenProvider.getClientAccessToken()).thenReturn("service-token");
+        lenient().when(reconciliationRunRepository.save(any(ReconciliationRun.class))).thenAnswer(invocation -> {
+            ReconciliationRun run = invocation.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(1L);
+            }
+            savedRuns.add(run);
+            return run;
+        });
+    }
+
+    private PaymentReconciliationService service(Executor runExecutor, ReconciliationProvider... providers) {
+        PaymentReconciliationService service = new PaymentReconciliationService(
+                List.of(providers),
+                shopOrderCallerService,
+                paymentService,
+                reconciliationRunRepository,
+                keyCloakTokenProvider,
+                runExecutor,
+                Runnable::run
+        );
+        ReflectionTestUtils.setField(service, "pageSize", 3);
+        ReflectionTestUtils.setField(service, "settleGrace", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(service, "lookback", Duration.ofDays(7));
+        return service;
+    }
+
+    private List<UnsettledShopOrderResponse> orders(int... ids) {
+        return IntStream.of(ids)
+                .mapToObj(id -> UnsettledShopOrderResponse.builder().id(id).build())
+                .toList();
+    }
+
+    @Test
+    void PaymentReconciliationService_StartRun_SettlesDriftAcrossPages() throws Exception {
+        StubReconciliationProvider stored = new StubReconciliationProvider("stored", 500).paid(2);
+        StubReconciliationProvider stripe = new StubReconciliationProvider("stripe", 2).paid(3).paid(4);
+
+        when(shopOrderCallerService.getUnsettledShopOrders(eq(0), any(), any(), eq(3), eq("service-token")))
+                .thenReturn(orders(1, 2, 3));
+        when(shopOrderCallerService.getUnsettledShopOrders(eq(3), any(), any(), eq(3), eq("service-token")))
+                .thenReturn(orders(4, 5));
+
+        ReconciliationRunResponse started = service(Runnable::run, stored, stripe).startRun("manual");
+
+        ArgumentCaptor<PaymentRequest> settled = ArgumentCaptor.forClass(PaymentRequest.class);
+        verify(paymentService, times(3)).settleReconciledPayment(settled.capture(), eq("service-token"));
+        assertEquals(List.of(2, 3, 4), settled.getAllValues().stream().map(PaymentRequest::getShopOrderId).sorted().toList());
+
+        assertEquals(List.of(List.of(1, 3), List.of(4, 5)), stripe.getRequestedBatches());
+
+        ReconciliationRun run = savedRuns.get(savedRuns.size() - 1);
+        assertEquals(ReconciliationRun.Status.COMPLETED, run.getStatus());
+        assertEquals(5, run.getOrdersScanned());
+        assertEquals(3, run.getOrdersSettled());
+        assertEquals(2, run.getOrdersUnmatched());
+        assertEquals(5, run.getLastOrderId());
+        assertNotNull(run.getFinishedAt());
+        assertEquals(1L, started.getId());
+        verify(shopOrderCallerService).getUnsettledShopOrders(
+                eq(0), eq(run.getPlacedBefore().minusDays(7)), eq(run.getPlacedBefore()), eq(3), eq("service-token"));
+    }
+
+    @Test
+    void PaymentReconciliationService_StartRun_ProviderFailureLeavesOrdersUnmatched() throws Exception {
+        StubReconciliationProvider stripe = new StubReconciliationProvider("stripe", 10)
+                .failing(new RuntimeException("Stripe unavailable"));
+
+        when(shopOrderCallerService.getUnsettledShopOrders(eq(0), any(), any(), eq(3), anyString()))
+                .thenReturn(orders(7, 8));
+
+        service(Runnable::run, stripe).startRun("scheduled");
+
+        verify(paymentService, never()).settleReconciledPayment(any(), anyString());
+
+        ReconciliationRun run = savedRuns.get(savedRuns.size() - 1);
+        assertEquals(ReconciliationRun.Status.COMPLETED, run.getStatus());
+        assertEquals(2, run.getOrdersUnmatched());
+        assertEquals(1, run.getErrors());
+    }
+
+    @Test
+    void PaymentReconciliationService_StartRun_OrderServiceFailureMarksRunFailed() {
+        when(shopOrderCallerService.getUnsettledShopOrders(anyInt(), any(), any(), anyInt(), anyString()))
+                .thenThrow(new RuntimeException("order service down"));
+
+        service(Runnable::run, new StubReconciliationProvider("stored", 500)).startRun("manual");
+
+        ReconciliationRun run = savedRuns.get(savedRuns.size() - 1);
+        assertEquals(ReconciliationRun.Status.FAILED, run.getStatus());
+        assertEquals("order service down", run.getFailureReason());
+    }
+
+    @Test
+    void PaymentReconciliationService_StartRun_RejectsConcurrentRun() {
+        List<Runnable> pending = new ArrayList<>();
+        PaymentReconciliationService service = service(pending::add, new StubReconciliationProvider("stored", 500));
+
+        service.startRun("manual");
+
+        assertThrows(APIException.class, () -> service.startRun("manual"));
+        assertEquals(1, pending.size());
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.payment.reconciliation;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+class StubReconciliationProvider implements ReconciliationProvider {
+
+    private final String name;
+    private final int batchSize;
+    private final Map<Integer, ProviderPayment> payments = new HashMap<>();
+    private final List<List<Integer>> requestedBatches = new ArrayList<>();
+    private RuntimeException failure;
+
+    StubReconciliationProvider(String name, int batchSize) {
+        this.name = name;
+        this.batchSize = batchSize;
+    }
+
+    StubReconciliationProvider paid(Integer shopOrderId) {
+        payments.put(shopOrderId, ProviderPayment.builder()
+                .shopOrderId(shopOrderId)
+                .source(name)
+                .transactionId(name + "_tx_" + shopOrderId)
+                .paymentIntentId(name + "_pi_" + shopOrderId)
+                .paymentMethodName("visa")
+                .last4CardNumber("4242")
+                .paidAt(LocalDateTime.now())
+                .build());
+        return this;
+    }
+
+    StubReconciliationProvider failing(RuntimeException failure) {
+        this.failure = failure;
+        return this;
+    }
+
+    List<List<Integer>> getRequestedBatches() {
+        return requestedBatches;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public synchronized List<ProviderPayment> findSucceededPayments(List<Integer> shopOrderIds) {
+        requestedBatches.add(List.copyOf(shopOrderIds));
+        if (failure != null) {
+            throw failure;
+        }
+        return shopOrderIds.stream()
+                .map(payments::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.payment.webhook;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WebhookInboxServiceTest {
+
+    @Mock
+    private WebhookEventRepository webhookEventRepository;
+
+    @InjectMocks
+    private WebhookInboxService webhookInboxService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(webhookInboxService, "processingLease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(webhookInboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(webhookInboxService, "retryBackoff", Duration.ofSeconds(10));
+    }
+
+    @Test
+    void WebhookInboxService_Record_StoresNewEvent() {
+        when(webhookEventRepository.existsByProviderAndEventId(WebhookProvider.STRIPE, "evt_1")).thenReturn(false);
+
+        boolean recorded = webhookInboxService.record(WebhookProvider.STRIPE, "evt_1", "checkout.session.completed", "{}");
+
+        assertTrue(recorded);
+        verify(webhookEventRepository).saveAndFlush(any(WebhookEvent.class));
+    }
+
+    @Test
+    void WebhookInboxService_Record_IgnoresKnownEvent() {
+        when(webhookEventRepository.existsByProviderAndEventId(WebhookProvider.STRIPE, "evt_1")).thenReturn(true);
+
+        boolean recorded = webhookInboxService.record(WebhookProvider.STRIPE, "evt_1", "checkout.session.completed", "{}");
+
+        assertFalse(recorded);
+        verify(webhookEventRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void WebhookInboxService_Record_IgnoresConcurrentDuplicate() {
+        when(webhookEventRepository.existsByProviderAndEventId(WebhookProvider.PAYU, "ord_1:COMPLETED")).thenReturn(false);
+        when(webhookEventRepository.saveAndFlush(any(WebhookEvent.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_webhook_inbox_provider_event"));
+
+        boolean recorded = webhookInboxService.record(WebhookProvider.PAYU, "ord_1:COMPLETED", "COMPLETED", "{}");
+
+        assertFalse(recorded);
+    }
+
+    @Test
+    void WebhookInboxService_ClaimDueEvents_LeasesClaimedEvents() {
+        WebhookEvent event = WebhookEvent.builder()
+                .id(1L)
+                .provider(WebhookProvider.STRIPE)
+                .eventId("evt_1")
+                .status(WebhookEvent.Status.PENDING)
+                .build();
+        when(webhookEventRepository.lockDueEvents(any(LocalDateTime.class), anyInt())).thenReturn(List.of(event));
+        when(webhookEventRepository.saveAll(List.of(event))).thenReturn(List.of(event));
+
+        List<WebhookEvent> claimed = webhookInboxService.claimDueEvents(10);
+
+        assertEquals(1, claimed.size());
+        assertEquals(WebhookEvent.Status.PROCESSING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(4)));
+    }
+
+    @Test
+    void WebhookInboxService_MarkFailed_SchedulesRetryWithBackoff() {
+        WebhookEvent event = WebhookEvent.builder()
+                .id(1L)
+                .status(WebhookEvent.Status.PROCESSING)
+                .attempts(2)
+                .build();
+        when(webhookEventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        webhookInboxService.markFailed(1L, new RuntimeException("Stripe is down"));
+
+        assertEquals(WebhookEvent.Status.PENDING, event.getStatus());
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(15)));
+        assertEquals("RuntimeException: Stripe is down", event.getLastError());
+    }
+
+    @Test
+    void WebhookInboxService_MarkFailed_GivesUpAfterMaxAttempts() {
+        WebhookEvent event = WebhookEvent.builder()
+                .id(1L)
+                .status(WebhookEvent.Status.PROCESSING)
+                .attempts(3)
+                .build();
+        when(webhookEventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        webhookInboxService.markFailed(1L, new RuntimeException("Invalid extOrderId"));
+
+        assertEquals(WebhookEvent.Status.FAILED, event.getStatus());
+    }
+}
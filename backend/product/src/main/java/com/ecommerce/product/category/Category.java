@@ -1,5 +1,6 @@
 package com.ecommerce.product.category;
 
+import com.ecommerce.product.kafka.CatalogChangeEntityListener;
 import com.ecommerce.product.product.Product;
 import com.ecommerce.product.variation.Variation;
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -19,6 +20,7 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "categories")
+@EntityListeners(CatalogChangeEntityListener.class)
 public class Category {
 
     @Id
@@ -0,0 +1,21 @@
+package com.ecommerce.product.kafka;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeEntityListener {
+
+    private final CatalogChangePublisher catalogChangePublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        catalogChangePublisher.changed(CatalogEntity.of(entity));
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.product.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Publishes one catalog change event per committed transaction, so caches in front of the product service
+ * (e.g. the gateway response cache) can purge what became stale.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogChangePublisher {
+
+    static final String BINDING = "productChanged-out-0";
+
+    private final StreamBridge streamBridge;
+
+    public void changed(CatalogEntity entity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(EnumSet.of(entity));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<CatalogEntity> pending = (Set<CatalogEntity>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<CatalogEntity> changes = EnumSet.noneOf(CatalogEntity.class);
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CatalogChangePublisher.this);
+                    if (status == STATUS_COMMITTED) {
+                        publish(changes);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        pending.add(entity);
+    }
+
+    private void publish(Set<CatalogEntity> entities) {
+        try {
+            streamBridge.send(BINDING, CatalogChangedEvent.builder()
+                    .entities(entities)
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+        } catch (RuntimeException ex) {
+            // caches still expire on their TTL, so a lost event only delays the refresh
+            log.warn("Could not publish catalog change {}: {}", entities, ex.getMessage());
+        }
+    }
+}
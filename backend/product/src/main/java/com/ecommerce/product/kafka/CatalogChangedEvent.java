@@ -0,0 +1,16 @@
+package com.ecommerce.product.kafka;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogChangedEvent {
+    private Set<CatalogEntity> entities;
+    private LocalDateTime occurredAt;
+}
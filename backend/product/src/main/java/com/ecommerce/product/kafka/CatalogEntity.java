@@ -0,0 +1,32 @@
+package com.ecommerce.product.kafka;
+
+import com.ecommerce.product.category.Category;
+import com.ecommerce.product.product.Product;
+import com.ecommerce.product.product.productImage.ProductImage;
+import com.ecommerce.product.product.productItem.ProductItem;
+import com.ecommerce.product.variation.Variation;
+import com.ecommerce.product.variation.VariationOption;
+
+public enum CatalogEntity {
+
+    PRODUCT,
+    PRODUCT_ITEM,
+    CATEGORY,
+    VARIATION;
+
+    public static CatalogEntity of(Object entity) {
+        if (entity instanceof ProductItem) {
+            return PRODUCT_ITEM;
+        }
+        if (entity instanceof Product || entity instanceof ProductImage) {
+            return PRODUCT;
+        }
+        if (entity instanceof Category) {
+            return CATEGORY;
+        }
+        if (entity instanceof Variation || entity instanceof VariationOption) {
+            return VARIATION;
+        }
+        throw new IllegalArgumentException("Not a catalog entity: " + entity.getClass().getName());
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.product.product;
 
+import com.ecommerce.product.kafka.CatalogChangeEntityListener;
 import com.ecommerce.product.category.Category;
 import com.ecommerce.product.product.productItem.ProductItem;
 import com.fasterxml.jackson.annotation.*;
@@ -22,7 +23,7 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "products")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CatalogChangeEntityListener.class})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Product {
 
@@ -1,5 +1,6 @@
 package com.ecommerce.product.product.productImage;
 
+import com.ecommerce.product.kafka.CatalogChangeEntityListener;
 import com.ecommerce.product.product.productItem.ProductItem;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
@@ -16,6 +17,7 @@ import java.util.Set;
 @NoArgsConstructor
 @Entity
 @Table(name = "product_image")
+@EntityListeners(CatalogChangeEntityListener.class)
 public class ProductImage {
 
     @Id
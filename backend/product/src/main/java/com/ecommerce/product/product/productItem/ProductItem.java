@@ -1,5 +1,6 @@
 package com.ecommerce.product.product.productItem;
 
+import com.ecommerce.product.kafka.CatalogChangeEntityListener;
 import com.ecommerce.product.product.Product;
 import com.ecommerce.product.product.productImage.ProductImage;
 import com.ecommerce.product.variation.VariationOption;
@@ -19,7 +20,7 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "product_item")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CatalogChangeEntityListener.class})
 public class ProductItem {
 
     @Id
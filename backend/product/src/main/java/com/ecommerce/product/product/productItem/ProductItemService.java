@@ -2,6 +2,7 @@ package com.ecommerce.product.product.productItem;
 
 import com.ecommerce.product.exceptions.APIException;
 import com.ecommerce.product.exceptions.NotFoundException;
+import com.ecommerce.product.metrics.StageTimer;
 import com.ecommerce.product.product.Product;
 import com.ecommerce.product.product.ProductRepository;
 import com.ecommerce.product.product.productImage.ProductImage;
@@ -19,6 +20,7 @@ import com.ecommerce.product.variation.VariationOption;
 import com.ecommerce.product.variation.VariationOptionRepository;
 import com.ecommerce.product.variation.VariationOptionResponse;
 import com.ecommerce.product.variation.VariationOptionWithVariationResponse;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,10 +37,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProductItemService {
 
+    private static final String GROUPED_BY_COLOUR = "product-items.grouped-by-colour";
+
     private final ProductItemRepository productItemRepository;
     private final ProductRepository productRepository;
     private final ProductImageRepository productImageRepository;
     private final VariationOptionRepository variationOptionRepository;
+    private final StageTimer stageTimer;
 
     @Transactional
     public ProductItem createProductItem(CreateProductItemRequest createProductItemRequest) {
@@ -186,6 +191,7 @@ public class ProductItemService {
                 ? PageRequest.of(0, limit.get(), Sort.by(direction, "createdDate"))
                 : PageRequest.of(pageNumber, pageSize, Sort.by(direction, effectiveSortBy));
 
+        Timer.Sample stage = stageTimer.start();
         List<ProductItem> productPage;
 
         if (categoryId != null) {
@@ -197,11 +203,13 @@ public class ProductItemService {
         } else {
             productPage = productItemRepository.findAll();
         }
+        stageTimer.stop(stage, GROUPED_BY_COLOUR, "query");
 
-        List<ProductItemRequest> productItemRequests = productPage.stream()
+        List<ProductItemRequest> productItemRequests = stageTimer.record(GROUPED_BY_COLOUR, "map", () -> productPage.stream()
                 .map(this::mapToProductItemRequestGrouped)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
 
+        stage = stageTimer.start();
         Map<Integer, Map<String, List<ProductItemRequest>>> groupedByProductAndColour = productItemRequests.stream()
                 .filter(item -> item.getColour() != null && !item.getColour().isEmpty())
                 .collect(Collectors.groupingBy(ProductItemRequest::getProductId,
@@ -262,8 +270,9 @@ public class ProductItemService {
                 })
                 .flatMap(List::stream)
                 .collect(Collectors.toList());
+        stageTimer.stop(stage, GROUPED_BY_COLOUR, "group");
 
-
+        stage = stageTimer.start();
         if ("productId".equals(sortBy)) {
             response.sort(Comparator.comparing(ProductItemGroupByColorResponse::getProductId));
         } else if ("id".equals(sortBy)) {
@@ -288,6 +297,7 @@ public class ProductItemService {
         int start = (int) pageable.getOffset();
         int end = Math.min((start + pageable.getPageSize()), response.size());
         List<ProductItemGroupByColorResponse> pagedGroups = response.subList(start, end);
+        stageTimer.stop(stage, GROUPED_BY_COLOUR, "sort-page");
 
         int totalElements = response.size();
         int totalPages = (int) Math.ceil((double) totalElements / pageSize);
@@ -1,5 +1,6 @@
 package com.ecommerce.product.variation;
 
+import com.ecommerce.product.kafka.CatalogChangeEntityListener;
 import com.ecommerce.product.category.Category;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
@@ -16,6 +17,7 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "variation")
+@EntityListeners(CatalogChangeEntityListener.class)
 public class Variation {
 
     @Id
@@ -0,0 +1,172 @@
+package com.ecommerce.product.codec;
+
+import com.ecommerce.product.product.productImage.ProductImage;
+import com.ecommerce.product.product.productItem.response.OtherProductItemOneByColour;
+import com.ecommerce.product.product.productItem.response.ProductItemOneByColour;
+import com.ecommerce.product.product.productItem.response.ProductItemOneByColourResponse;
+import com.ecommerce.product.product.productItem.response.ProductItemToOrderResponse;
+import com.ecommerce.product.variation.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serialization cost of JSON and Smile for the DTOs exchanged between services; payload sizes are asserted in
+ * {@link SmileCodecConfigTest}. Reads parse into the tree model, since the entities inside these DTOs are only bound
+ * to the consumers' own response types.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.product.codec.SmileCodecBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SmileCodecBenchmark {
+
+    private ObjectMapper json;
+    private ObjectMapper smile;
+    private ProductItemOneByColourResponse productPage;
+    private ProductItemToOrderResponse[] orderItems;
+    private byte[] productPageJson;
+    private byte[] productPageSmile;
+    private byte[] orderItemsJson;
+    private byte[] orderItemsSmile;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = new ObjectMapper().registerModule(new JavaTimeModule());
+        smile = json.copyWith(new SmileFactory());
+        productPage = productPage();
+        orderItems = orderItems(20);
+        productPageJson = json.writeValueAsBytes(productPage);
+        productPageSmile = smile.writeValueAsBytes(productPage);
+        orderItemsJson = json.writeValueAsBytes(orderItems);
+        orderItemsSmile = smile.writeValueAsBytes(orderItems);
+    }
+
+    @Benchmark
+    public byte[] productPageWriteJson() throws IOException {
+        return json.writeValueAsBytes(productPage);
+    }
+
+    @Benchmark
+    public byte[] productPageWriteSmile() throws IOException {
+        return smile.writeValueAsBytes(productPage);
+    }
+
+    @Benchmark
+    public JsonNode productPageReadJson() throws IOException {
+        return json.readTree(productPageJson);
+    }
+
+    @Benchmark
+    public JsonNode productPageReadSmile() throws IOException {
+        return smile.readTree(productPageSmile);
+    }
+
+    @Benchmark
+    public byte[] orderItemsWriteJson() throws IOException {
+        return json.writeValueAsBytes(orderItems);
+    }
+
+    @Benchmark
+    public byte[] orderItemsWriteSmile() throws IOException {
+        return smile.writeValueAsBytes(orderItems);
+    }
+
+    @Benchmark
+    public JsonNode orderItemsReadJson() throws IOException {
+        return json.readTree(orderItemsJson);
+    }
+
+    @Benchmark
+    public JsonNode orderItemsReadSmile() throws IOException {
+        return smile.readTree(orderItemsSmile);
+    }
+
+    static ProductItemOneByColourResponse productPage() {
+        List<ProductImage> images = IntStream.range(0, 6)
+                .mapToObj(i -> ProductImage.builder().id((long) i).imageFilename("products/jacket-navy-" + i + ".webp").build())
+                .toList();
+        List<VariationResponse> variations = List.of(VariationResponse.builder()
+                .id(1)
+                .categoryId(4)
+                .name("size")
+                .options(List.of("XS", "S", "M", "L", "XL").stream()
+                        .map(size -> VariationOptionResponse.builder().id(size.hashCode()).value(size).build())
+                        .toList())
+                .build());
+
+        List<ProductItemOneByColour> variants = IntStream.range(0, 5)
+                .mapToObj(i -> ProductItemOneByColour.builder()
+                        .id(100 + i)
+                        .price(249.99)
+                        .discount(10)
+                        .productCode("JKT-NVY-" + i)
+                        .qtyInStock(12 - i)
+                        .variations(variations)
+                        .productImages(images)
+                        .productName("Quilted winter jacket")
+                        .productDescription("Water-repellent quilted jacket with a detachable hood and recycled filling.")
+                        .productId(7)
+                        .categoryId(4)
+                        .colour("navy")
+                        .build())
+                .toList();
+
+        return ProductItemOneByColourResponse.builder()
+                .productId(7)
+                .productItemId(100)
+                .productName("Quilted winter jacket")
+                .colour("navy")
+                .productItemOneByColour(variants)
+                .otherProductItemOneByColours(List.of("black", "olive", "sand").stream()
+                        .map(colour -> OtherProductItemOneByColour.builder()
+                                .productId(7)
+                                .productItemId(200 + colour.length())
+                                .productName("Quilted winter jacket")
+                                .colour(colour)
+                                .productImages(Set.copyOf(images.subList(0, 2)))
+                                .build())
+                        .toList())
+                .productImages(images)
+                .build();
+    }
+
+    static ProductItemToOrderResponse[] orderItems(int count) {
+        VariationShortResponse size = VariationShortResponse.builder().id(1).name("size").categoryName("Jackets").build();
+        return IntStream.range(0, count)
+                .mapToObj(i -> ProductItemToOrderResponse.builder()
+                        .id(100 + i)
+                        .price(249.99)
+                        .discount(10)
+                        .productCode("JKT-NVY-" + i)
+                        .qtyInStock(12)
+                        .productId(7)
+                        .variationOptions(List.of(VariationOptionWithVariationResponse.builder().id(3).value("M").variation(size).build()))
+                        .productImages(List.of(ProductImage.builder().id(1L).imageFilename("products/jacket-navy-0.webp").build()))
+                        .productName("Quilted winter jacket")
+                        .productDescription("Water-repellent quilted jacket with a detachable hood and recycled filling.")
+                        .build())
+                .toArray(ProductItemToOrderResponse[]::new);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SmileCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.product.codec;
+
+import com.ecommerce.product.product.productItem.response.ProductItemOneByColourResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmileCodecConfigTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final MediaType SMILE = MediaType.parseMediaType(SmileCodecConfig.SMILE_MEDIA_TYPE);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private void currentRequest(boolean internal) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (internal) {
+            request.addHeader(SmileCodecConfig.INTERNAL_CALL_HEADER, "true");
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @SuppressWarnings("unchecked")
+    private MappingJackson2SmileHttpMessageConverter smileConverter(List<HttpMessageConverter<?>> converters) {
+        new SmileCodecConfig(objectMapper).extendMessageConverters(converters);
+        return (MappingJackson2SmileHttpMessageConverter) converters.get(converters.size() - 1);
+    }
+
+    @Test
+    void SmileCodecConfig_ExtendMessageConverters_KeepsJsonFirst() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(new MappingJackson2HttpMessageConverter(objectMapper)));
+
+        smileConverter(converters);
+
+        assertEquals(2, converters.size());
+        assertInstanceOf(MappingJackson2HttpMessageConverter.class, converters.get(0));
+        assertTrue(converters.get(1).getSupportedMediaTypes().contains(SMILE));
+    }
+
+    @Test
+    void SmileCodecConfig_SmileConverter_OnlyNegotiatedForInternalCalls() {
+        MappingJackson2SmileHttpMessageConverter converter = smileConverter(new ArrayList<>());
+
+        currentRequest(false);
+        assertFalse(converter.canWrite(Map.class, SMILE));
+        assertFalse(converter.canRead(Map.class, SMILE));
+
+        currentRequest(true);
+        assertTrue(converter.canWrite(Map.class, SMILE));
+        assertTrue(converter.canRead(Map.class, SMILE));
+    }
+
+    @Test
+    void SmileCodecConfig_SmileConverter_RoundTripsSmallerPayload() throws Exception {
+        MappingJackson2SmileHttpMessageConverter converter = smileConverter(new ArrayList<>());
+        ProductItemOneByColourResponse page = SmileCodecBenchmark.productPage();
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(page, SMILE, output);
+        byte[] smile = output.getBodyAsBytes();
+
+        // consumers bind their own DTOs; the entities inside this one only serialize on the product side
+        JsonNode read = (JsonNode) converter.read(JsonNode.class, new MockHttpInputMessage(smile));
+
+        assertEquals(page.getProductItemId(), read.path("productItemId").asInt());
+        assertEquals(page.getProductItemOneByColour().size(), read.path("productItemOneByColour").size());
+        assertEquals("JKT-NVY-2", read.path("productItemOneByColour").path(2).path("productCode").asText());
+        assertTrue(smile.length < objectMapper.writeValueAsBytes(page).length);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.product.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StageTimerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StageTimer stageTimer = new StageTimer(meterRegistry);
+
+    @Test
+    void StageTimer_Record_TimesStageAndReturnsResult() {
+        String result = stageTimer.record("catalog.list", "query", () -> "rows");
+        stageTimer.record("catalog.list", "query", () -> "rows");
+
+        Timer timer = meterRegistry.get(StageTimer.METRIC_NAME)
+                .tag("operation", "catalog.list")
+                .tag("stage", "query")
+                .timer();
+        assertEquals("rows", result);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void StageTimer_Record_PublishesPercentileHistogram() {
+        PrometheusMeterRegistry prometheusRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        new StageTimer(prometheusRegistry).record("catalog.list", "query", () -> "rows");
+
+        assertTrue(prometheusRegistry.scrape().contains(
+                "app_stage_duration_seconds_bucket{operation=\"catalog.list\",stage=\"query\",le=\"0.001\"}"));
+    }
+
+    @Test
+    void StageTimer_Run_RecordsFailedStage() {
+        assertThrows(IllegalStateException.class, () -> stageTimer.run("catalog.list", "group", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, meterRegistry.get(StageTimer.METRIC_NAME).tag("stage", "group").timer().count());
+    }
+}
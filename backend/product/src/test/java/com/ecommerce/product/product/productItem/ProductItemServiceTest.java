@@ -5,6 +5,7 @@ import com.ecommerce.product.category.CategoryRepository;
 import com.ecommerce.product.category.CategoryRequest;
 import com.ecommerce.product.category.CategoryResponse;
 import com.ecommerce.product.exceptions.APIException;
+import com.ecommerce.product.metrics.StageTimer;
 import com.ecommerce.product.product.Product;
 import com.ecommerce.product.product.ProductRepository;
 import com.ecommerce.product.product.productImage.ProductImage;
@@ -16,10 +17,12 @@ import com.ecommerce.product.product.productItem.response.ProductItemGroupByColo
 import com.ecommerce.product.product.productItem.response.ProductItemGroupByColourDTO;
 import com.ecommerce.product.product.productItem.response.ProductItemOneByColourResponse;
 import com.ecommerce.product.variation.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.oauth2.jwt.Jwt;
 
@@ -45,6 +48,9 @@ public class ProductItemServiceTest {
     private ProductItemRepository productItemRepository;
 
 
+    @Spy
+    private StageTimer stageTimer = new StageTimer(new SimpleMeterRegistry());
+
     @InjectMocks
     private ProductItemService productItemService;
 
@@ -0,0 +1,75 @@
+package com.ecommerce.product.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdentityHeaderAuthenticationFilterTest {
+
+    private static final String SECRET = "identity-secret";
+    private static final String TOKEN = "header.payload.signature";
+
+    private final IdentityHeaderAuthenticationFilter filter =
+            new IdentityHeaderAuthenticationFilter(SECRET, jwt -> new JwtAuthenticationToken(jwt, List.of()));
+
+    private String identity(String secret, String token, long expiresAt) throws Exception {
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        String tokenHash = base64.encodeToString(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        String claims = "{\"sub\":\"kc-1\",\"uid\":null,\"email\":\"jan@example.com\",\"roles\":[\"USER\",\"ADMIN\"],"
+                + "\"iat\":1,\"exp\":" + expiresAt + ",\"th\":\"" + tokenHash + "\"}";
+        String payload = base64.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return payload + '.' + base64.encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private long inOneHour() {
+        return Instant.now().plusSeconds(3600).getEpochSecond();
+    }
+
+    @Test
+    void IdentityHeaderAuthenticationFilter_Verify_BuildsJwtFromValidHeader() throws Exception {
+        Jwt jwt = filter.verify(identity(SECRET, TOKEN, inOneHour()), TOKEN);
+
+        assertNotNull(jwt);
+        assertEquals("kc-1", jwt.getSubject());
+        assertEquals("jan@example.com", jwt.getClaimAsString("email"));
+        assertEquals(TOKEN, jwt.getTokenValue());
+        Map<String, Object> resourceAccess = jwt.getClaim("resource_access");
+        assertEquals(Map.of("roles", List.of("USER", "ADMIN")), resourceAccess.get("admin-client"));
+        assertNull(jwt.getClaim("user_id"));
+    }
+
+    @Test
+    void IdentityHeaderAuthenticationFilter_Verify_RejectsForeignSignature() throws Exception {
+        assertNull(filter.verify(identity("other-secret", TOKEN, inOneHour()), TOKEN));
+    }
+
+    @Test
+    void IdentityHeaderAuthenticationFilter_Verify_RejectsHeaderOfAnotherToken() throws Exception {
+        assertNull(filter.verify(identity(SECRET, "another.token.value", inOneHour()), TOKEN));
+    }
+
+    @Test
+    void IdentityHeaderAuthenticationFilter_Verify_RejectsExpiredHeader() throws Exception {
+        assertNull(filter.verify(identity(SECRET, TOKEN, Instant.now().minusSeconds(1).getEpochSecond()), TOKEN));
+    }
+
+    @Test
+    void IdentityHeaderAuthenticationFilter_Verify_RejectsMalformedHeader() {
+        assertNull(filter.verify("not-an-identity", TOKEN));
+        assertNull(filter.verify("%%%.%%%", TOKEN));
+    }
+}
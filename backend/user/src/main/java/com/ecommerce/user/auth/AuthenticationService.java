@@ -12,6 +12,7 @@ import com.ecommerce.user.role.RoleRepository;
 import com.ecommerce.user.shoppingCart.ShoppingCart;
 import com.ecommerce.user.shoppingCart.ShoppingCartResponse;
 import com.ecommerce.user.shoppingCart.shoppingCartItem.ShoppingCartItemResponse;
+import com.ecommerce.user.statistics.StatisticsProjectionService;
 import com.ecommerce.user.user.*;
 import com.ecommerce.user.userPaymentMethod.UserPaymentMethodResponse;
 import jakarta.mail.MessagingException;
@@ -41,6 +42,7 @@ public class AuthenticationService {
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final StatisticsProjectionService statisticsProjectionService;
 
     private final KeyCloakService keyCloakService;
     private final PasswordEncoder passwordEncoder;
@@ -86,6 +88,7 @@ public class AuthenticationService {
                 .roles(List.of(userRole))
                 .build();
         userRepository.save(user);
+        statisticsProjectionService.userRegistered(user);
 
         UserResponse userResponse = mapToUserResponse(user);
 
@@ -1,6 +1,7 @@
 package com.ecommerce.user.clients;
 
 import com.ecommerce.user.clients.dto.PaymentTypeResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
@@ -20,6 +21,7 @@ public class PaymentCallerService {
     @Retry(name = "paymentService", fallbackMethod = "paymentServiceFallback")
     @CircuitBreaker(name = "paymentService", fallbackMethod = "paymentServiceFallback")
     @RateLimiter(name = "paymentService", fallbackMethod = "paymentServiceFallback")
+    @Bulkhead(name = "paymentService", fallbackMethod = "paymentServiceFallback")
     public List<PaymentTypeResponse> getAllPaymentMethods() {
         return paymentClient.paymentTypeResponse();
     }
@@ -4,11 +4,13 @@ import com.ecommerce.user.clients.dto.ProductItemOneByColour;
 import com.ecommerce.user.clients.dto.ProductItemOneByColourResponse;
 import com.ecommerce.user.clients.dto.ProductResponseGetById;
 import com.ecommerce.user.exceptions.ServiceNotFoundException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,9 +21,11 @@ import java.util.List;
 public class ProductCallerService {
     private final ProductClient productClient;
 
+    @Cacheable(cacheNames = "productItems")
     @Retry(name = "productService", fallbackMethod = "getProductItemByIdServiceFallback")
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductItemByIdServiceFallback")
     @RateLimiter(name = "productService", fallbackMethod = "getProductItemByIdServiceFallback")
+    @Bulkhead(name = "productService", fallbackMethod = "getProductItemByIdServiceFallback")
     public ProductItemOneByColourResponse getProductItemById(Integer productItemId, String colour) {
         return productClient.getProductItemById(productItemId, colour);
     }
@@ -31,9 +35,11 @@ public class ProductCallerService {
         throw new ServiceNotFoundException("product", "getProductItemById", ex.getMessage());
     }
 
+    @Cacheable(cacheNames = "productItemsByIds")
     @Retry(name = "productService", fallbackMethod = "getProductItemByIdsFallback")
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductItemByIdsFallback")
     @RateLimiter(name = "productService", fallbackMethod = "getProductItemByIdsFallback")
+    @Bulkhead(name = "productService", fallbackMethod = "getProductItemByIdsFallback")
     public List<ProductItemOneByColourResponse> getProductItemByIds(List<Integer> productItemIds) {
         return productClient.getProductItemByIds(productItemIds);
     }
@@ -43,9 +49,11 @@ public class ProductCallerService {
         throw new ServiceNotFoundException("product", "getProductItemById", ex.getMessage());
     }
 
+    @Cacheable(cacheNames = "products", unless = "#result?.id == null")
     @Retry(name = "productService", fallbackMethod = "getProductByIdServiceFallback")
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductByIdServiceFallback")
     @RateLimiter(name = "productService", fallbackMethod = "getProductByIdServiceFallback")
+    @Bulkhead(name = "productService", fallbackMethod = "getProductByIdServiceFallback")
     public ProductResponseGetById getProductById(Integer id) {
         return productClient.getProductById(id);
     }
@@ -55,9 +63,11 @@ public class ProductCallerService {
         return new ProductResponseGetById();
     }
 
+    @Cacheable(cacheNames = "productItemCount")
     @Retry(name = "productService", fallbackMethod = "getTotalProductItemsNumberServiceFallback")
     @CircuitBreaker(name = "productService", fallbackMethod = "getTotalProductItemsNumberServiceFallback")
     @RateLimiter(name = "productService", fallbackMethod = "getTotalProductItemsNumberServiceFallback")
+    @Bulkhead(name = "productService", fallbackMethod = "getTotalProductItemsNumberServiceFallback")
     public Long getTotalProductItemsNumber() {
         return productClient.getTotalProductItemsNumber();
     }
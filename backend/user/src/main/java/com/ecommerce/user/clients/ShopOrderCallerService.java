@@ -6,26 +6,38 @@ import com.ecommerce.user.clients.dto.ShopOrderResponse;
 import com.ecommerce.user.clients.dto.ShopOrderStatisticsResponse;
 import com.ecommerce.user.exceptions.ServiceNotFoundException;
 import com.ecommerce.user.statistics.dto.OrderStatusStatisticsResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ShopOrderCallerService {
 
+    private static final String ORDER_LINES_CACHE = "orderLines";
+
     private final ShopOrderClient shopOrderClient;
+    private final CacheManager cacheManager;
 
     @Retry(name = "shopOrderService", fallbackMethod = "shopOrderServiceFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "shopOrderServiceFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "shopOrderServiceFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "shopOrderServiceFallback")
     public List<ShopOrderResponse> getUserShopOrders(Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return shopOrderClient.getUserShopOrders(token);
@@ -39,6 +51,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderService", fallbackMethod = "getShopOrderIncomesAndTotalOrdersServiceFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "getShopOrderIncomesAndTotalOrdersServiceFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "getShopOrderIncomesAndTotalOrdersServiceFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "getShopOrderIncomesAndTotalOrdersServiceFallback")
     public ShopOrderStatisticsResponse getShopOrderIncomesAndTotalOrders(Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return shopOrderClient.getShopOrderIncomesAndTotalOrders(token);
@@ -52,6 +65,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderService", fallbackMethod = "getShopOrderIncomesAndTotalOrdersServiceFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "getShopOrderIncomesAndTotalOrdersServiceFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "getShopOrderIncomesAndTotalOrdersServiceFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "getShopOrderIncomesAndTotalOrdersServiceFallback")
     public List<OrderStatusStatisticsResponse> getTopOrderStatuses(Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return shopOrderClient.getTopOrderStatuses(token);
@@ -65,6 +79,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderService", fallbackMethod = "getOrderLineByIdServiceFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "getOrderLineByIdServiceFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "getOrderLineByIdServiceFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "getOrderLineByIdServiceFallback")
     public OrderLineResponse getOrderLineById(Integer orderLineId, Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return shopOrderClient.getOrderLineById(orderLineId, token);
@@ -78,8 +93,35 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderService", fallbackMethod = "getOrderLinesByIdsServiceFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "getOrderLinesByIdsServiceFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "getOrderLinesByIdsServiceFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "getOrderLinesByIdsServiceFallback")
     public List<OrderLineResponse> getOrderLinesByIds(List<Integer> orderLinesIds) {
-        return shopOrderClient.getOrderLinesByIds(orderLinesIds);
+        // cached per order line, so overlapping id lists share entries and only the misses reach the order service
+        Cache cache = cacheManager.getCache(ORDER_LINES_CACHE);
+        Map<Integer, OrderLineResponse> orderLines = new HashMap<>();
+        Set<Integer> misses = new LinkedHashSet<>();
+        for (Integer id : orderLinesIds) {
+            OrderLineResponse cached = cache != null ? cache.get(id, OrderLineResponse.class) : null;
+            if (cached != null) {
+                orderLines.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (OrderLineResponse orderLine : shopOrderClient.getOrderLinesByIds(List.copyOf(misses))) {
+                orderLines.put(orderLine.getId(), orderLine);
+                if (cache != null) {
+                    cache.put(orderLine.getId(), orderLine);
+                }
+            }
+        }
+
+        return orderLinesIds.stream()
+                .distinct()
+                .map(orderLines::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     public List<OrderLineResponse> getOrderLinesByIdsServiceFallback(List<Integer> orderLinesIds, Throwable ex){
@@ -90,6 +132,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderService", fallbackMethod = "getOrderLinesByProductItemsIdsServiceFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "getOrderLinesByProductItemsIdsServiceFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "getOrderLinesByProductItemsIdsServiceFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "getOrderLinesByProductItemsIdsServiceFallback")
     public List<OrderLineResponse> getOrderLinesByProductItemsIds(List<Integer> productItemIds) {
         return shopOrderClient.getOrderLinesByProductItemsIds(productItemIds);
     }
@@ -102,6 +145,7 @@ public class ShopOrderCallerService {
     @Retry(name = "shopOrderService", fallbackMethod = "canUserReviewOrderLineServiceFallback")
     @CircuitBreaker(name = "shopOrderService", fallbackMethod = "canUserReviewOrderLineServiceFallback")
     @RateLimiter(name = "shopOrderService", fallbackMethod = "canUserReviewOrderLineServiceFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "canUserReviewOrderLineServiceFallback")
     public boolean canUserReviewOrderLine(Integer orderLineId, Integer productItemId, Jwt jwt) {
         String token = "Bearer " + jwt.getTokenValue();
         return shopOrderClient.canUserReviewOrderLine(orderLineId,productItemId,token);
@@ -112,4 +156,18 @@ public class ShopOrderCallerService {
         throw new ServiceNotFoundException("Shop Order", "canUserReviewOrderLineServiceFallback", ex.getMessage());
     }
 
+    @Retry(name = "shopOrderService", fallbackMethod = "getUserOwnedOrderLineIdsServiceFallback")
+    @CircuitBreaker(name = "shopOrderService", fallbackMethod = "getUserOwnedOrderLineIdsServiceFallback")
+    @RateLimiter(name = "shopOrderService", fallbackMethod = "getUserOwnedOrderLineIdsServiceFallback")
+    @Bulkhead(name = "shopOrderService", fallbackMethod = "getUserOwnedOrderLineIdsServiceFallback")
+    public List<Integer> getUserOwnedOrderLineIds(List<Integer> orderLineIds, Jwt jwt) {
+        String token = "Bearer " + jwt.getTokenValue();
+        return shopOrderClient.getUserOwnedOrderLineIds(orderLineIds, token);
+    }
+
+    public List<Integer> getUserOwnedOrderLineIdsServiceFallback(List<Integer> orderLineIds, Jwt jwt, Throwable ex){
+        log.error("Failed to getUserOwnedOrderLineIds, shopOrder service, error: ", ex.getMessage());
+        throw new ServiceNotFoundException("Shop Order", "getUserOwnedOrderLineIds", ex.getMessage());
+    }
+
 }
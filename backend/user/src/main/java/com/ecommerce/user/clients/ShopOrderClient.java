@@ -34,6 +34,10 @@ public interface ShopOrderClient {
     @GetMapping("/order-line/by-product-item-ids")
     List<OrderLineResponse> getOrderLinesByProductItemsIds(@RequestParam List<Integer> productItemIds);
 
+    @GetMapping("/order-line/can-review")
+    List<Integer> getUserOwnedOrderLineIds(@RequestParam List<Integer> orderLineIds,
+                                           @RequestHeader("Authorization") String authorizationHeader);
+
     @GetMapping("/order-line/can-review/{orderLineId}")
     boolean canUserReviewOrderLine(@PathVariable Integer orderLineId,
                                    @RequestParam Integer productItemId,
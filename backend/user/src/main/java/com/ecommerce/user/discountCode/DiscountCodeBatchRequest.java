@@ -0,0 +1,18 @@
+package com.ecommerce.user.discountCode;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DiscountCodeBatchRequest {
+    private String name;
+    private int count;
+    private LocalDateTime expiryDate;
+    private Integer discount;
+    private boolean singleUse;
+}
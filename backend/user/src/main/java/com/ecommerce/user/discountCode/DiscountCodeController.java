@@ -20,6 +20,12 @@ public class DiscountCodeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(discountCode);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<DiscountCodeResponse>> createDiscountCodes(@RequestBody DiscountCodeBatchRequest discountCodeBatchRequest){
+        List<DiscountCodeResponse> discountCodes = discountCodeService.createDiscountCodes(discountCodeBatchRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(discountCodes);
+    }
+
     @PutMapping("{discountCodeId}")
     public ResponseEntity<DiscountCode> updateDiscount(@PathVariable String discountCodeId, @RequestBody DiscountCodeRequest discountCodeRequest) {
         DiscountCode discountCode = discountCodeService.updateDiscountCode(discountCodeId, discountCodeRequest);
@@ -4,6 +4,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +14,6 @@ public interface DiscountCodeRepository extends MongoRepository<DiscountCode, St
     List<DiscountCode> findByExpiryDateGreaterThanEqual(LocalDateTime now);
 
     Optional<DiscountCode> findByCode(String code);
+
+    List<DiscountCode> findAllByCodeIn(Collection<String> codes);
 }
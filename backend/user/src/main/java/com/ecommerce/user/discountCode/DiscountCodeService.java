@@ -1,18 +1,24 @@
 package com.ecommerce.user.discountCode;
 
+import com.ecommerce.user.exceptions.APIException;
 import com.ecommerce.user.exceptions.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class DiscountCodeService {
 
+    private static final String CODE_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int GENERATED_CODE_LENGTH = 12;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final SecureRandom CODE_RANDOM = new SecureRandom();
+
     private final DiscountCodeRepository discountCodeRepository;
 
     @Transactional
@@ -38,6 +44,47 @@ public class DiscountCodeService {
                 .build();
     }
 
+    /**
+     * Generates {@code count} unique codes and stores them with a single bulk insert.
+     */
+    public List<DiscountCodeResponse> createDiscountCodes(DiscountCodeBatchRequest batchRequest) {
+        if (batchRequest.getCount() < 1 || batchRequest.getCount() > MAX_BATCH_SIZE) {
+            throw new APIException("Discount code batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+
+        Set<String> codes = new LinkedHashSet<>();
+        for (int attempt = 0; codes.size() < batchRequest.getCount(); attempt++) {
+            if (attempt == 5) {
+                throw new APIException("Could not generate unique discount codes");
+            }
+            Set<String> candidates = new LinkedHashSet<>();
+            while (candidates.size() < batchRequest.getCount() - codes.size()) {
+                String candidate = generateCode();
+                if (!codes.contains(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            discountCodeRepository.findAllByCodeIn(candidates)
+                    .forEach(existing -> candidates.remove(existing.getCode()));
+            codes.addAll(candidates);
+        }
+
+        List<DiscountCode> discountCodes = codes.stream()
+                .map(code -> DiscountCode.builder()
+                        .name(batchRequest.getName())
+                        .code(code)
+                        .expiryDate(batchRequest.getExpiryDate())
+                        .discount(batchRequest.getDiscount())
+                        .singleUse(batchRequest.isSingleUse())
+                        .used(false)
+                        .build())
+                .toList();
+
+        return discountCodeRepository.insert(discountCodes).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
     @Transactional
     public DiscountCode updateDiscountCode (String discountCodeId, DiscountCodeRequest discountCodeRequest){
 
@@ -75,4 +122,24 @@ public class DiscountCodeService {
 
         return discountCodeRepository.findByExpiryDateGreaterThanEqual(now);
     }
+
+    private String generateCode() {
+        StringBuilder code = new StringBuilder(GENERATED_CODE_LENGTH);
+        for (int i = 0; i < GENERATED_CODE_LENGTH; i++) {
+            code.append(CODE_CHARS.charAt(CODE_RANDOM.nextInt(CODE_CHARS.length())));
+        }
+        return code.toString();
+    }
+
+    private DiscountCodeResponse mapToResponse(DiscountCode discountCode) {
+        return DiscountCodeResponse.builder()
+                .id(discountCode.getId())
+                .name(discountCode.getName())
+                .code(discountCode.getCode())
+                .expiryDate(discountCode.getExpiryDate())
+                .discount(discountCode.getDiscount())
+                .singleUse(discountCode.isSingleUse())
+                .used(discountCode.isUsed())
+                .build();
+    }
 }
@@ -1,11 +1,10 @@
 package com.ecommerce.user.keycloak;
 
 import com.ecommerce.user.auth.RegistrationRequest;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.URI;
@@ -15,6 +14,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 public class KeyCloakAdminService {
 
     @Value("${keycloak.admin.username}")
@@ -38,29 +38,11 @@ public class KeyCloakAdminService {
     @Value("${keycloak.admin.client-uid}")
     private String clientUid;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final KeyCloakTokenProvider keyCloakTokenProvider;
 
     public String getAdminAccessToken() {
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("grant_type", "client_credentials");
-        params.add("client_id", clientId);
-//        params.add("username", adminUsername);
-//        params.add("password", adminPassword);
-        params.add("client_secret", clientSecret);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-        HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(params, headers);
-
-        String url = keycloakServerUrl + "/realms/" + realm + "/protocol/openid-connect/token";
-
-        ResponseEntity<Map> response = restTemplate.postForEntity(
-                url,
-                entity,
-                Map.class
-        );
-
-        return (String) response.getBody().get("access_token");
+        return keyCloakTokenProvider.getClientAccessToken();
     }
 
     public String createUser(String token, RegistrationRequest request) {
@@ -0,0 +1,33 @@
+package com.ecommerce.user.keycloak;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class KeyCloakConfig {
+
+    @Value("${keycloak.admin.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${keycloak.admin.http.read-timeout:5s}")
+    private Duration readTimeout;
+
+    @Bean
+    public RestTemplate keycloakRestTemplate() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+
+        return new RestTemplate(requestFactory);
+    }
+}
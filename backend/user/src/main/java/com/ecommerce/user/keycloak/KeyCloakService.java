@@ -3,6 +3,7 @@ package com.ecommerce.user.keycloak;
 import com.ecommerce.user.auth.RegistrationRequest;
 import com.ecommerce.user.exceptions.APIException;
 import com.ecommerce.user.exceptions.NotFoundException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -16,8 +17,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class KeyCloakService {
 
@@ -36,7 +39,11 @@ public class KeyCloakService {
     @Value("${keycloak.admin.client-uid}")
     private String clientUid;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final KeyCloakTokenProvider keyCloakTokenProvider;
+
+    private final Map<String, Map<String, Object>> clientRoles = new ConcurrentHashMap<>();
+    private volatile String clientUUID;
 
     public String getAccessToken(String username, String password) {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
@@ -61,24 +68,7 @@ public class KeyCloakService {
     }
 
     public String getClientAccessToken() {
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("grant_type", "client_credentials");
-        params.add("client_id", clientId);
-        params.add("client_secret", clientSecret);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-        HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(params, headers);
-
-        String url = keycloakServerUrl + "/realms/" + realm + "/protocol/openid-connect/token";
-
-        ResponseEntity<Map> response = restTemplate.postForEntity(
-                url,
-                entity,
-                Map.class
-        );
-
-        return (String) response.getBody().get("access_token");
+        return keyCloakTokenProvider.getClientAccessToken();
     }
 
     public String createUser(String token, RegistrationRequest request) {
@@ -130,6 +120,11 @@ public class KeyCloakService {
     }
 
     public String getClientUUID(String accessToken) {
+        String cachedClientUUID = clientUUID;
+        if (cachedClientUUID != null) {
+            return cachedClientUUID;
+        }
+
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
 
@@ -142,10 +137,16 @@ public class KeyCloakService {
             throw new NotFoundException("Client", Optional.ofNullable(clientId));
         }
         Map<String, Object> client = (Map<String, Object>) response.getBody().get(0);
-        return (String) client.get("id");
+        clientUUID = (String) client.get("id");
+        return clientUUID;
     }
 
     public Map<String, Object> getClientRole(String accessToken, String clientUUID, String roleName) {
+        Map<String, Object> cachedRole = clientRoles.get(clientRoleKey(clientUUID, roleName));
+        if (cachedRole != null) {
+            return cachedRole;
+        }
+
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
 
@@ -158,28 +159,25 @@ public class KeyCloakService {
             throw new APIException("Role not found " + roleName + " for client " + clientId);
         }
 
+        clientRoles.put(clientRoleKey(clientUUID, roleName), response.getBody());
         return response.getBody();
     }
 
+    private String clientRoleKey(String clientUUID, String roleName) {
+        return clientUUID + "/" + roleName;
+    }
+
     public void assignRealmRoleToUser(String accessToken, String userId) {
 
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
         headers.setContentType(MediaType.APPLICATION_JSON);
 
-        String roleUrl = keycloakServerUrl + "/admin/realms/" + realm + "/clients/" + clientUid + "/roles/USER";
+        Map<String, Object> role = getClientRole(accessToken, clientUid, "USER");
 
-        ResponseEntity<Map> roleResponse = restTemplate.exchange(
-                roleUrl,
-                HttpMethod.GET,
-                new HttpEntity<>(headers),
-                Map.class
-        );
-
-        Map<String, Object> role = roleResponse.getBody();
-
-        if (role == null || role.get("id") == null || role.get("name") == null) {
-            throw new APIException("Role " + roleResponse.getBody() + " not found in client" + clientUid);
+        if (role.get("id") == null || role.get("name") == null) {
+            clientRoles.remove(clientRoleKey(clientUid, "USER"));
+            throw new APIException("Role " + role + " not found in client" + clientUid);
         }
 
         Map<String, Object> roleRepresentation = new HashMap<>();
@@ -331,6 +329,8 @@ public class KeyCloakService {
         if (response.getStatusCode() != HttpStatus.CREATED) {
             throw new APIException("Failed to create role " + roleName + " in Keycloak");
         }
+
+        clientRoles.remove(clientRoleKey(clientUUID, roleName));
     }
 
     public void deleteRoleFromKeycloak(String roleName, String adminToken) {
@@ -340,6 +340,7 @@ public class KeyCloakService {
 
         String clientUUID = getClientUUID(adminToken);
         String url = keycloakServerUrl + "/admin/realms/" + realm + "/clients/" + clientUUID + "/roles/" + roleName;
+        clientRoles.remove(clientRoleKey(clientUUID, roleName));
 
         try {
             ResponseEntity<Map> res = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
@@ -362,8 +363,6 @@ public class KeyCloakService {
     }
 
     public Map<String, Object> refreshToken(String refreshToken) {
-        RestTemplate restTemplate = new RestTemplate();
-
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
         log.info("keyCloak refreshToken {}: ", refreshToken);
@@ -0,0 +1,146 @@
+package com.ecommerce.user.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticates requests from the gateway by its signed {@code X-User-Identity} header instead of verifying the
+ * forwarded JWT again. The header is bound to the SHA-256 of the bearer token it was issued for, so it cannot be
+ * replayed with another token. Requests without a valid header fall through to regular JWT authentication.
+ */
+@Slf4j
+public class IdentityHeaderAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-User-Identity";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String AUTHENTICATED_ATTRIBUTE = IdentityHeaderAuthenticationFilter.class.getName() + ".AUTHENTICATED";
+    private static final Base64.Decoder BASE64 = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Converter<Jwt, AbstractAuthenticationToken> jwtAuthenticationConverter;
+    private final BearerTokenResolver tokenResolver = new DefaultBearerTokenResolver();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public IdentityHeaderAuthenticationFilter(String secret, Converter<Jwt, AbstractAuthenticationToken> jwtAuthenticationConverter) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+    }
+
+    /**
+     * Skips bearer token processing for requests this filter already authenticated.
+     */
+    public BearerTokenResolver bearerTokenResolver() {
+        return request -> request.getAttribute(AUTHENTICATED_ATTRIBUTE) != null ? null : tokenResolver.resolve(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String identity = request.getHeader(HEADER);
+        if (identity != null) {
+            Jwt jwt = verify(identity, resolveToken(request));
+            if (jwt != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(jwtAuthenticationConverter.convert(jwt));
+                SecurityContextHolder.setContext(context);
+                request.setAttribute(AUTHENTICATED_ATTRIBUTE, Boolean.TRUE);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    Jwt verify(String identity, String token) {
+        int separator = identity.indexOf('.');
+        if (token == null || separator < 0) {
+            return null;
+        }
+
+        try {
+            String payloadPart = identity.substring(0, separator);
+            byte[] signature = BASE64.decode(identity.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payloadPart), signature)) {
+                log.warn("Rejected identity header with invalid signature");
+                return null;
+            }
+
+            JsonNode payload = objectMapper.readTree(BASE64.decode(payloadPart));
+            Instant expiresAt = Instant.ofEpochSecond(payload.path("exp").asLong());
+            if (!tokenHash(token).equals(payload.path("th").asText()) || !Instant.now().isBefore(expiresAt)) {
+                return null;
+            }
+            return toJwt(payload, token, expiresAt);
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException ex) {
+            log.warn("Rejected malformed identity header: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private Jwt toJwt(JsonNode payload, String token, Instant expiresAt) {
+        List<String> roles = new ArrayList<>();
+        payload.path("roles").forEach(role -> roles.add(role.asText()));
+
+        Map<String, Object> resourceAccess = new HashMap<>();
+        resourceAccess.put("admin-client", Map.of("roles", roles));
+
+        Jwt.Builder jwt = Jwt.withTokenValue(token)
+                .header("typ", "identity")
+                .subject(payload.path("sub").asText())
+                .issuedAt(Instant.ofEpochSecond(payload.path("iat").asLong()))
+                .expiresAt(expiresAt)
+                .claim("resource_access", resourceAccess);
+        if (payload.hasNonNull("email")) {
+            jwt.claim("email", payload.get("email").asText());
+        }
+        if (payload.hasNonNull("uid")) {
+            jwt.claim("user_id", payload.get("uid").asText());
+        }
+        return jwt.build();
+    }
+
+    private String resolveToken(HttpServletRequest request) {
+        try {
+            return tokenResolver.resolve(request);
+        } catch (OAuth2AuthenticationException ex) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payloadPart) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(key);
+        return mac.doFinal(payloadPart.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String tokenHash(String token) throws GeneralSecurityException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+}
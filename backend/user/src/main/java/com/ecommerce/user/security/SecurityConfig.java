@@ -17,10 +17,11 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.*;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,21 @@ public class SecurityConfig {
     @Value("${keycloak.admin.realm}")
     private String realm;
 
+    @Value("${security.jwt.jwk-cache-ttl:15m}")
+    private Duration jwkCacheTtl;
+
+    @Value("${security.jwt.jwk-refresh-ahead:1m}")
+    private Duration jwkRefreshAhead;
+
+    @Value("${security.jwt.validated-token-cache-size:10000}")
+    private long validatedTokenCacheSize;
+
+    @Value("${security.jwt.validated-token-cache-ttl:5m}")
+    private Duration validatedTokenCacheTtl;
+
+    @Value("${security.identity-header.secret:}")
+    private String identityHeaderSecret;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -44,8 +60,13 @@ public class SecurityConfig {
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withJwkSetUri(keycloakServerUrl + "/realms/" + realm + "/protocol/openid-connect/certs")
-                .build();
+        return new CachingJwtDecoder(
+                keycloakServerUrl + "/realms/" + realm + "/protocol/openid-connect/certs",
+                jwkCacheTtl,
+                jwkRefreshAhead,
+                validatedTokenCacheSize,
+                validatedTokenCacheTtl
+        );
     }
 
     @Bean
@@ -60,6 +81,7 @@ public class SecurityConfig {
                                 .requestMatchers("/users/allUsers").hasRole("ADMIN")
                                 .requestMatchers("/users/updateUser/**").hasRole("ADMIN")
                                 .requestMatchers("/statistics/**").hasRole("ADMIN")
+                                .requestMatchers(HttpMethod.POST, "/discount/batch").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.POST, "/discount/**").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/byUserId/{userId}").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.GET, "/discount").hasAnyRole("ADMIN")
@@ -75,6 +97,13 @@ public class SecurityConfig {
                         oauth2
                                 .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())));
 
+        if (!identityHeaderSecret.isBlank()) {
+            IdentityHeaderAuthenticationFilter identityHeaderFilter =
+                    new IdentityHeaderAuthenticationFilter(identityHeaderSecret, jwtAuthenticationConverter());
+            http.addFilterBefore(identityHeaderFilter, BearerTokenAuthenticationFilter.class)
+                    .oauth2ResourceServer(oauth2 -> oauth2.bearerTokenResolver(identityHeaderFilter.bearerTokenResolver()));
+        }
+
         return http.build();
     }
 
@@ -0,0 +1,18 @@
+package com.ecommerce.user.statistics;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "monthly_signup_counts")
+public class MonthlySignupCount {
+
+    @Id
+    private String month;
+    private long count;
+}
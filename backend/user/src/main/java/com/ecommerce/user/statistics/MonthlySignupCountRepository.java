@@ -0,0 +1,6 @@
+package com.ecommerce.user.statistics;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface MonthlySignupCountRepository extends MongoRepository<MonthlySignupCount, String> {
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.user.statistics;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class StatisticsConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor statisticsRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("statistics-refresh-");
+        executor.initialize();
+        return executor;
+    }
+}
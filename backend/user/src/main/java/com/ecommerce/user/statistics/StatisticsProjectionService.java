@@ -0,0 +1,189 @@
+package com.ecommerce.user.statistics;
+
+import com.ecommerce.user.clients.ProductCallerService;
+import com.ecommerce.user.clients.ShopOrderCallerService;
+import com.ecommerce.user.clients.dto.ShopOrderStatisticsResponse;
+import com.ecommerce.user.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StatisticsProjectionService {
+
+    private final StatisticsSnapshotRepository statisticsSnapshotRepository;
+    private final MonthlySignupCountRepository monthlySignupCountRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ProductCallerService productCallerService;
+    private final ShopOrderCallerService shopOrderCallerService;
+    private final TaskExecutor statisticsRefreshExecutor;
+
+    private final AtomicBoolean refreshInProgress = new AtomicBoolean(false);
+
+    @Value("${statistics.remote-totals.max-age:5m}")
+    private Duration remoteTotalsMaxAge;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeProjection() {
+        if (!statisticsSnapshotRepository.existsById(StatisticsSnapshot.GLOBAL_ID)) {
+            rebuildUserCounters();
+        }
+    }
+
+    public StatisticsSnapshot getSnapshot(Jwt jwt) {
+        StatisticsSnapshot snapshot = statisticsSnapshotRepository.findById(StatisticsSnapshot.GLOBAL_ID)
+                .orElseGet(this::rebuildUserCounters);
+
+        if (snapshot.getProductsRefreshedAt() == null || snapshot.getOrdersRefreshedAt() == null) {
+            refreshRemoteTotals(jwt);
+            return statisticsSnapshotRepository.findById(StatisticsSnapshot.GLOBAL_ID).orElse(snapshot);
+        }
+
+        if (isStale(snapshot.getProductsRefreshedAt()) || isStale(snapshot.getOrdersRefreshedAt())) {
+            refreshRemoteTotalsAsync(jwt);
+        }
+
+        return snapshot;
+    }
+
+    public long getSignupsInMonth(YearMonth month) {
+        return monthlySignupCountRepository.findById(month.toString())
+                .map(MonthlySignupCount::getCount)
+                .orElse(0L);
+    }
+
+    public void userRegistered(User user) {
+        LocalDateTime createdDate = user.getCreatedDate() != null ? user.getCreatedDate() : LocalDateTime.now();
+
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(YearMonth.from(createdDate).toString())),
+                new Update().inc("count", 1),
+                MonthlySignupCount.class
+        );
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(StatisticsSnapshot.GLOBAL_ID)),
+                new Update().inc("totalUsers", 1),
+                StatisticsSnapshot.class
+        );
+    }
+
+    public StatisticsSnapshot rebuildUserCounters() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("createdDate").ne(null)),
+                Aggregation.project()
+                        .and(DateOperators.DateToString.dateOf("createdDate")
+                                .toString("%Y-%m")
+                                .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId())))
+                        .as("month"),
+                Aggregation.group("month").count().as("count")
+        );
+        List<MonthlySignupCount> monthlyCounts = mongoTemplate.aggregate(aggregation, User.class, Document.class)
+                .getMappedResults().stream()
+                .map(result -> MonthlySignupCount.builder()
+                        .month(result.getString("_id"))
+                        .count(((Number) result.get("count")).longValue())
+                        .build())
+                .toList();
+
+        replaceMonthlyCounts(monthlyCounts);
+
+        long totalUsers = mongoTemplate.count(new Query(), User.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(StatisticsSnapshot.GLOBAL_ID)),
+                new Update().set("totalUsers", totalUsers).set("usersRebuiltAt", now),
+                StatisticsSnapshot.class
+        );
+        log.info("Rebuilt user statistics projection: {} users across {} months", totalUsers, monthlyCounts.size());
+
+        return statisticsSnapshotRepository.findById(StatisticsSnapshot.GLOBAL_ID)
+                .orElseGet(() -> StatisticsSnapshot.builder()
+                        .id(StatisticsSnapshot.GLOBAL_ID)
+                        .totalUsers(totalUsers)
+                        .usersRebuiltAt(now)
+                        .build());
+    }
+
+    // Upsert every month by key and then drop months that no longer have signups, so readers never
+    // observe an empty or partially written collection while the projection is being rebuilt.
+    private void replaceMonthlyCounts(List<MonthlySignupCount> monthlyCounts) {
+        if (!monthlyCounts.isEmpty()) {
+            BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MonthlySignupCount.class);
+            monthlyCounts.forEach(monthlyCount -> bulkOperations.upsert(
+                    Query.query(Criteria.where("_id").is(monthlyCount.getMonth())),
+                    new Update().set("count", monthlyCount.getCount())
+            ));
+            bulkOperations.execute();
+        }
+
+        List<String> months = monthlyCounts.stream()
+                .map(MonthlySignupCount::getMonth)
+                .toList();
+        mongoTemplate.remove(Query.query(Criteria.where("_id").nin(months)), MonthlySignupCount.class);
+    }
+
+    public void refreshRemoteTotals(Jwt jwt) {
+        Long totalProducts = productCallerService.getTotalProductItemsNumber();
+        ShopOrderStatisticsResponse shopOrderStatistics = shopOrderCallerService.getShopOrderIncomesAndTotalOrders(jwt);
+        LocalDateTime now = LocalDateTime.now();
+
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(StatisticsSnapshot.GLOBAL_ID)),
+                new Update()
+                        .set("totalProducts", totalProducts)
+                        .set("productsRefreshedAt", now)
+                        .set("totalOrders", shopOrderStatistics.getTotalOrders())
+                        .set("totalIncomes", shopOrderStatistics.getTotalIncomes())
+                        .set("ordersRefreshedAt", now),
+                StatisticsSnapshot.class
+        );
+    }
+
+    private void refreshRemoteTotalsAsync(Jwt jwt) {
+        if (!refreshInProgress.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            statisticsRefreshExecutor.execute(() -> {
+                try {
+                    refreshRemoteTotals(jwt);
+                } catch (Exception ex) {
+                    log.warn("Failed to refresh remote statistics totals, serving cached values: {}", ex.getMessage());
+                } finally {
+                    refreshInProgress.set(false);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            refreshInProgress.set(false);
+        }
+    }
+
+    private boolean isStale(LocalDateTime refreshedAt) {
+        return refreshedAt.plus(remoteTotalsMaxAge).isBefore(LocalDateTime.now());
+    }
+}
@@ -1,12 +1,9 @@
 package com.ecommerce.user.statistics;
 
-import com.ecommerce.user.clients.ProductCallerService;
 import com.ecommerce.user.clients.ShopOrderCallerService;
-import com.ecommerce.user.clients.dto.ShopOrderStatisticsResponse;
 import com.ecommerce.user.statistics.dto.OrderStatusStatisticsResponse;
 import com.ecommerce.user.statistics.dto.StatisticsResponse;
 import com.ecommerce.user.statistics.dto.UsersStatistics;
-import com.ecommerce.user.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
@@ -18,45 +15,27 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StatisticsService {
 
-    private final UserRepository userRepository;
-    private final ProductCallerService productCallerService;
+    private final StatisticsProjectionService statisticsProjectionService;
     private final ShopOrderCallerService shopOrderCallerService;
 
     public StatisticsResponse getOrderStatusStatistics(Jwt jwt) {
-        long users = userRepository.count();
-        long totalProducts = productCallerService.getTotalProductItemsNumber();
-        ShopOrderStatisticsResponse shopOrderStatisticsResponse = shopOrderCallerService.getShopOrderIncomesAndTotalOrders(jwt);
+        StatisticsSnapshot snapshot = statisticsProjectionService.getSnapshot(jwt);
 
         YearMonth now = YearMonth.now();
-        YearMonth lastMonth = now.minusMonths(1);
-        YearMonth twoMonthsAgo = now.minusMonths(2);
-
-        Long usersInCurrentMonth = userRepository.countByCreatedDateBetween(
-                now.atDay(1).atStartOfDay(),
-                now.atEndOfMonth().atTime(23, 59, 59)
-        );
-
-        Long usersInLastMonth = userRepository.countByCreatedDateBetween(
-                lastMonth.atDay(1).atStartOfDay(),
-                lastMonth.atEndOfMonth().atTime(23, 59, 59)
-        );
-
-        Long usersTwoMonthsAgo = userRepository.countByCreatedDateBetween(
-                twoMonthsAgo.atDay(1).atStartOfDay(),
-                twoMonthsAgo.atEndOfMonth().atTime(23, 59, 59)
-        );
 
         return StatisticsResponse.builder()
                 .usersStatistics(new UsersStatistics(
-                                users,
-                                usersInCurrentMonth,
-                                usersInLastMonth,
-                                usersTwoMonthsAgo
+                                snapshot.getTotalUsers(),
+                                statisticsProjectionService.getSignupsInMonth(now),
+                                statisticsProjectionService.getSignupsInMonth(now.minusMonths(1)),
+                                statisticsProjectionService.getSignupsInMonth(now.minusMonths(2))
                         )
                 )
-                .totalProducts(totalProducts)
-                .totalIncomes(shopOrderStatisticsResponse.getTotalIncomes())
-                .totalOrders(shopOrderStatisticsResponse.getTotalOrders())
+                .totalProducts(snapshot.getTotalProducts())
+                .totalIncomes(snapshot.getTotalIncomes())
+                .totalOrders(snapshot.getTotalOrders())
+                .productsRefreshedAt(snapshot.getProductsRefreshedAt())
+                .ordersRefreshedAt(snapshot.getOrdersRefreshedAt())
                 .build();
     }
 
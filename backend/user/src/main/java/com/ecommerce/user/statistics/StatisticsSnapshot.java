@@ -0,0 +1,28 @@
+package com.ecommerce.user.statistics;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "statistics_snapshot")
+public class StatisticsSnapshot {
+
+    public static final String GLOBAL_ID = "global";
+
+    @Id
+    private String id;
+    private Long totalUsers;
+    private LocalDateTime usersRebuiltAt;
+    private Long totalProducts;
+    private LocalDateTime productsRefreshedAt;
+    private Long totalOrders;
+    private Double totalIncomes;
+    private LocalDateTime ordersRefreshedAt;
+}
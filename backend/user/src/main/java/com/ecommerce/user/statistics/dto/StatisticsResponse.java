@@ -2,6 +2,8 @@ package com.ecommerce.user.statistics.dto;
 
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -12,4 +14,6 @@ public class StatisticsResponse {
     private Long totalProducts;
     private Long totalOrders;
     private Double totalIncomes;
+    private LocalDateTime productsRefreshedAt;
+    private LocalDateTime ordersRefreshedAt;
 }
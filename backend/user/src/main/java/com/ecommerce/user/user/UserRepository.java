@@ -7,7 +7,6 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,7 +26,5 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Query("{ '$expr': { '$regexMatch': { 'input': { '$toString': '$_id' }, 'regex': ?0, 'options': 'i' } } }")
     Page<User> findByObjectIdContaining(String partialId, Pageable pageable);
 
-    long countByCreatedDateBetween(LocalDateTime start, LocalDateTime end);
-
 }
 
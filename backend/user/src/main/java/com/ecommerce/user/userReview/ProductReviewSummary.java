@@ -0,0 +1,26 @@
+package com.ecommerce.user.userReview;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "product_review_summaries")
+public class ProductReviewSummary {
+
+    @Id
+    private Integer productId;
+    private long totalReviews;
+    private long ratingSum;
+    private LocalDateTime lastUpdated;
+
+    public double getAverageRating() {
+        return totalReviews == 0 ? 0.0 : (double) ratingSum / totalReviews;
+    }
+}
@@ -0,0 +1,6 @@
+package com.ecommerce.user.userReview;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ProductReviewSummaryRepository extends MongoRepository<ProductReviewSummary, Integer> {
+}
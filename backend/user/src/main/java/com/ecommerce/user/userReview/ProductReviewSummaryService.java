@@ -0,0 +1,135 @@
+package com.ecommerce.user.userReview;
+
+import com.ecommerce.user.clients.ProductCallerService;
+import com.ecommerce.user.clients.ShopOrderCallerService;
+import com.ecommerce.user.clients.dto.OrderLineResponse;
+import com.ecommerce.user.clients.dto.ProductItemResponse;
+import com.ecommerce.user.clients.dto.ProductResponseGetById;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductReviewSummaryService {
+
+    private final ProductReviewSummaryRepository productReviewSummaryRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ProductCallerService productCallerService;
+    private final ShopOrderCallerService shopOrderCallerService;
+
+    public ProductReviewSummary getSummary(Integer productId) {
+        return productReviewSummaryRepository.findById(productId)
+                .orElseGet(() -> rebuildSummary(productId));
+    }
+
+    public void reviewAdded(Integer productId, Integer ratingValue) {
+        applyDelta(productId, 1, ratingValue);
+    }
+
+    public void reviewRatingChanged(Integer productId, Integer oldRatingValue, Integer newRatingValue) {
+        applyDelta(productId, 0, newRatingValue - oldRatingValue);
+    }
+
+    public void reviewRemoved(Integer productId, Integer ratingValue) {
+        applyDelta(productId, -1, -ratingValue);
+    }
+
+    public ProductReviewSummary rebuildSummary(Integer productId) {
+        ProductResponseGetById product = productCallerService.getProductById(productId);
+        boolean productResolved = product != null && product.getProductItems() != null;
+
+        if (productResolved) {
+            assignProductToLegacyReviews(productId, product);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("productId").is(productId)),
+                Aggregation.group("productId")
+                        .count().as("totalReviews")
+                        .sum("ratingValue").as("ratingSum")
+        );
+        Document totals = mongoTemplate.aggregate(aggregation, UserReview.class, Document.class)
+                .getUniqueMappedResult();
+
+        ProductReviewSummary summary = ProductReviewSummary.builder()
+                .productId(productId)
+                .totalReviews(totals == null ? 0 : ((Number) totals.get("totalReviews")).longValue())
+                .ratingSum(totals == null ? 0 : ((Number) totals.get("ratingSum")).longValue())
+                .lastUpdated(LocalDateTime.now())
+                .build();
+
+        if (!productResolved) {
+            log.warn("Product {} could not be resolved, review summary served without caching", productId);
+            return summary;
+        }
+
+        // One $set upsert so concurrent readers never see a half-written summary document.
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(productId)),
+                new Update()
+                        .set("totalReviews", summary.getTotalReviews())
+                        .set("ratingSum", summary.getRatingSum())
+                        .set("lastUpdated", summary.getLastUpdated()),
+                ProductReviewSummary.class
+        );
+        return summary;
+    }
+
+    private void assignProductToLegacyReviews(Integer productId, ProductResponseGetById product) {
+        List<Integer> productItemIds = product.getProductItems().stream()
+                .map(ProductItemResponse::getId)
+                .toList();
+
+        if (productItemIds.isEmpty()) {
+            return;
+        }
+
+        List<Integer> orderLineIds = shopOrderCallerService.getOrderLinesByProductItemsIds(productItemIds)
+                .stream()
+                .map(OrderLineResponse::getId)
+                .toList();
+
+        if (orderLineIds.isEmpty()) {
+            return;
+        }
+
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("orderLineId").in(orderLineIds).and("productId").is(null)),
+                new Update().set("productId", productId),
+                UserReview.class
+        );
+    }
+
+    private void applyDelta(Integer productId, long countDelta, long ratingDelta) {
+        if (productId == null) {
+            return;
+        }
+
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(productId)),
+                new Update()
+                        .inc("totalReviews", countDelta)
+                        .inc("ratingSum", ratingDelta)
+                        .set("lastUpdated", LocalDateTime.now()),
+                ProductReviewSummary.class
+        );
+
+        // No summary yet: upsert it from the reviews collection, which already contains this change,
+        // instead of dropping the delta or seeding the document with the delta alone.
+        if (result.getMatchedCount() == 0) {
+            rebuildSummary(productId);
+        }
+    }
+}
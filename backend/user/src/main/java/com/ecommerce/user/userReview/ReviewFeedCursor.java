@@ -0,0 +1,43 @@
+package com.ecommerce.user.userReview;
+
+import com.ecommerce.user.exceptions.APIException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class ReviewFeedCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Integer ratingValue;
+    private final LocalDateTime createdDate;
+    private final String id;
+
+    public static ReviewFeedCursor of(UserReview review) {
+        return new ReviewFeedCursor(review.getRatingValue(), review.getCreatedDate(), review.getId());
+    }
+
+    public String encode() {
+        String raw = ratingValue + SEPARATOR + createdDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReviewFeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            return new ReviewFeedCursor(
+                    Integer.valueOf(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    parts[2]
+            );
+        } catch (RuntimeException ex) {
+            throw new APIException("Invalid review cursor");
+        }
+    }
+}
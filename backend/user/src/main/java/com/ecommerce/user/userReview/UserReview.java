@@ -3,6 +3,8 @@ package com.ecommerce.user.userReview;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -13,11 +15,16 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "user_reviews")
+@CompoundIndexes({
+        @CompoundIndex(name = "product_recent_idx", def = "{'productId': 1, 'createdDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "product_rating_idx", def = "{'productId': 1, 'ratingValue': -1, 'createdDate': -1, '_id': -1}")
+})
 public class UserReview {
 
     @Id
     private String id;
     private String userId;
+    private Integer productId;
     private Integer orderLineId;
     private Integer ratingValue;
     private String comment;
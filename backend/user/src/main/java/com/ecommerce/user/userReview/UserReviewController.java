@@ -23,7 +23,7 @@ public class UserReviewController {
     private final UserReviewService userReviewService;
 
     @PostMapping
-    public ResponseEntity<UserReviewResponse> createReview(@RequestBody UserReviewRequest userReviewRequest, @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<UserReviewResponse> createReview(@Valid @RequestBody UserReviewRequest userReviewRequest, @AuthenticationPrincipal Jwt jwt) {
         UserReviewResponse userReview = userReviewService.createReview(userReviewRequest, jwt);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(userReview);
@@ -49,6 +49,17 @@ public class UserReviewController {
         return ResponseEntity.ok(productReviewResponse);
     }
 
+    @GetMapping("/productById/{productId}/feed")
+    public ResponseEntity<ProductReviewFeedResponse> getReviewFeedForProduct(@PathVariable Integer productId,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "10") int size,
+                                                                             @RequestParam(defaultValue = "RECENT") ReviewSortOrder sort,
+                                                                             @RequestParam(required = false) Integer rating){
+        ProductReviewFeedResponse feed = userReviewService.getReviewFeedForProduct(productId, cursor, size, sort, rating);
+
+        return ResponseEntity.ok(feed);
+    }
+
     @GetMapping("/product-summary")
     public ResponseEntity<List<ProductReviewSummaryResponse>> getSummaryReviewForProduct(@RequestParam List<Integer> productIds){
         List<ProductReviewSummaryResponse> result = userReviewService.getSummaryReviewForProduct(productIds);
@@ -10,4 +10,6 @@ public interface UserReviewRepository extends MongoRepository<UserReview, String
 
     List<UserReview> findByOrderLineIdIn (List<Integer> orderLineIds);
 
+    List<UserReview> findByUserIdAndOrderLineIdIn(String userId, List<Integer> orderLineIds);
+
 }
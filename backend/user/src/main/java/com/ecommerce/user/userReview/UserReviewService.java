@@ -4,12 +4,17 @@ import com.cloudinary.api.exceptions.ApiException;
 import com.ecommerce.user.clients.ProductCallerService;
 import com.ecommerce.user.clients.ShopOrderCallerService;
 import com.ecommerce.user.clients.dto.*;
+import com.ecommerce.user.exceptions.APIException;
 import com.ecommerce.user.exceptions.NotFoundException;
 import com.ecommerce.user.user.User;
 import com.ecommerce.user.user.UserRepository;
 import com.ecommerce.user.userReview.dto.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,10 +28,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserReviewService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 50;
+
     private final UserReviewRepository userReviewRepository;
     private final UserRepository userRepository;
     private final ShopOrderCallerService shopOrderCallerService;
     private final ProductCallerService productCallerService;
+    private final ProductReviewSummaryService productReviewSummaryService;
+    private final MongoTemplate mongoTemplate;
 
     @Transactional
     public UserReviewResponse createReview(UserReviewRequest userReviewRequest, Jwt jwt) {
@@ -40,8 +49,11 @@ public class UserReviewService {
             throw new IllegalStateException("You already reviewed this product");
         }
 
+        Integer productId = resolveReviewedProductId(userReviewRequest.getProductId(), orderLine);
+
         UserReview review = UserReview.builder()
                 .userId(user.getId())
+                .productId(productId)
                 .orderLineId(orderLine.getId())
                 .ratingValue(userReviewRequest.getRatingValue())
                 .comment(userReviewRequest.getComment())
@@ -49,6 +61,7 @@ public class UserReviewService {
                 .build();
 
         userReviewRepository.save(review);
+        productReviewSummaryService.reviewAdded(review.getProductId(), review.getRatingValue());
 
         return UserReviewResponse.builder()
                 .id(user.getId())
@@ -60,6 +73,23 @@ public class UserReviewService {
                 .build();
     }
 
+    private Integer resolveReviewedProductId(Integer productId, OrderLineResponse orderLine) {
+        if (productId == null || orderLine.getProductItemId() == null) {
+            throw new APIException("Review must reference the product of the purchased order line");
+        }
+
+        ProductResponseGetById product = productCallerService.getProductById(productId);
+        boolean orderLineBelongsToProduct = product != null && product.getProductItems() != null
+                && product.getProductItems().stream()
+                .anyMatch(productItem -> orderLine.getProductItemId().equals(productItem.getId()));
+
+        if (!orderLineBelongsToProduct) {
+            throw new APIException("Order line " + orderLine.getId() + " does not belong to product " + productId);
+        }
+
+        return productId;
+    }
+
     public List<ProductItemResponse> getProductsForReview(Jwt jwt) {
 
         String currentKeycloakId = jwt.getSubject();
@@ -182,6 +212,81 @@ public class UserReviewService {
         );
     }
 
+    public ProductReviewFeedResponse getReviewFeedForProduct(Integer productId, String cursor, int size,
+                                                             ReviewSortOrder sortOrder, Integer rating) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        ProductReviewSummary summary = productReviewSummaryService.getSummary(productId);
+
+        Criteria criteria = Criteria.where("productId").is(productId);
+        if (rating != null) {
+            criteria = criteria.and("ratingValue").is(rating);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            criteria = criteria.andOperator(afterCursor(ReviewFeedCursor.decode(cursor), sortOrder));
+        }
+
+        Query query = Query.query(criteria)
+                .with(feedSort(sortOrder))
+                .limit(pageSize + 1);
+        List<UserReview> reviews = mongoTemplate.find(query, UserReview.class);
+
+        boolean hasMore = reviews.size() > pageSize;
+        if (hasMore) {
+            reviews = reviews.subList(0, pageSize);
+        }
+
+        List<String> userIds = reviews.stream()
+                .map(UserReview::getUserId)
+                .distinct()
+                .toList();
+
+        Map<String, String> userIdToName = userRepository.findByIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getFullName));
+
+        List<UserReviewResponse> reviewResponses = reviews.stream()
+                .map(review -> new UserReviewResponse(
+                        review.getId(),
+                        userIdToName.getOrDefault(review.getUserId(), "Unknown"),
+                        review.getRatingValue(),
+                        review.getComment(),
+                        review.getCreatedDate(),
+                        review.getOrderLineId()
+                ))
+                .toList();
+
+        return ProductReviewFeedResponse.builder()
+                .productId(productId)
+                .averageRating(summary.getAverageRating())
+                .totalReviews(summary.getTotalReviews())
+                .reviews(reviewResponses)
+                .nextCursor(hasMore ? ReviewFeedCursor.of(reviews.get(reviews.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private Sort feedSort(ReviewSortOrder sortOrder) {
+        Sort recent = Sort.by(Sort.Direction.DESC, "createdDate", "_id");
+        return sortOrder == ReviewSortOrder.RATING
+                ? Sort.by(Sort.Direction.DESC, "ratingValue").and(recent)
+                : recent;
+    }
+
+    private Criteria afterCursor(ReviewFeedCursor cursor, ReviewSortOrder sortOrder) {
+        Criteria olderThanCursor = new Criteria().orOperator(
+                Criteria.where("createdDate").lt(cursor.getCreatedDate()),
+                Criteria.where("createdDate").is(cursor.getCreatedDate()).and("_id").lt(cursor.getId())
+        );
+
+        if (sortOrder != ReviewSortOrder.RATING) {
+            return olderThanCursor;
+        }
+
+        return new Criteria().orOperator(
+                Criteria.where("ratingValue").lt(cursor.getRatingValue()),
+                new Criteria().andOperator(Criteria.where("ratingValue").is(cursor.getRatingValue()), olderThanCursor)
+        );
+    }
+
     public List<ProductReviewSummaryResponse> getSummaryReviewForProduct(List<Integer> productIds) {
         if (productIds == null || productIds.isEmpty()) {
             return List.of();
@@ -258,12 +363,28 @@ public class UserReviewService {
 
 
     public Map<Integer, Boolean> canUserReviewProducts(Jwt jwt, List<Integer> orderLineIds) {
-        List<OrderLineResponse> orderLines = shopOrderCallerService.getOrderLinesByIds(orderLineIds);
-        return orderLines.stream()
+        List<Integer> requestedIds = orderLineIds.stream()
                 .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        if (requestedIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String currentKeycloakId = jwt.getSubject();
+        User user = userRepository.findByKeycloakId(currentKeycloakId).orElseThrow(() -> new NotFoundException("User", Optional.empty()));
+
+        Set<Integer> ownedIds = new HashSet<>(shopOrderCallerService.getUserOwnedOrderLineIds(requestedIds, jwt));
+        Set<Integer> reviewedIds = userReviewRepository.findByUserIdAndOrderLineIdIn(user.getId(), requestedIds)
+                .stream()
+                .map(UserReview::getOrderLineId)
+                .collect(Collectors.toSet());
+
+        return requestedIds.stream()
                 .collect(Collectors.toMap(
-                        OrderLineResponse::getId,
-                        ol -> canUserReviewProduct(jwt, ol.getProductItemId(), ol.getId())
+                        id -> id,
+                        id -> ownedIds.contains(id) && !reviewedIds.contains(id)
                 ));
     }
 
@@ -305,10 +426,12 @@ public class UserReviewService {
             throw new ApiException("You can only edit your own reviews");
         }
 
+        Integer previousRatingValue = userReview.getRatingValue();
         userReview.setRatingValue(userReviewRequest.getRatingValue());
         userReview.setComment(userReviewRequest.getComment());
 
         UserReview updatedReview = userReviewRepository.save(userReview);
+        productReviewSummaryService.reviewRatingChanged(userReview.getProductId(), previousRatingValue, userReview.getRatingValue());
 
         return UserReviewResponse.builder()
                 .id(updatedReview.getId())
@@ -330,6 +453,7 @@ public class UserReviewService {
         }
 
         userReviewRepository.delete(userReview);
+        productReviewSummaryService.reviewRemoved(userReview.getProductId(), userReview.getRatingValue());
     }
 
 }
@@ -0,0 +1,19 @@
+package com.ecommerce.user.userReview.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductReviewFeedResponse {
+    private Integer productId;
+    private Double averageRating;
+    private Long totalReviews;
+    private List<UserReviewResponse> reviews;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,6 @@
+package com.ecommerce.user.userReview.dto;
+
+public enum ReviewSortOrder {
+    RECENT,
+    RATING
+}
@@ -1,5 +1,8 @@
 package com.ecommerce.user.userReview.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -13,6 +16,9 @@ public class UserReviewRequest {
 
     private Integer productId;
     private Integer orderLineId;
+    @NotNull(message = "Rating is mandatory")
+    @Min(value = 1, message = "Rating must be between 1 and 5")
+    @Max(value = 5, message = "Rating must be between 1 and 5")
     private Integer ratingValue;
     private String comment;
     private LocalDateTime createdDate;
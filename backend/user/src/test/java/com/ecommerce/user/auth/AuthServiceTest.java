@@ -7,6 +7,7 @@ import com.ecommerce.user.exceptions.NotFoundException;
 import com.ecommerce.user.keycloak.KeyCloakService;
 import com.ecommerce.user.role.Role;
 import com.ecommerce.user.role.RoleRepository;
+import com.ecommerce.user.statistics.StatisticsProjectionService;
 import com.ecommerce.user.user.Token;
 import com.ecommerce.user.user.User;
 import com.ecommerce.user.user.UserRepository;
@@ -68,6 +69,9 @@ public class AuthServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private StatisticsProjectionService statisticsProjectionService;
+
     private Role createRole(String name) {
         return new Role(null, name, null, LocalDateTime.now(), null);
     }
@@ -101,6 +105,7 @@ public class AuthServiceTest {
         verify(keyCloakService).createUser(anyString(), eq(request));
         verify(roleRepository).findByName("USER");
         verify(passwordEncoder).encode("Password123");
+        verify(statisticsProjectionService).userRegistered(any(User.class));
     }
 
     @Test
@@ -0,0 +1,59 @@
+package com.ecommerce.user.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NearCacheInvalidationListenerTest {
+
+    private CacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private NearCacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        NearCacheProperties properties = new NearCacheProperties();
+        properties.getCaches().put("productItems", spec(Set.of("PRODUCT_ITEM", "VARIATION")));
+        properties.getCaches().put("products", spec(Set.of("PRODUCT", "CATEGORY")));
+        properties.getCaches().put("orderLines", spec(Set.of()));
+
+        cacheManager = new NearCacheConfig().cacheManager(properties);
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new NearCacheInvalidationListener(cacheManager, properties, new ObjectMapper(), meterRegistry);
+
+        cacheManager.getCache("productItems").put(1, "item");
+        cacheManager.getCache("products").put(1, "product");
+        cacheManager.getCache("orderLines").put(1, "line");
+    }
+
+    private NearCacheProperties.Spec spec(Set<String> invalidateOn) {
+        NearCacheProperties.Spec spec = new NearCacheProperties.Spec();
+        spec.setInvalidateOn(invalidateOn);
+        return spec;
+    }
+
+    @Test
+    void NearCacheInvalidationListener_OnCatalogChanged_ClearsOnlyMatchingCaches() {
+        listener.onCatalogChanged("{\"entities\":[\"PRODUCT_ITEM\"],\"occurredAt\":\"2025-06-01T10:00:00\"}");
+
+        assertNull(cacheManager.getCache("productItems").get(1));
+        assertNotNull(cacheManager.getCache("products").get(1));
+        assertNotNull(cacheManager.getCache("orderLines").get(1));
+        assertEquals(1.0, meterRegistry.counter("near.cache.invalidations", "cache", "productItems").count());
+    }
+
+    @Test
+    void NearCacheInvalidationListener_OnCatalogChanged_UnreadablePayloadClearsEverything() {
+        listener.onCatalogChanged("not json");
+
+        assertNull(cacheManager.getCache("productItems").get(1));
+        assertNull(cacheManager.getCache("products").get(1));
+        assertNull(cacheManager.getCache("orderLines").get(1));
+    }
+}
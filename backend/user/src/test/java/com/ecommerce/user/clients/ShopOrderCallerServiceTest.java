@@ -0,0 +1,71 @@
+package com.ecommerce.user.clients;
+
+import com.ecommerce.user.cache.NearCacheConfig;
+import com.ecommerce.user.cache.NearCacheProperties;
+import com.ecommerce.user.clients.dto.OrderLineResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShopOrderCallerServiceTest {
+
+    @Mock
+    private ShopOrderClient shopOrderClient;
+
+    private CacheManager cacheManager;
+    private ShopOrderCallerService shopOrderCallerService;
+
+    @BeforeEach
+    void setUp() {
+        NearCacheProperties properties = new NearCacheProperties();
+        properties.getCaches().put("orderLines", new NearCacheProperties.Spec());
+        cacheManager = new NearCacheConfig().cacheManager(properties);
+        shopOrderCallerService = new ShopOrderCallerService(shopOrderClient, cacheManager);
+    }
+
+    private OrderLineResponse orderLine(int id) {
+        return OrderLineResponse.builder().id(id).productItemId(100 + id).build();
+    }
+
+    @Test
+    void ShopOrderCallerService_GetOrderLinesByIds_FetchesOnlyMisses() {
+        cacheManager.getCache("orderLines").put(1, orderLine(1));
+        when(shopOrderClient.getOrderLinesByIds(List.of(3, 2))).thenReturn(List.of(orderLine(3), orderLine(2)));
+
+        List<OrderLineResponse> result = shopOrderCallerService.getOrderLinesByIds(List.of(3, 1, 2, 3));
+
+        assertEquals(List.of(3, 1, 2), result.stream().map(OrderLineResponse::getId).toList());
+        assertEquals(102, cacheManager.getCache("orderLines").get(2, OrderLineResponse.class).getProductItemId());
+        verify(shopOrderClient).getOrderLinesByIds(List.of(3, 2));
+    }
+
+    @Test
+    void ShopOrderCallerService_GetOrderLinesByIds_AllCachedSkipsOrderService() {
+        cacheManager.getCache("orderLines").put(1, orderLine(1));
+        cacheManager.getCache("orderLines").put(2, orderLine(2));
+
+        List<OrderLineResponse> result = shopOrderCallerService.getOrderLinesByIds(List.of(2, 1));
+
+        assertEquals(List.of(2, 1), result.stream().map(OrderLineResponse::getId).toList());
+        verifyNoInteractions(shopOrderClient);
+    }
+
+    @Test
+    void ShopOrderCallerService_GetOrderLinesByIds_SkipsIdsTheOrderServiceDoesNotKnow() {
+        when(shopOrderClient.getOrderLinesByIds(List.of(1, 9))).thenReturn(List.of(orderLine(1)));
+
+        List<OrderLineResponse> result = shopOrderCallerService.getOrderLinesByIds(List.of(1, 9));
+
+        assertEquals(List.of(1), result.stream().map(OrderLineResponse::getId).toList());
+        assertNull(cacheManager.getCache("orderLines").get(9));
+    }
+}
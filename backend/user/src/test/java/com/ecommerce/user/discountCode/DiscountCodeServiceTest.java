@@ -0,0 +1,69 @@
+package com.ecommerce.user.discountCode;
+
+import com.ecommerce.user.exceptions.APIException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DiscountCodeServiceTest {
+
+    @Mock
+    private DiscountCodeRepository discountCodeRepository;
+
+    @InjectMocks
+    private DiscountCodeService discountCodeService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void DiscountCodeService_CreateDiscountCodes_BulkInsertsUniqueCodes() {
+        LocalDateTime expiryDate = LocalDateTime.now().plusDays(60);
+        DiscountCodeBatchRequest request = DiscountCodeBatchRequest.builder()
+                .name("Newsletter pool")
+                .count(50)
+                .discount(10)
+                .expiryDate(expiryDate)
+                .singleUse(true)
+                .build();
+
+        // the first candidate of the first round is reported as already taken and has to be replaced
+        when(discountCodeRepository.findAllByCodeIn(anyCollection()))
+                .thenAnswer(invocation -> {
+                    Collection<String> codes = invocation.getArgument(0);
+                    return List.of(DiscountCode.builder().code(codes.iterator().next()).build());
+                })
+                .thenReturn(List.of());
+        when(discountCodeRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<DiscountCodeResponse> responses = discountCodeService.createDiscountCodes(request);
+
+        ArgumentCaptor<List<DiscountCode>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(discountCodeRepository, times(1)).insert(inserted.capture());
+        verify(discountCodeRepository, times(2)).findAllByCodeIn(anyCollection());
+
+        assertEquals(50, responses.size());
+        assertEquals(50, new HashSet<>(inserted.getValue().stream().map(DiscountCode::getCode).toList()).size());
+        assertTrue(inserted.getValue().stream().allMatch(code -> code.isSingleUse() && !code.isUsed()
+                && code.getCode().length() == 12 && expiryDate.equals(code.getExpiryDate())));
+    }
+
+    @Test
+    void DiscountCodeService_CreateDiscountCodes_RejectsOversizedBatch() {
+        DiscountCodeBatchRequest request = DiscountCodeBatchRequest.builder().count(5000).build();
+
+        assertThrows(APIException.class, () -> discountCodeService.createDiscountCodes(request));
+        verifyNoInteractions(discountCodeRepository);
+    }
+}
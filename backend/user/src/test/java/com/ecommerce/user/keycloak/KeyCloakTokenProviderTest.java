@@ -0,0 +1,77 @@
+package com.ecommerce.user.keycloak;
+
+import com.ecommerce.user.exceptions.APIException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class KeyCloakTokenProviderTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @InjectMocks
+    private KeyCloakTokenProvider keyCloakTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(keyCloakTokenProvider, "keycloakServerUrl", "http://localhost:8080");
+        ReflectionTestUtils.setField(keyCloakTokenProvider, "realm", "test-realm");
+        ReflectionTestUtils.setField(keyCloakTokenProvider, "clientId", "fake-client-id");
+        ReflectionTestUtils.setField(keyCloakTokenProvider, "clientSecret", "fake-client-secret");
+        ReflectionTestUtils.setField(keyCloakTokenProvider, "refreshSkew", Duration.ofSeconds(30));
+    }
+
+    @Test
+    void KeyCloakTokenProvider_GetClientAccessToken_ReusesCachedToken() {
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(Map.of("access_token", "token-1", "expires_in", 300));
+
+        String first = keyCloakTokenProvider.getClientAccessToken();
+        String second = keyCloakTokenProvider.getClientAccessToken();
+
+        assertEquals("token-1", first);
+        assertEquals("token-1", second);
+        verify(restTemplate, times(1)).postForObject(
+                eq("http://localhost:8080/realms/test-realm/protocol/openid-connect/token"),
+                any(HttpEntity.class),
+                eq(Map.class));
+    }
+
+    @Test
+    void KeyCloakTokenProvider_GetClientAccessToken_RefreshesTokenInsideSkewWindow() {
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(Map.of("access_token", "token-1", "expires_in", 10))
+                .thenReturn(Map.of("access_token", "token-2", "expires_in", 300));
+
+        assertEquals("token-1", keyCloakTokenProvider.getClientAccessToken());
+        assertEquals("token-2", keyCloakTokenProvider.getClientAccessToken());
+        assertEquals("token-2", keyCloakTokenProvider.getClientAccessToken());
+
+        verify(restTemplate, times(2)).postForObject(anyString(), any(HttpEntity.class), eq(Map.class));
+    }
+
+    @Test
+    void KeyCloakTokenProvider_GetClientAccessToken_MissingToken() {
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(Map.of("error", "unauthorized_client"));
+
+        assertThrows(APIException.class, () -> keyCloakTokenProvider.getClientAccessToken());
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.user.statistics;
+
+import com.ecommerce.user.clients.ProductCallerService;
+import com.ecommerce.user.clients.ShopOrderCallerService;
+import com.ecommerce.user.clients.dto.ShopOrderStatisticsResponse;
+import com.ecommerce.user.user.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StatisticsProjectionServiceTest {
+
+    @Mock
+    private StatisticsSnapshotRepository statisticsSnapshotRepository;
+
+    @Mock
+    private MonthlySignupCountRepository monthlySignupCountRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ProductCallerService productCallerService;
+
+    @Mock
+    private ShopOrderCallerService shopOrderCallerService;
+
+    @Mock
+    private TaskExecutor statisticsRefreshExecutor;
+
+    @Mock
+    private Jwt jwt;
+
+    @InjectMocks
+    private StatisticsProjectionService statisticsProjectionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statisticsProjectionService, "remoteTotalsMaxAge", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void StatisticsProjectionService_GetSnapshot_ServesFreshSnapshotWithoutRemoteCalls() {
+        StatisticsSnapshot snapshot = snapshot(LocalDateTime.now().minusMinutes(1));
+        when(statisticsSnapshotRepository.findById(StatisticsSnapshot.GLOBAL_ID)).thenReturn(Optional.of(snapshot));
+
+        StatisticsSnapshot result = statisticsProjectionService.getSnapshot(jwt);
+
+        assertSame(snapshot, result);
+        verifyNoInteractions(productCallerService, shopOrderCallerService, statisticsRefreshExecutor);
+    }
+
+    @Test
+    void StatisticsProjectionService_GetSnapshot_RefreshesStaleTotalsInBackground() {
+        StatisticsSnapshot snapshot = snapshot(LocalDateTime.now().minusMinutes(10));
+        when(statisticsSnapshotRepository.findById(StatisticsSnapshot.GLOBAL_ID)).thenReturn(Optional.of(snapshot));
+        when(productCallerService.getTotalProductItemsNumber()).thenReturn(40L);
+        when(shopOrderCallerService.getShopOrderIncomesAndTotalOrders(jwt))
+                .thenReturn(new ShopOrderStatisticsResponse(12L, 300.0));
+
+        StatisticsSnapshot result = statisticsProjectionService.getSnapshot(jwt);
+        statisticsProjectionService.getSnapshot(jwt);
+
+        assertSame(snapshot, result);
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(statisticsRefreshExecutor, times(1)).execute(refresh.capture());
+        verifyNoInteractions(productCallerService, shopOrderCallerService);
+
+        refresh.getValue().run();
+
+        verify(productCallerService).getTotalProductItemsNumber();
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(StatisticsSnapshot.class));
+    }
+
+    @Test
+    void StatisticsProjectionService_GetSnapshot_LoadsRemoteTotalsSynchronouslyOnFirstUse() {
+        StatisticsSnapshot snapshot = StatisticsSnapshot.builder()
+                .id(StatisticsSnapshot.GLOBAL_ID)
+                .totalUsers(5L)
+                .build();
+        when(statisticsSnapshotRepository.findById(StatisticsSnapshot.GLOBAL_ID)).thenReturn(Optional.of(snapshot));
+        when(productCallerService.getTotalProductItemsNumber()).thenReturn(40L);
+        when(shopOrderCallerService.getShopOrderIncomesAndTotalOrders(jwt))
+                .thenReturn(new ShopOrderStatisticsResponse(12L, 300.0));
+
+        statisticsProjectionService.getSnapshot(jwt);
+
+        verify(productCallerService).getTotalProductItemsNumber();
+        verify(shopOrderCallerService).getShopOrderIncomesAndTotalOrders(jwt);
+        verifyNoInteractions(statisticsRefreshExecutor);
+    }
+
+    @Test
+    void StatisticsProjectionService_UserRegistered_IncrementsMonthlyAndTotalCounters() {
+        User user = User.builder().createdDate(LocalDateTime.of(2025, 3, 14, 10, 0)).build();
+
+        statisticsProjectionService.userRegistered(user);
+
+        ArgumentCaptor<Query> monthQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).upsert(monthQuery.capture(), any(Update.class), eq(MonthlySignupCount.class));
+        assertEquals("2025-03", monthQuery.getValue().getQueryObject().get("_id"));
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(StatisticsSnapshot.class));
+    }
+
+    @Test
+    void StatisticsProjectionService_RebuildUserCounters_UpsertsMonthsWithoutClearingCollection() {
+        Document march = new Document("_id", "2025-03").append("count", 4);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(User.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(march), new Document()));
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MonthlySignupCount.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.count(any(Query.class), eq(User.class))).thenReturn(4L);
+        when(statisticsSnapshotRepository.findById(StatisticsSnapshot.GLOBAL_ID)).thenReturn(Optional.empty());
+
+        StatisticsSnapshot result = statisticsProjectionService.rebuildUserCounters();
+
+        assertEquals(4L, result.getTotalUsers());
+        verify(bulkOperations).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+        verify(mongoTemplate).remove(any(Query.class), eq(MonthlySignupCount.class));
+        verify(monthlySignupCountRepository, never()).deleteAll();
+    }
+
+    @Test
+    void StatisticsProjectionService_GetSignupsInMonth_DefaultsToZero() {
+        YearMonth month = YearMonth.of(2025, 1);
+        when(monthlySignupCountRepository.findById("2025-01")).thenReturn(Optional.empty());
+
+        assertEquals(0L, statisticsProjectionService.getSignupsInMonth(month));
+    }
+
+    private StatisticsSnapshot snapshot(LocalDateTime refreshedAt) {
+        return StatisticsSnapshot.builder()
+                .id(StatisticsSnapshot.GLOBAL_ID)
+                .totalUsers(5L)
+                .totalProducts(40L)
+                .productsRefreshedAt(refreshedAt)
+                .totalOrders(12L)
+                .totalIncomes(300.0)
+                .ordersRefreshedAt(refreshedAt)
+                .build();
+    }
+}
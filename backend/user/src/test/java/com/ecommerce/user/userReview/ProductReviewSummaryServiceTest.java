@@ -0,0 +1,134 @@
+package com.ecommerce.user.userReview;
+
+import com.ecommerce.user.clients.ProductCallerService;
+import com.ecommerce.user.clients.ShopOrderCallerService;
+import com.ecommerce.user.clients.dto.OrderLineResponse;
+import com.ecommerce.user.clients.dto.ProductItemResponse;
+import com.ecommerce.user.clients.dto.ProductResponseGetById;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductReviewSummaryServiceTest {
+
+    @Mock
+    private ProductReviewSummaryRepository productReviewSummaryRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ProductCallerService productCallerService;
+
+    @Mock
+    private ShopOrderCallerService shopOrderCallerService;
+
+    @InjectMocks
+    private ProductReviewSummaryService productReviewSummaryService;
+
+    @Test
+    void ProductReviewSummaryService_GetSummary_ReturnsStoredSummary() {
+        ProductReviewSummary summary = ProductReviewSummary.builder()
+                .productId(1)
+                .totalReviews(4)
+                .ratingSum(18)
+                .build();
+        when(productReviewSummaryRepository.findById(1)).thenReturn(Optional.of(summary));
+
+        ProductReviewSummary result = productReviewSummaryService.getSummary(1);
+
+        assertEquals(4.5, result.getAverageRating());
+        verifyNoInteractions(productCallerService, shopOrderCallerService);
+    }
+
+    @Test
+    void ProductReviewSummaryService_GetSummary_RebuildsMissingSummary() {
+        when(productReviewSummaryRepository.findById(1)).thenReturn(Optional.empty());
+
+        ProductResponseGetById product = ProductResponseGetById.builder()
+                .id(1)
+                .productItems(List.of(ProductItemResponse.builder().id(10).build()))
+                .build();
+        when(productCallerService.getProductById(1)).thenReturn(product);
+        when(shopOrderCallerService.getOrderLinesByProductItemsIds(List.of(10)))
+                .thenReturn(List.of(OrderLineResponse.builder().id(100).productItemId(10).build()));
+
+        Document totals = new Document("totalReviews", 2).append("ratingSum", 7);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(UserReview.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(totals), new Document()));
+
+        ProductReviewSummary result = productReviewSummaryService.getSummary(1);
+
+        assertEquals(2, result.getTotalReviews());
+        assertEquals(3.5, result.getAverageRating());
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(UserReview.class));
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(ProductReviewSummary.class));
+        verify(productReviewSummaryRepository, never()).save(any(ProductReviewSummary.class));
+    }
+
+    @Test
+    void ProductReviewSummaryService_RebuildSummary_ProductUnavailable_NotCached() {
+        when(productCallerService.getProductById(1)).thenReturn(new ProductResponseGetById());
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(UserReview.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+        ProductReviewSummary result = productReviewSummaryService.rebuildSummary(1);
+
+        assertEquals(0, result.getTotalReviews());
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(ProductReviewSummary.class));
+    }
+
+    @Test
+    void ProductReviewSummaryService_ReviewAdded_IncrementsCounters() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ProductReviewSummary.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        productReviewSummaryService.reviewAdded(1, 5);
+
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(ProductReviewSummary.class));
+        verifyNoInteractions(productCallerService);
+    }
+
+    @Test
+    void ProductReviewSummaryService_ReviewAdded_MissingSummary_RebuiltFromReviews() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ProductReviewSummary.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        ProductResponseGetById product = ProductResponseGetById.builder()
+                .id(1)
+                .productItems(List.of())
+                .build();
+        when(productCallerService.getProductById(1)).thenReturn(product);
+
+        Document totals = new Document("totalReviews", 1).append("ratingSum", 5);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(UserReview.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(totals), new Document()));
+
+        productReviewSummaryService.reviewAdded(1, 5);
+
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(ProductReviewSummary.class));
+    }
+
+    @Test
+    void ProductReviewSummaryService_ReviewAdded_WithoutProduct_Ignored() {
+        productReviewSummaryService.reviewAdded(null, 5);
+
+        verifyNoInteractions(mongoTemplate);
+    }
+}
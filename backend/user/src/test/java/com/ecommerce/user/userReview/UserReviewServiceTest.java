@@ -1,11 +1,15 @@
 package com.ecommerce.user.userReview;
 
 import com.cloudinary.api.exceptions.ApiException;
+import com.ecommerce.user.clients.ProductCallerService;
 import com.ecommerce.user.clients.ShopOrderCallerService;
 import com.ecommerce.user.clients.dto.*;
+import com.ecommerce.user.exceptions.APIException;
 import com.ecommerce.user.role.Role;
 import com.ecommerce.user.user.User;
 import com.ecommerce.user.user.UserRepository;
+import com.ecommerce.user.userReview.dto.ProductReviewFeedResponse;
+import com.ecommerce.user.userReview.dto.ReviewSortOrder;
 import com.ecommerce.user.userReview.dto.UserReviewRequest;
 import com.ecommerce.user.userReview.dto.UserReviewResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +20,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
@@ -41,9 +47,18 @@ public class UserReviewServiceTest {
     @Mock
     private ShopOrderCallerService shopOrderCallerService;
 
+    @Mock
+    private ProductCallerService productCallerService;
+
     @Mock
     private UserReviewRepository userReviewRepository;
 
+    @Mock
+    private ProductReviewSummaryService productReviewSummaryService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private UserReviewService userReviewService;
 
@@ -75,13 +90,20 @@ public class UserReviewServiceTest {
 
         OrderLineResponse orderLineResponse = OrderLineResponse.builder()
                 .id(1)
+                .productItemId(10)
                 .qty(2)
                 .build();
 
+        ProductResponseGetById product = ProductResponseGetById.builder()
+                .id(1)
+                .productItems(List.of(ProductItemResponse.builder().id(10).build()))
+                .build();
+
         when(userRepository.findByKeycloakId(keycloakId)).thenReturn(Optional.of(user));
         when(shopOrderCallerService.getOrderLineById(1, jwt))
                 .thenReturn(orderLineResponse);
         when(userReviewRepository.existsByUserIdAndOrderLineId(user.getId(), orderLineResponse.getId())).thenReturn(false);
+        when(productCallerService.getProductById(1)).thenReturn(product);
         when(userReviewRepository.save(any(UserReview.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         UserReviewResponse response = userReviewService.createReview(request, jwt);
@@ -92,6 +114,48 @@ public class UserReviewServiceTest {
         assertEquals(orderLineResponse.getId(), response.getOrderLineId());
 
         verify(userReviewRepository).save(any(UserReview.class));
+        verify(productReviewSummaryService).reviewAdded(1, 5);
+    }
+
+    @Test
+    void UserReviewService_CreateReview_OrderLineOfOtherProduct_Rejected() {
+        String keycloakId = "keycloak-123";
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getSubject()).thenReturn(keycloakId);
+
+        UserReviewRequest request = UserReviewRequest.builder()
+                .productId(2)
+                .orderLineId(1)
+                .ratingValue(5)
+                .comment("Great product")
+                .build();
+
+        User user = User.builder()
+                .id("1")
+                .roles(List.of(createRole("USER")))
+                .build();
+
+        OrderLineResponse orderLineResponse = OrderLineResponse.builder()
+                .id(1)
+                .productItemId(10)
+                .qty(2)
+                .build();
+
+        ProductResponseGetById otherProduct = ProductResponseGetById.builder()
+                .id(2)
+                .productItems(List.of(ProductItemResponse.builder().id(20).build()))
+                .build();
+
+        when(userRepository.findByKeycloakId(keycloakId)).thenReturn(Optional.of(user));
+        when(shopOrderCallerService.getOrderLineById(1, jwt)).thenReturn(orderLineResponse);
+        when(userReviewRepository.existsByUserIdAndOrderLineId(user.getId(), orderLineResponse.getId())).thenReturn(false);
+        when(productCallerService.getProductById(2)).thenReturn(otherProduct);
+
+        assertThrows(APIException.class,
+                () -> userReviewService.createReview(request, jwt));
+
+        verify(userReviewRepository, never()).save(any(UserReview.class));
+        verifyNoInteractions(productReviewSummaryService);
     }
 
     @Test
@@ -243,22 +307,82 @@ public class UserReviewServiceTest {
                 .build();
         when(userRepository.findByKeycloakId(keycloakId)).thenReturn(Optional.of(user));
 
-        List<Integer> orderLineIds = List.of(1, 2);
+        List<Integer> orderLineIds = List.of(1, 2, 3);
 
-        OrderLineResponse ol1 = OrderLineResponse.builder().id(1).productItemId(10).build();
-        OrderLineResponse ol2 = OrderLineResponse.builder().id(2).productItemId(20).build();
-        when(shopOrderCallerService.getOrderLinesByIds(orderLineIds)).thenReturn(List.of(ol1, ol2));
+        when(shopOrderCallerService.getUserOwnedOrderLineIds(orderLineIds, jwt)).thenReturn(List.of(1, 3));
 
-        when(shopOrderCallerService.canUserReviewOrderLine(1, 10, jwt)).thenReturn(true);
-        when(shopOrderCallerService.canUserReviewOrderLine(2, 20, jwt)).thenReturn(false);
-        when(userReviewRepository.existsByUserIdAndOrderLineId(user.getId(), 1)).thenReturn(false);
-        when(userReviewRepository.existsByUserIdAndOrderLineId(user.getId(), 2)).thenReturn(false);
+        UserReview existingReview = UserReview.builder().id("review1").userId("1").orderLineId(3).build();
+        when(userReviewRepository.findByUserIdAndOrderLineIdIn(user.getId(), orderLineIds)).thenReturn(List.of(existingReview));
 
         Map<Integer, Boolean> result = userReviewService.canUserReviewProducts(jwt, orderLineIds);
 
-        assertEquals(2, result.size());
+        assertEquals(3, result.size());
         assertTrue(result.get(1));
         assertFalse(result.get(2));
+        assertFalse(result.get(3));
+        verify(shopOrderCallerService, never()).canUserReviewOrderLine(any(), any(), any());
+        verify(userReviewRepository, never()).existsByUserIdAndOrderLineId(any(), any());
+    }
+
+    @Test
+    void UserReviewService_CanUserReviewProducts_EmptyRequest() {
+        Jwt jwt = mock(Jwt.class);
+
+        Map<Integer, Boolean> result = userReviewService.canUserReviewProducts(jwt, List.of());
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(shopOrderCallerService, userReviewRepository);
+    }
+
+    @Test
+    void UserReviewService_GetReviewFeedForProduct_ReturnsPageWithCursor() {
+        Integer productId = 1;
+
+        ProductReviewSummary summary = ProductReviewSummary.builder()
+                .productId(productId)
+                .totalReviews(3)
+                .ratingSum(12)
+                .build();
+        when(productReviewSummaryService.getSummary(productId)).thenReturn(summary);
+
+        UserReview review1 = UserReview.builder().id("r3").userId("1").productId(productId).ratingValue(5)
+                .createdDate(LocalDateTime.of(2025, 8, 13, 12, 0)).build();
+        UserReview review2 = UserReview.builder().id("r2").userId("1").productId(productId).ratingValue(4)
+                .createdDate(LocalDateTime.of(2025, 8, 12, 12, 0)).build();
+        UserReview review3 = UserReview.builder().id("r1").userId("1").productId(productId).ratingValue(3)
+                .createdDate(LocalDateTime.of(2025, 8, 11, 12, 0)).build();
+        when(mongoTemplate.find(any(Query.class), eq(UserReview.class)))
+                .thenReturn(List.of(review1, review2, review3));
+
+        User user = User.builder().id("1").firstname("John").lastname("Doe").build();
+        when(userRepository.findByIdIn(List.of("1"))).thenReturn(List.of(user));
+
+        ProductReviewFeedResponse response = userReviewService.getReviewFeedForProduct(productId, null, 2, ReviewSortOrder.RECENT, null);
+
+        assertEquals(2, response.getReviews().size());
+        assertEquals("John Doe", response.getReviews().get(0).getUserName());
+        assertEquals(4.0, response.getAverageRating());
+        assertEquals(3L, response.getTotalReviews());
+        assertTrue(response.isHasMore());
+
+        ReviewFeedCursor cursor = ReviewFeedCursor.decode(response.getNextCursor());
+        assertEquals("r2", cursor.getId());
+        assertEquals(review2.getCreatedDate(), cursor.getCreatedDate());
+    }
+
+    @Test
+    void UserReviewService_GetReviewFeedForProduct_LastPage() {
+        Integer productId = 1;
+
+        when(productReviewSummaryService.getSummary(productId)).thenReturn(ProductReviewSummary.builder().productId(productId).build());
+        when(mongoTemplate.find(any(Query.class), eq(UserReview.class))).thenReturn(List.of());
+
+        String cursor = new ReviewFeedCursor(5, LocalDateTime.of(2025, 8, 13, 12, 0), "r3").encode();
+        ProductReviewFeedResponse response = userReviewService.getReviewFeedForProduct(productId, cursor, 10, ReviewSortOrder.RATING, 5);
+
+        assertTrue(response.getReviews().isEmpty());
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
     }
 
     @Test
@@ -329,6 +453,7 @@ public class UserReviewServiceTest {
         userReviewService.deleteUserReview(reviewId, keycloakId);
 
         verify(userReviewRepository, times(1)).delete(review);
+        verify(productReviewSummaryService).reviewRemoved(null, 3);
     }
 }
 